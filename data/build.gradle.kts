@@ -1,7 +1,9 @@
 plugins {
     alias(libs.plugins.boot) apply false
     alias(libs.plugins.dependency.management)
+    alias(libs.plugins.jmh)
     id("java")
+    id("java-test-fixtures")
 }
 
 group = "com.demo"
@@ -25,12 +27,22 @@ dependencies {
     runtimeOnly(libs.h2)
     implementation(libs.flyway.core)
     implementation(libs.flyway.postgresql)
+    implementation(libs.hibernate.jcache)
+    implementation(libs.hibernate.micrometer)
+    implementation(libs.caffeine.jcache)
     implementation(libs.mapstruct)
     annotationProcessor(libs.mapstruct.processor)
 
     testImplementation(libs.spring.boot.starter.test)
+    testFixturesImplementation(libs.spring.boot.starter.data.jpa)
+    testFixturesImplementation(libs.spring.boot.starter.test)
 }
 
 tasks.test {
     useJUnitPlatform()
 }
+
+jmh {
+    resultFormat = "JSON"
+    profilers = listOf("gc")
+}
@@ -0,0 +1,32 @@
+package com.demo.filmdb;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@SpringBootApplication
+public class BenchmarkApplication {
+
+    /**
+     * Seed of the catalogs generated by benchmarks, so every run measures the same data
+     */
+    public static final long SEED = 42;
+
+    /**
+     * Starts a non-web application context for benchmarks. Replaces the {@code dev} profile, so SQL logging doesn't
+     * dominate the measurements.
+     *
+     * @param properties additional properties in {@code key=value} form
+     * @return the started context, must be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.profiles.active=benchmark",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.filmdb;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmInfo;
+import com.demo.filmdb.film.FilmInfoMapper;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonInfo;
+import com.demo.filmdb.person.PersonInfoMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generated {@link FilmInfoMapper} and {@link PersonInfoMapper} used by every create and update
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InfoMapperBenchmark {
+
+    private final FilmInfoMapper filmMapper = Mappers.getMapper(FilmInfoMapper.class);
+    private final PersonInfoMapper personMapper = Mappers.getMapper(PersonInfoMapper.class);
+
+    private final FilmInfo filmInfo = new FilmInfo() {
+        @Override
+        public String getTitle() {
+            return "Film";
+        }
+
+        @Override
+        public LocalDate getReleaseDate() {
+            return LocalDate.of(2000, 1, 1);
+        }
+
+        @Override
+        public String getSynopsis() {
+            return "Synopsis";
+        }
+    };
+
+    private final PersonInfo personInfo = new PersonInfo() {
+        @Override
+        public String getName() {
+            return "Person";
+        }
+
+        @Override
+        public LocalDate getDateOfBirth() {
+            return LocalDate.of(1970, 1, 1);
+        }
+    };
+
+    private final Film film = new Film(1L, "Old film", LocalDate.of(1990, 1, 1), null);
+    private final Person person = new Person(1L, "Old person", null);
+
+    @Benchmark
+    public Film filmInfoToFilm() {
+        return filmMapper.filmInfoToFilm(filmInfo);
+    }
+
+    @Benchmark
+    public Film updateFilm() {
+        filmMapper.updateFilmFromFilmInfo(filmInfo, film);
+        return film;
+    }
+
+    @Benchmark
+    public Person personInfoToPerson() {
+        return personMapper.personInfoToPerson(personInfo);
+    }
+
+    @Benchmark
+    public Person updatePerson() {
+        personMapper.updatePersonFromPersonInfo(personInfo, person);
+        return person;
+    }
+}
@@ -0,0 +1,94 @@
+package com.demo.filmdb;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import com.demo.filmdb.generator.GeneratedCatalog;
+import com.demo.filmdb.generator.SyntheticCatalog;
+import com.demo.filmdb.role.Role;
+import com.demo.filmdb.role.RoleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service reads behind the REST and GraphQL endpoints over a generated catalog of {@code catalogSize}
+ * films. Every call reads another film, so single entity reads mix cache hits and misses like
+ * requests spread over the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceReadBenchmark {
+
+    private static final Pageable SORTED_PAGE = PageRequest.of(10, 20,
+            Sort.by(Sort.Order.desc("releaseDate"), Sort.Order.asc("title")));
+
+    @Param({"1000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private FilmService filmService;
+    private RoleService roleService;
+    private long[] filmIds;
+    private long[] actorIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start();
+        filmService = context.getBean(FilmService.class);
+        roleService = context.getBean(RoleService.class);
+        CatalogGeneratorProperties properties = CatalogGeneratorProperties.of(catalogSize, BenchmarkApplication.SEED);
+        GeneratedCatalog generated = context.getBean(CatalogGenerator.class).generate(properties);
+        SyntheticCatalog catalog = new SyntheticCatalog(properties);
+        filmIds = new long[catalogSize];
+        actorIds = new long[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            filmIds[i] = generated.filmId(i);
+            actorIds[i] = generated.personId(catalog.film(i).cast().get(0).person());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Film> getFilm() {
+        return filmService.getFilm(filmIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public Page<Film> getFilmsSorted() {
+        return filmService.getFilms(SORTED_PAGE);
+    }
+
+    @Benchmark
+    public Collection<Role> getCast() {
+        return filmService.getCast(filmIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public Optional<Role> getRole() {
+        int index = nextIndex();
+        return roleService.getRole(filmIds[index], actorIds[index]);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % catalogSize;
+        return next;
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.filmdb;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmSpecs;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonSpecs;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures combining the {@link FilmSpecs} and {@link PersonSpecs} of a filtered search and turning them into a
+ * criteria predicate, with the id restriction of an in-memory title or name search of {@code idsCount} results
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecsBenchmark {
+
+    private static final LocalDate AFTER = LocalDate.of(1990, 1, 1);
+    private static final LocalDate BEFORE = LocalDate.of(2010, 1, 1);
+
+    @Param({"0", "100", "1000"})
+    private int idsCount;
+
+    private ConfigurableApplicationContext context;
+    private FilmSpecs filmSpecs;
+    private PersonSpecs personSpecs;
+    private CriteriaBuilder builder;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        filmSpecs = context.getBean(FilmSpecs.class);
+        personSpecs = context.getBean(PersonSpecs.class);
+        builder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        ids = LongStream.rangeClosed(1, idsCount).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate filmPredicate() {
+        Specification<Film> spec = Specification.where(filmSpecs.releaseBefore(BEFORE))
+                .and(filmSpecs.releaseAfter(AFTER));
+        if (!ids.isEmpty()) {
+            spec = spec.and(idIn(ids));
+        }
+        CriteriaQuery<Film> query = builder.createQuery(Film.class);
+        Root<Film> root = query.from(Film.class);
+        return spec.toPredicate(root, query, builder);
+    }
+
+    @Benchmark
+    public Predicate personPredicate() {
+        Specification<Person> spec = Specification.where(personSpecs.bornBefore(BEFORE))
+                .and(personSpecs.bornAfter(AFTER));
+        if (!ids.isEmpty()) {
+            spec = spec.and(idIn(ids));
+        }
+        CriteriaQuery<Person> query = builder.createQuery(Person.class);
+        Root<Person> root = query.from(Person.class);
+        return spec.toPredicate(root, query, builder);
+    }
+
+    private static <T> Specification<T> idIn(List<Long> ids) {
+        return (root, query, builder) -> root.get("id").in(ids);
+    }
+}
@@ -0,0 +1,49 @@
+package com.demo.filmdb.export;
+
+import com.demo.filmdb.BenchmarkApplication;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exporting every role of a generated catalog of {@code films} films, about 16 roles each, through
+ * {@link ExportService#exportRoles}. Memory use should stay flat as the catalog grows, since the persistence context is
+ * cleared during the export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class ExportBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    private int films;
+
+    private ConfigurableApplicationContext context;
+    private ExportService exportService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start();
+        exportService = context.getBean(ExportService.class);
+        context.getBean(CatalogGenerator.class)
+                .generate(CatalogGeneratorProperties.of(films, BenchmarkApplication.SEED));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long exportRoles(Blackhole blackhole) throws IOException {
+        return exportService.exportRoles(blackhole::consume);
+    }
+}
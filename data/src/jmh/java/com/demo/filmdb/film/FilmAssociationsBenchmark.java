@@ -0,0 +1,70 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.role.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures maintaining both sides of the film associations in memory: adding a cast of {@code size} roles, replacing
+ * {@code size} directors and removing a person from {@code size} films directed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilmAssociationsBenchmark {
+
+    private static final LocalDate RELEASE_DATE = LocalDate.of(2000, 1, 1);
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private Film film;
+    private List<Person> people;
+    private List<Person> newDirectors;
+    private Person director;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        film = new Film(1L, "Film", RELEASE_DATE, null);
+        people = new ArrayList<>(size);
+        newDirectors = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            Person person = new Person(i + 1, "Person " + i, null);
+            people.add(person);
+            film.addDirector(person);
+            newDirectors.add(new Person(size + i + 1, "New director " + i, null));
+        }
+        director = new Person(2L * size + 1, "Director", null);
+        for (long i = 0; i < size; i++) {
+            new Film(i + 2, "Film directed " + i, RELEASE_DATE, null).addDirector(director);
+        }
+    }
+
+    @Benchmark
+    public Film addRoles() {
+        for (int i = 0; i < size; i++) {
+            film.addRole(new Role(film, people.get(i), "Character " + i));
+        }
+        return film;
+    }
+
+    @Benchmark
+    public Film setDirectors() {
+        film.setDirectors(newDirectors);
+        return film;
+    }
+
+    @Benchmark
+    public Person removeFilmsDirected() {
+        director.removeFilmsDirected();
+        return director;
+    }
+}
@@ -0,0 +1,59 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.BenchmarkApplication;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import com.demo.filmdb.generator.GeneratedCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures concurrent {@link FilmService#getFilm} throughput with the second-level cache on and off. Reads are spread
+ * over a catalog that fits into the cache, like the read-mostly traffic of the film endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class FilmCacheBenchmark {
+
+    private static final int FILMS_COUNT = 1_000;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private FilmService filmService;
+    private long[] filmIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cacheEnabled);
+        filmService = context.getBean(FilmService.class);
+        GeneratedCatalog generated = context.getBean(CatalogGenerator.class)
+                .generate(CatalogGeneratorProperties.of(FILMS_COUNT, BenchmarkApplication.SEED));
+        filmIds = new long[FILMS_COUNT];
+        for (int i = 0; i < FILMS_COUNT; i++) {
+            filmIds[i] = generated.filmId(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Film> getFilm() {
+        long filmId = filmIds[ThreadLocalRandom.current().nextInt(filmIds.length)];
+        return filmService.getFilm(filmId);
+    }
+}
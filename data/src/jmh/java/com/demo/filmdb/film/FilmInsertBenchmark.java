@@ -0,0 +1,89 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.BenchmarkApplication;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inserting films through {@link FilmService#createFilm} with one transaction per chunk. Sequence ids let
+ * Hibernate group the inserts of a chunk into JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilmInsertBenchmark {
+
+    private static final int FILMS_COUNT = 100_000;
+
+    @Param({"1", "50", "1000"})
+    private int chunkSize;
+
+    private ConfigurableApplicationContext context;
+    private FilmService filmService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        filmService = context.getBean(FilmService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteFilms() {
+        jdbcTemplate.update("DELETE FROM film WHERE title LIKE 'Inserted film %'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertFilms() {
+        LocalDate releaseDate = LocalDate.of(2000, 1, 1);
+        for (int start = 0; start < FILMS_COUNT; start += chunkSize) {
+            int end = Math.min(start + chunkSize, FILMS_COUNT);
+            int chunkStart = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < end; i++) {
+                    filmService.createFilm(new GeneratedFilm("Inserted film " + i, releaseDate));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return FILMS_COUNT;
+    }
+
+    private record GeneratedFilm(String title, LocalDate releaseDate) implements FilmInfo {
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public LocalDate getReleaseDate() {
+            return releaseDate;
+        }
+
+        @Override
+        public String getSynopsis() {
+            return null;
+        }
+    }
+}
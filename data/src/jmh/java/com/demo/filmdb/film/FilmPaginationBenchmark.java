@@ -0,0 +1,73 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.BenchmarkApplication;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares offset and keyset scrolling over a generated catalog of a million films, with one person and role each.
+ * Offset latency grows with the page number because skipped rows are still read, keyset latency should stay flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilmPaginationBenchmark {
+
+    private static final int CATALOG_SIZE = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Sort SORT = Sort.by("id");
+
+    @Param({"0", "100", "10000", "49999"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private FilmService filmService;
+    private ScrollPosition offsetPosition;
+    private ScrollPosition keysetPosition;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start();
+        filmService = context.getBean(FilmService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        context.getBean(CatalogGenerator.class).generate(
+                new CatalogGeneratorProperties(CATALOG_SIZE, 1, BenchmarkApplication.SEED, 1, 10_000, 4));
+
+        int skipped = page * PAGE_SIZE;
+        offsetPosition = skipped == 0 ? ScrollPosition.offset() : ScrollPosition.offset(skipped);
+        if (skipped == 0) {
+            keysetPosition = ScrollPosition.keyset();
+        } else {
+            Long lastSkippedId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM film ORDER BY id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY", Long.class, skipped - 1);
+            keysetPosition = ScrollPosition.forward(Map.of("id", lastSkippedId));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Window<Film> offset() {
+        return filmService.getFilms(offsetPosition, PAGE_SIZE, SORT, null, null, null);
+    }
+
+    @Benchmark
+    public Window<Film> keyset() {
+        return filmService.getFilms(keysetPosition, PAGE_SIZE, SORT, null, null, null);
+    }
+}
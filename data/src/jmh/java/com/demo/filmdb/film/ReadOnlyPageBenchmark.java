@@ -0,0 +1,66 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.BenchmarkApplication;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import com.demo.filmdb.role.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a page of 1,000 films with their cast in one transaction, which is read-write or read-only
+ * depending on {@code readOnly}. A read-write session keeps a snapshot of every loaded film, role and person for dirty
+ * checking and flushes them on commit, a read-only session does neither. Compare {@code gc.alloc.rate.norm} of the two
+ * for the memory kept per loaded entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyPageBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final Pageable PAGE = PageRequest.of(0, 1000, Sort.by("title"));
+
+    @Param({"false", "true"})
+    private boolean readOnly;
+
+    private ConfigurableApplicationContext context;
+    private FilmService filmService;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start();
+        filmService = context.getBean(FilmService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        context.getBean(CatalogGenerator.class)
+                .generate(CatalogGeneratorProperties.of(CATALOG_SIZE, BenchmarkApplication.SEED));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Long, List<Role>> getPageWithCast() {
+        return transactionTemplate.execute(status -> {
+            Page<Film> films = filmService.getFilms(PAGE);
+            return filmService.getCast(films.map(Film::getId).getContent());
+        });
+    }
+}
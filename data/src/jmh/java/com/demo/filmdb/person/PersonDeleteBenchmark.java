@@ -0,0 +1,56 @@
+package com.demo.filmdb.person;
+
+import com.demo.filmdb.BenchmarkApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PersonService#deletePerson} of a person with {@code rolesCount} roles. The roles are deleted by the
+ * database through the cascading foreign key, so the time should hardly grow with the number of roles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PersonDeleteBenchmark {
+
+    @Param({"10", "5000"})
+    private int rolesCount;
+
+    private ConfigurableApplicationContext context;
+    private PersonService personService;
+    private JdbcTemplate jdbcTemplate;
+    private Long personId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        personService = context.getBean(PersonService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO film(title, release_date) " +
+                "SELECT 'Benchmark film ' || X, DATE '2000-01-01' FROM SYSTEM_RANGE(1, ?)", rolesCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void createPerson() {
+        personId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR person_seq", Long.class);
+        jdbcTemplate.update("INSERT INTO person(id, name) VALUES (?, 'Benchmark person')", personId);
+        jdbcTemplate.update("INSERT INTO role(film_id, person_id, \"CHARACTER\") " +
+                "SELECT id, ?, 'Benchmark character' FROM film WHERE title LIKE 'Benchmark film %'", personId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int deletePerson() {
+        return personService.deletePerson(personId);
+    }
+}
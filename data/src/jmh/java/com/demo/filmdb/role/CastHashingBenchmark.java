@@ -0,0 +1,102 @@
+package com.demo.filmdb.role;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.person.Person;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a cast and looking up every role in it. The {@code constant} variants reproduce the former
+ * {@code getClass().hashCode()} entity hash codes, which put every role in one bucket and make both operations
+ * quadratic in the cast size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CastHashingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int castSize;
+
+    private Film film;
+    private List<Person> people;
+    private List<Role> roles;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        film = new Film(1L, "Film", LocalDate.of(2000, 1, 1), null);
+        people = new ArrayList<>(castSize);
+        roles = new ArrayList<>(castSize);
+        Film detachedFilm = new Film(1L, "Film", LocalDate.of(2000, 1, 1), null);
+        for (long i = 0; i < castSize; i++) {
+            Person person = new Person(i + 1, "Person " + i, null);
+            people.add(person);
+            roles.add(new Role(detachedFilm, person, "Character " + i));
+        }
+    }
+
+    @Benchmark
+    public Film addRoles() {
+        for (int i = 0; i < castSize; i++) {
+            new Role(film, people.get(i), "Character " + i);
+        }
+        return film;
+    }
+
+    @Benchmark
+    public int addRolesConstant() {
+        Set<ConstantHashRole> cast = new LinkedHashSet<>();
+        for (Role role : roles) {
+            cast.add(new ConstantHashRole(role));
+        }
+        return cast.size();
+    }
+
+    @Benchmark
+    public int containsRoles() {
+        Set<Role> cast = new LinkedHashSet<>(roles);
+        int found = 0;
+        for (Role role : roles) {
+            if (cast.contains(role)) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsRolesConstant() {
+        Set<ConstantHashRole> cast = new LinkedHashSet<>();
+        for (Role role : roles) {
+            cast.add(new ConstantHashRole(role));
+        }
+        int found = 0;
+        for (Role role : roles) {
+            if (cast.contains(new ConstantHashRole(role))) found++;
+        }
+        return found;
+    }
+
+    /**
+     * Keeps {@link Role} equality but hashes like the entities did before they had a stable key
+     */
+    private record ConstantHashRole(Role role) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ConstantHashRole other && role.equals(other.role);
+        }
+
+        @Override
+        public int hashCode() {
+            return Role.class.hashCode();
+        }
+    }
+}
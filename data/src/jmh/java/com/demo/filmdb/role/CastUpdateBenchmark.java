@@ -0,0 +1,80 @@
+package com.demo.filmdb.role;
+
+import com.demo.filmdb.BenchmarkApplication;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import com.demo.filmdb.generator.GeneratedCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures {@link RoleService#updateCast} for casts of different sizes. Every invocation switches the film between two
+ * casts that share half of their people, so half of the roles are updated and the other half is replaced. The film and
+ * its people are a generated catalog of one film.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CastUpdateBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int castSize;
+
+    private ConfigurableApplicationContext context;
+    private RoleService roleService;
+    private Long filmId;
+    private List<CastMember> firstCast;
+    private List<CastMember> secondCast;
+    private boolean firstCastCurrent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkApplication.start();
+        roleService = context.getBean(RoleService.class);
+        int peopleCount = castSize * 3 / 2;
+        GeneratedCatalog generated = context.getBean(CatalogGenerator.class).generate(
+                new CatalogGeneratorProperties(1, peopleCount, BenchmarkApplication.SEED, 1, 10_000, 1));
+        filmId = generated.filmId(0);
+        List<Long> personIds = IntStream.range(0, peopleCount).mapToObj(generated::personId).toList();
+
+        firstCast = cast(personIds.subList(0, castSize), "First");
+        secondCast = cast(personIds.subList(peopleCount - castSize, peopleCount), "Second");
+        roleService.updateCast(filmId, firstCast);
+        firstCastCurrent = true;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Role> updateCast() {
+        List<CastMember> newCast = firstCastCurrent ? secondCast : firstCast;
+        firstCastCurrent = !firstCastCurrent;
+        return roleService.updateCast(filmId, newCast);
+    }
+
+    private static List<CastMember> cast(List<Long> personIds, String character) {
+        return personIds.stream()
+                .<CastMember>map(personId -> new CastMember() {
+                    @Override
+                    public Long getPersonId() {
+                        return personId;
+                    }
+
+                    @Override
+                    public String getCharacter() {
+                        return character;
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.demo.filmdb.util;
+
+import com.demo.filmdb.film.Film;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtering the sort of every paged request down to the @{@link com.demo.filmdb.annotations.Sortable} fields
+ * and extending it for keyset scrolling
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortUtilBenchmark {
+
+    private final Sort sort = Sort.by(Sort.Order.desc("releaseDate"), Sort.Order.asc("title"), Sort.Order.asc("synopsis"));
+    private final Pageable pageable = PageRequest.of(3, 20, sort);
+
+    @Benchmark
+    public Sort filterSort() {
+        return SortUtil.filterSortableFields(sort, Film.class);
+    }
+
+    @Benchmark
+    public Pageable filterPageable() {
+        return SortUtil.filterSortableFields(pageable, Film.class);
+    }
+
+    @Benchmark
+    public Sort filterSortWithIdTieBreaker() {
+        return SortUtil.withIdTieBreaker(SortUtil.filterSortableFields(sort, Film.class));
+    }
+}
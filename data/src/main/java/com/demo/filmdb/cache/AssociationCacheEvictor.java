@@ -0,0 +1,58 @@
+package com.demo.filmdb.cache;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.role.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the cached roles and director associations after the database deleted rows through {@code ON DELETE CASCADE}
+ * foreign keys. Hibernate only invalidates the regions of the tables a bulk statement names, so it doesn't know about
+ * cascaded rows. Like Hibernate does for bulk statements, whole regions are evicted, so the number of statements
+ * doesn't depend on the number of deleted rows.
+ */
+@Component
+public class AssociationCacheEvictor {
+
+    private static final String FILM_DIRECTORS = Film.class.getName() + ".directors";
+    private static final String FILM_CAST = Film.class.getName() + ".cast";
+    private static final String PERSON_FILMS_DIRECTED = Person.class.getName() + ".filmsDirected";
+    private static final String PERSON_ROLES = Person.class.getName() + ".roles";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AssociationCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts roles, casts, directors and films directed right away, so the current transaction doesn't read deleted
+     * rows from the cache, and again after the transaction completes, so a concurrent transaction that read the rows
+     * before the commit can't leave them cached.
+     */
+    public void evictAfterCascadingDelete() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Role.class);
+        cache.evictCollectionData(FILM_CAST);
+        cache.evictCollectionData(PERSON_ROLES);
+        cache.evictCollectionData(FILM_DIRECTORS);
+        cache.evictCollectionData(PERSON_FILMS_DIRECTED);
+    }
+}
@@ -0,0 +1,24 @@
+package com.demo.filmdb.cache;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. Every region must be listed in {@link #ALL}, because regions are
+ * created up front and Hibernate is not allowed to create missing ones.
+ */
+public final class CacheRegions {
+
+    public static final String FILM = "film";
+    public static final String FILM_DIRECTORS = "film.directors";
+    public static final String FILM_CAST = "film.cast";
+    public static final String PERSON = "person";
+    public static final String PERSON_FILMS_DIRECTED = "person.filmsDirected";
+    public static final String PERSON_ROLES = "person.roles";
+    public static final String ROLE = "role";
+
+    public static final List<String> ALL = List.of(
+            FILM, FILM_DIRECTORS, FILM_CAST, PERSON, PERSON_FILMS_DIRECTED, PERSON_ROLES, ROLE);
+
+    private CacheRegions() {
+    }
+}
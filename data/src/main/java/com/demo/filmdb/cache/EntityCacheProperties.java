@@ -0,0 +1,19 @@
+package com.demo.filmdb.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the second-level entity cache, applied to every region
+ *
+ * @param maxSize    maximum number of entries in a region
+ * @param timeToLive time after which an entry expires. Bounds staleness after writes made outside this application.
+ */
+@ConfigurationProperties("filmdb.cache")
+public record EntityCacheProperties(
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("1h") Duration timeToLive
+) {
+}
@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.cache;
+
+import org.springframework.lang.NonNullApi;
@@ -0,0 +1,29 @@
+package com.demo.filmdb.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target of read-only transactions: the replica, or the primary while the replica may lag behind the last write
+ */
+class LagAwareReplicaDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicationLagGuard lagGuard;
+
+    LagAwareReplicaDataSource(DataSource primary, DataSource replica, ReplicationLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagGuard.replicaMayLag() ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    private enum Target {
+        PRIMARY, REPLICA
+    }
+}
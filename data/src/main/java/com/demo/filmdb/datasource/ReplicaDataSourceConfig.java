@@ -0,0 +1,69 @@
+package com.demo.filmdb.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary, enabled by setting
+ * {@code filmdb.datasource.replica.url}. Repository reads outside of a service transaction run in the read-only
+ * transactions of Spring Data, so they go to the replica too.
+ * <p>
+ * The transaction manager marks the connection of a read-only transaction read-only before executing any statement.
+ * {@link LazyConnectionDataSourceProxy} defers fetching the physical connection until then, and fetches it from the
+ * replica pool if it is marked. Both pools are beans, so they are sized separately and report their own metrics
+ * under their pool names.
+ */
+@Configuration
+@ConditionalOnProperty("filmdb.datasource.replica.url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("filmdb.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties replica, DataSourceProperties primary) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(replica.url())
+                .username(replica.username() != null ? replica.username() : primary.determineUsername())
+                .password(replica.password() != null ? replica.password() : primary.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationLagGuard replicationLagGuard(ReplicaDataSourceProperties replica) {
+        return new ReplicationLagGuard(replica.maxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicationLagGuard replicationLagGuard) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new LagAwareReplicaDataSource(primaryDataSource, replicaDataSource, replicationLagGuard));
+        return dataSource;
+    }
+}
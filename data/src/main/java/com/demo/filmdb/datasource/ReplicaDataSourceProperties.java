@@ -0,0 +1,33 @@
+package com.demo.filmdb.datasource;
+
+import jakarta.annotation.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection to the read replica. Its pool is configured under {@code filmdb.datasource.replica.hikari} like the
+ * primary pool under {@code spring.datasource.hikari}.
+ *
+ * @param url      JDBC URL of the replica
+ * @param username login username, {@code null} to use the one of the primary
+ * @param password login password, {@code null} to use the one of the primary
+ * @param maxLag   time after a committed write during which read-only transactions of the same authenticated user
+ *                 still go to the primary, so users read their own writes. Zero sends every read-only transaction to
+ *                 the replica.
+ */
+@ConfigurationProperties("filmdb.datasource.replica")
+public record ReplicaDataSourceProperties(
+        String url,
+        @Nullable String username,
+        @Nullable String password,
+        @DefaultValue("1s") Duration maxLag
+) {
+
+    public ReplicaDataSourceProperties {
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("Max lag must not be negative");
+        }
+    }
+}
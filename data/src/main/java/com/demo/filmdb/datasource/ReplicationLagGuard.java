@@ -0,0 +1,68 @@
+package com.demo.filmdb.datasource;
+
+import jakarta.annotation.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each authenticated user last committed a read-write transaction. Until the replica may have caught
+ * up, read-only transactions of that user are sent to the primary, so their write is visible to the reads that follow
+ * it. Reads of other users and anonymous reads keep going to the replica. Writes without an authenticated user, e.g.
+ * of imports, don't route any reads to the primary.
+ */
+public class ReplicationLagGuard implements TransactionExecutionListener {
+
+    private final long maxLagNanos;
+    /**
+     * Authenticated user name to the time until which their reads go to the primary
+     */
+    private final Map<String, Long> primaryReadsUntil = new ConcurrentHashMap<>();
+
+    public ReplicationLagGuard(Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || maxLagNanos == 0) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        primaryReadsUntil.values().removeIf(until -> until - now <= 0);
+        primaryReadsUntil.put(user, now + maxLagNanos);
+    }
+
+    /**
+     * @return whether the replica may not yet have the last write committed by the current user
+     */
+    public boolean replicaMayLag() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = primaryReadsUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    @Nullable
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.datasource;
+
+import org.springframework.lang.NonNullApi;
@@ -9,6 +9,7 @@ import jakarta.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -36,6 +37,7 @@ public class DirectorService {
      * @param personId  director id
      * @throws EntityNotFoundException if film or person could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void setDirector(Long filmId, Long personId) throws EntityNotFoundException {
         Film film = filmRepository.findById(filmId).orElseThrow(() ->
@@ -54,6 +56,7 @@ public class DirectorService {
      * @param filmId    directed film id
      * @param personId  director id
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteDirector(Long filmId, Long personId) {
         Optional<Film> filmOptional = filmRepository.findById(filmId);
@@ -79,6 +82,7 @@ public class DirectorService {
      * @return the updated entity
      * @throws EntityNotFoundException if film or any of the directors could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public List<Person> updateDirectors(Long filmId, @Nullable Collection<Long> directorsIds) throws EntityNotFoundException {
         Film film = filmRepository.findById(filmId).orElseThrow(() ->
@@ -107,6 +111,7 @@ public class DirectorService {
      * @param filmId id of the film
      * @throws EntityNotFoundException if film could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteDirectors(Long filmId) throws EntityNotFoundException {
         updateDirectors(filmId, null);
@@ -0,0 +1,65 @@
+package com.demo.filmdb.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base of the entities that are compared and hashed by an immutable {@link UUID} key instead of their generated id.
+ * Subclasses implement {@code equals} and {@code hashCode} with {@link #getUuid()} only, so both use the same key.
+ */
+@MappedSuperclass
+public abstract class UuidKeyedEntity {
+
+    /**
+     * Immutable key used for {@code equals} and {@code hashCode}. Unlike the generated id, it is known before the
+     * entity is persisted, so equality and the hash stay the same across the transient to persistent transition and
+     * still spread entities over buckets.
+     */
+    @Column(nullable = false, updatable = false)
+    private UUID uuid;
+
+    /**
+     * Entities created by the no-args constructor (e.g. by mappers or Hibernate) get their key on first use or from
+     * the loaded row
+     */
+    protected UuidKeyedEntity() {
+    }
+
+    protected UuidKeyedEntity(UUID uuid) {
+        this.uuid = requireNonNull(uuid, "uuid must not be null");
+    }
+
+    /**
+     * Public, so it is intercepted and initializes the entity when called on a lazy proxy
+     *
+     * @return the key of this entity
+     */
+    public UUID getUuid() {
+        if (uuid == null) {
+            uuid = UUID.randomUUID();
+        }
+        return uuid;
+    }
+
+    @PrePersist
+    private void assignUuid() {
+        getUuid();
+    }
+
+    /**
+     * Key of instances that only stand for a stored row, e.g. in tests or for indexing rows written with JDBC.
+     * Instances created with the same id share the key, so they are equal to each other and have equal hash codes.
+     * They are not equal to the loaded entity, whose key is the random one stored with the row.
+     *
+     * @param id id of the row, must not be {@code null}
+     * @return key derived from the id
+     */
+    protected static UUID uuidFromId(Long id) {
+        return new UUID(0L, requireNonNull(id, "id must not be null"));
+    }
+}
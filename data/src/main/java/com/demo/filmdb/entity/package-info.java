@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.entity;
+
+import org.springframework.lang.NonNullApi;
@@ -0,0 +1,14 @@
+package com.demo.filmdb.export;
+
+import java.io.IOException;
+
+/**
+ * Receives exported entities one by one
+ *
+ * @param <T> entity type
+ */
+@FunctionalInterface
+public interface EntityWriter<T> {
+
+    void write(T entity) throws IOException;
+}
@@ -0,0 +1,97 @@
+package com.demo.filmdb.export;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonRepository;
+import com.demo.filmdb.role.Role;
+import com.demo.filmdb.role.RoleRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exports the whole catalog without loading it into memory. Entities are streamed from a database cursor and the
+ * persistence context is cleared as the export goes, so memory use doesn't depend on the catalog size.
+ */
+@Service
+public class ExportService {
+
+    /**
+     * Number of entities written between clearing the persistence context
+     */
+    static final int CLEAR_INTERVAL = 1000;
+
+    private final FilmRepository filmRepository;
+    private final PersonRepository personRepository;
+    private final RoleRepository roleRepository;
+    private final EntityManager entityManager;
+
+    public ExportService(
+            FilmRepository filmRepository,
+            PersonRepository personRepository,
+            RoleRepository roleRepository,
+            EntityManager entityManager
+    ) {
+        this.filmRepository = filmRepository;
+        this.personRepository = personRepository;
+        this.roleRepository = roleRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Passes all {@link Film} entities ordered by id to the {@code writer}
+     *
+     * @param writer must not be null
+     * @return number of exported films
+     * @throws IOException if the writer failed
+     */
+    @Transactional(readOnly = true)
+    public long exportFilms(EntityWriter<Film> writer) throws IOException {
+        return export(filmRepository.streamAll(), writer);
+    }
+
+    /**
+     * Passes all {@link Person} entities ordered by id to the {@code writer}
+     *
+     * @param writer must not be null
+     * @return number of exported people
+     * @throws IOException if the writer failed
+     */
+    @Transactional(readOnly = true)
+    public long exportPeople(EntityWriter<Person> writer) throws IOException {
+        return export(personRepository.streamAll(), writer);
+    }
+
+    /**
+     * Passes all {@link Role} entities ordered by film id and person id to the {@code writer}. Role films and people
+     * are not initialized.
+     *
+     * @param writer must not be null
+     * @return number of exported roles
+     * @throws IOException if the writer failed
+     */
+    @Transactional(readOnly = true)
+    public long exportRoles(EntityWriter<Role> writer) throws IOException {
+        return export(roleRepository.streamAll(), writer);
+    }
+
+    private <T> long export(Stream<T> entities, EntityWriter<T> writer) throws IOException {
+        long count = 0;
+        try (entities) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.export;
+
+import org.springframework.lang.NonNullApi;
@@ -1,6 +1,8 @@
 package com.demo.filmdb.film;
 
 import com.demo.filmdb.annotations.Sortable;
+import com.demo.filmdb.cache.CacheRegions;
+import com.demo.filmdb.entity.UuidKeyedEntity;
 import com.demo.filmdb.person.Person;
 import com.demo.filmdb.role.Role;
 import jakarta.annotation.Nullable;
@@ -8,20 +10,26 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.UUID;
 
 import static java.util.Objects.requireNonNull;
 
 @Entity
-public class Film {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.FILM)
+public class Film extends UuidKeyedEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "film_seq")
+    @SequenceGenerator(name = "film_seq", sequenceName = "film_seq", allocationSize = 50)
     @Sortable
     private Long id;
 
@@ -45,13 +53,21 @@ public class Film {
     )
     private String synopsis;
 
+    /**
+     * Incremented by every update of the film, which makes it usable as a strong entity tag
+     */
+    @Version
+    private Long version;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.FILM_DIRECTORS)
     @JoinTable(name = "film_person_directed",
             joinColumns = @JoinColumn(name = "film_id"),
             inverseJoinColumns = @JoinColumn(name = "person_id"))
     private final Set<Person> directors = new LinkedHashSet<>();
 
     @OneToMany(mappedBy = "film")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.FILM_CAST)
     private final Set<Role> cast = new LinkedHashSet<>();
 
     @SuppressWarnings("unused")
@@ -59,12 +75,21 @@ public class Film {
     }
 
     public Film(String title, LocalDate releaseDate, @Nullable String synopsis) {
+        super(UUID.randomUUID());
         this.title = title;
         this.releaseDate = releaseDate;
         this.synopsis = synopsis;
     }
 
+    /**
+     * Creates an instance standing for the stored film with the given id, for tests and tooling such as indexing rows
+     * written with JDBC. Instances created with the same id are equal, but they are never equal to the film loaded
+     * from the database, whose key is the random one stored with the row. Don't mix them in one set or map.
+     *
+     * @param id id of the stored film, must not be {@code null}
+     */
     public Film(Long id, String title, LocalDate releaseDate, @Nullable String synopsis) {
+        super(uuidFromId(id));
         this.id = id;
         this.title = title;
         this.releaseDate = releaseDate;
@@ -117,6 +142,10 @@ public class Film {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     /**
      * Sets a person as a director of this film for the both sides of the association
      *
@@ -178,12 +207,11 @@ public class Film {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Film other)) return false;
-        return id != null
-                && id.equals(other.getId());
+        return getUuid().equals(other.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return getClass().hashCode();
+        return getUuid().hashCode();
     }
 }
@@ -1,9 +1,90 @@
 package com.demo.filmdb.film;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FilmRepository extends JpaRepository<Film, Long>, JpaSpecificationExecutor<Film> {
-}
\ No newline at end of file
+
+    /**
+     * Finds a {@link Film} entity by id with its directors fetched in the same query
+     *
+     * @param filmId must not be {@code null}
+     * @return the found entity or {@link Optional#empty} if none found
+     */
+    @EntityGraph(attributePaths = "directors")
+    Optional<Film> findWithDirectorsById(Long filmId);
+
+    /**
+     * Finds {@link Film} entities with the given ids with their directors fetched in the same query
+     *
+     * @param filmIds must not be {@code null}
+     * @return the found entities, may be empty but not null
+     */
+    @Query("select distinct f from Film f left join fetch f.directors where f.id in :filmIds")
+    List<Film> findAllWithDirectorsByIdIn(@Param("filmIds") Collection<Long> filmIds);
+
+    /**
+     * Finds the version of a {@link Film} without loading the entity
+     *
+     * @param filmId must not be {@code null}
+     * @return the version or {@link Optional#empty} if none found
+     */
+    @Query("select f.version from Film f where f.id = :filmId")
+    Optional<Long> findVersionById(@Param("filmId") Long filmId);
+
+    /**
+     * Deletes a {@link Film} with a single statement. The database deletes its roles and director associations
+     * through cascading foreign keys, which Hibernate doesn't evict from the second-level cache.
+     * The persistence context is flushed before and cleared after the deletion.
+     *
+     * @param filmId must not be {@code null}
+     * @return the number of deleted entities, 0 if none found
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Film f where f.id = :filmId")
+    int deleteFilmById(@Param("filmId") Long filmId);
+
+    /**
+     * Deletes a {@link Film} at the given version with a single statement, like {@link #deleteFilmById}
+     *
+     * @param filmId must not be {@code null}
+     * @param version must not be {@code null}
+     * @return the number of deleted entities, 0 if none found at the given version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Film f where f.id = :filmId and f.version = :version")
+    int deleteFilmByIdAndVersion(@Param("filmId") Long filmId, @Param("version") Long version);
+
+    /**
+     * Streams all {@link Film} entities.
+     * Rows are read from a server side cursor a thousand at a time. Must be called inside a
+     * transaction and the stream must be closed. Streamed entities are not put into the second-level cache.
+     *
+     * @return stream of all entities ordered by id
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select f from Film f order by f.id")
+    Stream<Film> streamAll();
+}
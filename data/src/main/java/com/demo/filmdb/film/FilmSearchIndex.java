@@ -0,0 +1,41 @@
+package com.demo.filmdb.film;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Full-text index of {@link Film} titles
+ */
+public interface FilmSearchIndex {
+
+    /**
+     * Matches films whose title contains any of the {@code query} words or words starting with them, so the database
+     * can combine the match with other filters, sort, page and count
+     *
+     * @param query text to search, must not be null
+     * @return specification of the found films
+     */
+    Specification<Film> matching(String query);
+
+    /**
+     * Matches the same films as {@link #matching} and orders them by relevance, the most relevant first. Used by
+     * unsorted queries, a sort of the query replaces the relevance order.
+     *
+     * @param query text to search, must not be null
+     * @return specification of the found films, ordered by relevance
+     */
+    Specification<Film> rankedMatching(String query);
+
+    /**
+     * Adds a film to the index or updates it
+     *
+     * @param film must not be null
+     */
+    void index(Film film);
+
+    /**
+     * Removes a film from the index
+     *
+     * @param filmId must not be null
+     */
+    void remove(Long filmId);
+}
@@ -1,5 +1,6 @@
 package com.demo.filmdb.film;
 
+import com.demo.filmdb.cache.AssociationCacheEvictor;
 import com.demo.filmdb.person.Person;
 import com.demo.filmdb.role.Role;
 import com.demo.filmdb.role.RoleRepository;
@@ -7,10 +8,14 @@ import com.demo.filmdb.util.EntityNotFoundException;
 import com.demo.filmdb.util.SortUtil;
 import jakarta.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -18,9 +23,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.demo.filmdb.util.ErrorUtil.filmNotFoundMessage;
+import static com.demo.filmdb.util.ErrorUtil.filmVersionMismatchMessage;
 
 @Service
 public class FilmService {
@@ -29,13 +38,24 @@ public class FilmService {
     private final RoleRepository roleRepository;
     private final FilmInfoMapper filmMapper;
     private final FilmSpecs filmSpecs;
+    private final FilmSearchIndex filmSearchIndex;
+    private final AssociationCacheEvictor cacheEvictor;
 
     @Autowired
-    public FilmService(FilmRepository filmRepository, RoleRepository roleRepository, FilmInfoMapper filmMapper, FilmSpecs filmSpecs) {
+    public FilmService(
+            FilmRepository filmRepository,
+            RoleRepository roleRepository,
+            FilmInfoMapper filmMapper,
+            FilmSpecs filmSpecs,
+            FilmSearchIndex filmSearchIndex,
+            AssociationCacheEvictor cacheEvictor
+    ) {
         this.filmRepository = filmRepository;
         this.roleRepository = roleRepository;
         this.filmMapper = filmMapper;
         this.filmSpecs = filmSpecs;
+        this.filmSearchIndex = filmSearchIndex;
+        this.cacheEvictor = cacheEvictor;
     }
 
     /**
@@ -44,6 +64,7 @@ public class FilmService {
      * @param pageable  must not be null
      * @return the resulting page, may be empty but not null
      */
+    @Transactional(readOnly = true)
     public Page<Film> getFilms(Pageable pageable) {
         Pageable filteredPageable = SortUtil.filterSortableFields(pageable, Film.class);
         return filmRepository.findAll(filteredPageable);
@@ -52,28 +73,63 @@ public class FilmService {
     /**
      * Returns a {@link Page} of {@link Film} entities.
      * For filtering any of {@code title}, {@code releaseAfter} or {@code releaseBefore} can be specified.
+     * Title is looked up in the {@link FilmSearchIndex}, the database filters, sorts, pages and counts the matches.
+     * If {@code pageable} is unsorted, found films are ordered by relevance.
      *
      * @param pageable      must not be null
-     * @param title         string that films must contain in their title. Should not be blank. Can be null.
+     * @param title         words that film title must contain or start with. Should not be blank. Can be null.
      * @param releaseAfter  release date lower limit. Can be null.
      * @param releaseBefore release date upper limit. Can be null.
      * @return the resulting page, may be empty but not null
      */
+    @Transactional(readOnly = true)
     public Page<Film> getFilms(
             Pageable pageable,
             @Nullable String title,
             @Nullable LocalDate releaseAfter,
             @Nullable LocalDate releaseBefore
     ) {
-        Specification<Film> spec = filmSpecs.titleContains(title)
-                .and(filmSpecs.releaseBefore(releaseBefore))
+        Specification<Film> spec = Specification.where(filmSpecs.releaseBefore(releaseBefore))
+                .and(filmSpecs.releaseAfter(releaseAfter));
+        Pageable filteredPageable = SortUtil.filterSortableFields(pageable, Film.class);
+        if (title == null || title.isBlank()) {
+            return filmRepository.findAll(spec, filteredPageable);
+        }
+        return filmRepository.findAll(spec.and(matching(title, filteredPageable.getSort())), filteredPageable);
+    }
+
+    /**
+     * Returns a {@link Slice} of {@link Film} entities. Unlike {@link #getFilms(Pageable, String, LocalDate, LocalDate)}
+     * matching films aren't counted, one film more than the page size is fetched to tell whether a next slice exists.
+     * For filtering any of {@code title}, {@code releaseAfter} or {@code releaseBefore} can be specified.
+     * Title is looked up in the {@link FilmSearchIndex}, matches are filtered, sorted and sliced by the database.
+     * If {@code pageable} is unsorted, found films are ordered by relevance.
+     *
+     * @param pageable      must not be null
+     * @param title         words that film title must contain or start with. Should not be blank. Can be null.
+     * @param releaseAfter  release date lower limit. Can be null.
+     * @param releaseBefore release date upper limit. Can be null.
+     * @return the resulting slice, may be empty but not null
+     */
+    @Transactional(readOnly = true)
+    public Slice<Film> getFilmSlice(
+            Pageable pageable,
+            @Nullable String title,
+            @Nullable LocalDate releaseAfter,
+            @Nullable LocalDate releaseBefore
+    ) {
+        Specification<Film> spec = Specification.where(filmSpecs.releaseBefore(releaseBefore))
                 .and(filmSpecs.releaseAfter(releaseAfter));
         Pageable filteredPageable = SortUtil.filterSortableFields(pageable, Film.class);
-        return filmRepository.findAll(spec, filteredPageable);
+        if (title == null || title.isBlank()) {
+            return filmRepository.findBy(spec, query -> query.slice(filteredPageable));
+        }
+        Specification<Film> matchingSpec = spec.and(matching(title, filteredPageable.getSort()));
+        return filmRepository.findBy(matchingSpec, query -> query.slice(filteredPageable));
     }
 
     /**
-     * Returns a page of {@link Film} entities.
+     * Returns a slice of {@link Film} entities, see {@link #getFilmSlice}.
      * For sorting both {@code sortBy} and {@code sortDirection} must not be null.
      * For filtering any of {@code title}, {@code releaseAfter} or {@code releaseBefore} can be specified.
      *
@@ -81,12 +137,13 @@ public class FilmService {
      * @param pageSize      page size
      * @param sortBy        {@link Film} property name to sort by. Can be null.
      * @param sortDirection sort direction. Can be null.
-     * @param title         string that films must contain in their title. Should not be blank. Can be null.
+     * @param title         words that film title must contain or start with. Should not be blank. Can be null.
      * @param releaseAfter  release date lower limit. Can be null.
      * @param releaseBefore release date upper limit. Can be null.
-     * @return the resulting page, may be empty but not null
+     * @return the resulting slice, may be empty but not null
      */
-    public Page<Film> getFilms(
+    @Transactional(readOnly = true)
+    public Slice<Film> getFilms(
             int page,
             int pageSize,
             @Nullable String sortBy,
@@ -101,7 +158,69 @@ public class FilmService {
         } else {
             pageable = PageRequest.of(page, pageSize, sortDirection, sortBy);
         }
-        return getFilms(pageable, title, releaseAfter, releaseBefore);
+        return getFilmSlice(pageable, title, releaseAfter, releaseBefore);
+    }
+
+    /**
+     * Counts the {@link Film} entities matching the filter.
+     * For filtering any of {@code title}, {@code releaseAfter} or {@code releaseBefore} can be specified.
+     *
+     * @param title         words that film title must contain or start with. Should not be blank. Can be null.
+     * @param releaseAfter  release date lower limit. Can be null.
+     * @param releaseBefore release date upper limit. Can be null.
+     * @return number of matching films
+     */
+    @Transactional(readOnly = true)
+    public long countFilms(
+            @Nullable String title,
+            @Nullable LocalDate releaseAfter,
+            @Nullable LocalDate releaseBefore
+    ) {
+        Specification<Film> spec = Specification.where(filmSpecs.releaseBefore(releaseBefore))
+                .and(filmSpecs.releaseAfter(releaseAfter));
+        if (title != null && !title.isBlank()) {
+            spec = spec.and(filmSearchIndex.matching(title));
+        }
+        return filmRepository.count(spec);
+    }
+
+    /**
+     * Returns a {@link Window} of {@link Film} entities starting at the given scroll position.
+     * With a keyset position the cost of a window doesn't depend on its distance from the start and windows don't shift
+     * when films are added. Sort is extended with {@code id} to make the order total.
+     * Title is looked up in the {@link FilmSearchIndex}, found films are ordered by {@code sort}.
+     *
+     * @param position      position to scroll from, e.g. {@link ScrollPosition#keyset()} for the first window
+     * @param limit         maximum window size
+     * @param sort          must not be null. Properties not annotated with @{@link com.demo.filmdb.annotations.Sortable} are ignored.
+     * @param title         words that film title must contain or start with. Should not be blank. Can be null.
+     * @param releaseAfter  release date lower limit. Can be null.
+     * @param releaseBefore release date upper limit. Can be null.
+     * @return the resulting window, may be empty but not null
+     */
+    @Transactional(readOnly = true)
+    public Window<Film> getFilms(
+            ScrollPosition position,
+            int limit,
+            Sort sort,
+            @Nullable String title,
+            @Nullable LocalDate releaseAfter,
+            @Nullable LocalDate releaseBefore
+    ) {
+        Specification<Film> spec = Specification.where(filmSpecs.releaseBefore(releaseBefore))
+                .and(filmSpecs.releaseAfter(releaseAfter));
+        if (title != null && !title.isBlank()) {
+            spec = spec.and(filmSearchIndex.matching(title));
+        }
+        Sort keysetSort = SortUtil.withIdTieBreaker(SortUtil.filterSortableFields(sort, Film.class));
+        return filmRepository.findBy(spec, query -> query.sortBy(keysetSort).limit(limit).scroll(position));
+    }
+
+    /**
+     * @return films matching {@code title}, ordered by relevance unless {@code sort} orders them
+     */
+    private Specification<Film> matching(String title, Sort sort) {
+        return sort.isSorted() ? filmSearchIndex.matching(title) : filmSearchIndex.rankedMatching(title);
     }
 
     /**
@@ -113,7 +232,9 @@ public class FilmService {
     @PreAuthorize("hasRole('ADMIN')")
     public Film createFilm(FilmInfo filmInfo) {
         final Film film = filmMapper.filmInfoToFilm(filmInfo);
-        return filmRepository.save(film);
+        Film createdFilm = filmRepository.save(film);
+        filmSearchIndex.index(createdFilm);
+        return createdFilm;
     }
 
     /**
@@ -122,10 +243,22 @@ public class FilmService {
      * @param filmId must not be {@code null}
      * @return the found entity or empty {@code Optional}
      */
+    @Transactional(readOnly = true)
     public Optional<Film> getFilm(Long filmId) {
         return filmRepository.findById(filmId);
     }
 
+    /**
+     * Returns the version of a {@link Film} without loading the entity. The version changes with every update.
+     *
+     * @param filmId must not be {@code null}
+     * @return the version or empty {@code Optional} if the film doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getFilmVersion(Long filmId) {
+        return filmRepository.findVersionById(filmId);
+    }
+
     /**
      * Update a {@link Film}
      *
@@ -134,25 +267,74 @@ public class FilmService {
      * @return the updated entity
      * @throws EntityNotFoundException if film could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public Film updateFilm(Long filmId, FilmInfo filmInfo) throws EntityNotFoundException {
+        return updateFilm(filmId, filmInfo, null);
+    }
+
+    /**
+     * Update a {@link Film} if it is still at the expected version
+     *
+     * @param filmId film to update
+     * @param filmInfo film info
+     * @param expectedVersion version the update is based on, {@code null} to update any version
+     * @return the updated entity with the incremented version
+     * @throws EntityNotFoundException if film could not be found
+     * @throws OptimisticLockingFailureException if the film is at another version or is updated concurrently
+     */
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public Film updateFilm(Long filmId, FilmInfo filmInfo, @Nullable Long expectedVersion) throws EntityNotFoundException {
         Film filmToUpdate = filmRepository.findById(filmId).orElseThrow(() ->
                 new EntityNotFoundException(filmNotFoundMessage(filmId))
         );
+        checkVersion(filmToUpdate, expectedVersion);
         filmMapper.updateFilmFromFilmInfo(filmInfo, filmToUpdate);
-        return filmRepository.save(filmToUpdate);
+        // flush, so a concurrent update fails before the search index is changed
+        Film updatedFilm = filmRepository.saveAndFlush(filmToUpdate);
+        filmSearchIndex.index(updatedFilm);
+        return updatedFilm;
     }
 
     /**
      * Deletes a {@link Film} entity with the given id.
      *
      * @param filmId id.
+     * @return the number of deleted films, 0 if none found
      */
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
-    public void deleteFilm(Long filmId) {
-        roleRepository.deleteById_FilmId(filmId);
-        filmRepository.deleteById(filmId);
+    public int deleteFilm(Long filmId) {
+        return deleteFilm(filmId, null);
+    }
+
+    /**
+     * Deletes the {@link Film} with the given id if it is still at the expected version.
+     * The film, its roles and director associations are deleted with a single statement, so there is no window between
+     * checking and deleting the film, and the number of statements doesn't depend on the cast size.
+     *
+     * @param filmId film id
+     * @param expectedVersion version the deletion is based on, {@code null} to delete any version
+     * @return the number of deleted films, 0 if none found
+     * @throws OptimisticLockingFailureException if the film is at another version
+     */
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public int deleteFilm(Long filmId, @Nullable Long expectedVersion) {
+        int deleted = expectedVersion == null
+                ? filmRepository.deleteFilmById(filmId)
+                : filmRepository.deleteFilmByIdAndVersion(filmId, expectedVersion);
+        if (deleted == 0) {
+            // checked only after a failed deletion, to tell a missing film from one at another version
+            if (expectedVersion != null && filmRepository.existsById(filmId)) {
+                throw new OptimisticLockingFailureException(filmVersionMismatchMessage(filmId, expectedVersion));
+            }
+            return 0;
+        }
+        cacheEvictor.evictAfterCascadingDelete();
+        filmSearchIndex.remove(filmId);
+        return deleted;
     }
 
     /**
@@ -161,22 +343,24 @@ public class FilmService {
      * @param filmId must not be {@code null}
      * @return true if exists, false otherwise
      */
+    @Transactional(readOnly = true)
     public boolean filmExists(Long filmId) {
         return filmRepository.existsById(filmId);
     }
 
     /**
-     * Returns film cast
+     * Returns film cast. Role films and people are initialized.
      *
      * @param filmId must not be null
      * @return collection of roles
      * @throws EntityNotFoundException if film could not be found
      */
+    @Transactional(readOnly = true)
     public Collection<Role> getCast(Long filmId) throws EntityNotFoundException {
-        Film film = filmRepository.findById(filmId).orElseThrow(() ->
-                new EntityNotFoundException(filmNotFoundMessage(filmId))
-        );
-        return film.getCast();
+        if (!filmRepository.existsById(filmId)) {
+            throw new EntityNotFoundException(filmNotFoundMessage(filmId));
+        }
+        return roleRepository.findAllByFilmIdIn(List.of(filmId));
     }
 
     /**
@@ -186,10 +370,47 @@ public class FilmService {
      * @return collection of people
      * @throws EntityNotFoundException if film could not be found
      */
+    @Transactional(readOnly = true)
     public Collection<Person> getDirectors(Long filmId) throws EntityNotFoundException {
-        Film film = filmRepository.findById(filmId).orElseThrow(() ->
+        Film film = filmRepository.findWithDirectorsById(filmId).orElseThrow(() ->
                 new EntityNotFoundException(filmNotFoundMessage(filmId))
         );
         return film.getDirectors();
     }
+
+    /**
+     * Returns cast of the films with the given ids. Loads all roles with a single query.
+     *
+     * @param filmIds must not be null
+     * @return map of film id to its cast. Films without cast are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Role>> getCast(Collection<Long> filmIds) {
+        if (filmIds.isEmpty()) {
+            return Map.of();
+        }
+        return roleRepository.findAllByFilmIdIn(filmIds).stream()
+                .collect(Collectors.groupingBy(role -> role.getId().getFilmId()));
+    }
+
+    /**
+     * Returns directors of the films with the given ids. Loads all directors with a single query.
+     *
+     * @param filmIds must not be null
+     * @return map of film id to its directors. Films that could not be found are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Person>> getDirectors(Collection<Long> filmIds) {
+        if (filmIds.isEmpty()) {
+            return Map.of();
+        }
+        return filmRepository.findAllWithDirectorsByIdIn(filmIds).stream()
+                .collect(Collectors.toMap(Film::getId, film -> List.copyOf(film.getDirectors())));
+    }
+
+    private static void checkVersion(Film film, @Nullable Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(film.getVersion())) {
+            throw new OptimisticLockingFailureException(filmVersionMismatchMessage(film.getId(), expectedVersion));
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.search.InMemorySearchIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+@Profile("!postgres")
+public class InMemoryFilmSearchIndex extends InMemorySearchIndex implements FilmSearchIndex {
+
+    private final FilmRepository filmRepository;
+
+    public InMemoryFilmSearchIndex(FilmRepository filmRepository) {
+        this.filmRepository = filmRepository;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        rebuild(filmRepository.findAll().stream().collect(Collectors.toMap(Film::getId, Film::getTitle)));
+    }
+
+    @Override
+    public Specification<Film> matching(String query) {
+        return textMatches(query);
+    }
+
+    @Override
+    public Specification<Film> rankedMatching(String query) {
+        return rankedTextMatches(query);
+    }
+
+    @Override
+    public void index(Film film) {
+        put(film.getId(), film.getTitle());
+    }
+
+    @Override
+    public void remove(Long filmId) {
+        delete(filmId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.filmdb.film;
+
+import com.demo.filmdb.search.PostgresSearchIndex;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches the {@code film.title} column through its full-text expression index, which the database keeps current by
+ * itself
+ */
+@Component
+@Profile("postgres")
+public class PostgresFilmSearchIndex extends PostgresSearchIndex implements FilmSearchIndex {
+
+    public PostgresFilmSearchIndex() {
+        super("title");
+    }
+
+    @Override
+    public Specification<Film> matching(String query) {
+        return textMatches(query);
+    }
+
+    @Override
+    public Specification<Film> rankedMatching(String query) {
+        return rankedTextMatches(query);
+    }
+
+    @Override
+    public void index(Film film) {
+        // expression index is updated by the database
+    }
+
+    @Override
+    public void remove(Long filmId) {
+        // expression index is updated by the database
+    }
+}
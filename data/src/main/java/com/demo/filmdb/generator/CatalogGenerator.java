@@ -0,0 +1,192 @@
+package com.demo.filmdb.generator;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmSearchIndex;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes a {@link SyntheticCatalog} next to the existing rows. Generated films and people get consecutive ids reserved
+ * from the id sequences up front, after the largest existing ids and the id blocks running applications already hold.
+ * Chunks are generated and written in parallel, one transaction and one JDBC batch per statement and chunk. The
+ * statements are plain inserts of new rows, so H2 and Postgres are both supported.
+ * <p>
+ * People are written first, then films with their roles and directors. The second-level cache is cleared at the end,
+ * since rows are written past Hibernate. Generated films and people are added to the search indexes.
+ */
+@Service
+public class CatalogGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+
+    private static final String INSERT_FILM = "INSERT INTO film (id, title, release_date) VALUES (?, ?, ?)";
+    private static final String INSERT_PERSON = "INSERT INTO person (id, name, date_of_birth) VALUES (?, ?, ?)";
+    /**
+     * Character column isn't named, its quoting differs between H2 and Postgres
+     */
+    private static final String INSERT_ROLE = "INSERT INTO role VALUES (?, ?, ?)";
+    private static final String INSERT_DIRECTOR = "INSERT INTO film_person_directed (film_id, person_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final FilmSearchIndex filmSearchIndex;
+    private final PersonSearchIndex personSearchIndex;
+    private final SequenceSupport sequenceSupport;
+
+    public CatalogGenerator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManagerFactory entityManagerFactory,
+            FilmSearchIndex filmSearchIndex,
+            PersonSearchIndex personSearchIndex
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.filmSearchIndex = filmSearchIndex;
+        this.personSearchIndex = personSearchIndex;
+        this.sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport();
+    }
+
+    /**
+     * Generates and writes a catalog
+     *
+     * @param properties catalog settings
+     * @return ids and sizes of the written catalog
+     * @throws InterruptedException if generating was interrupted while waiting for chunks
+     */
+    public GeneratedCatalog generate(CatalogGeneratorProperties properties) throws InterruptedException {
+        SyntheticCatalog catalog = new SyntheticCatalog(properties);
+        long firstFilmId = reserveIds("film_seq", "film", catalog.films());
+        long firstPersonId = reserveIds("person_seq", "person", catalog.people());
+        long start = System.nanoTime();
+
+        writeChunks(properties, catalog.people(), (from, to) -> writePeople(catalog, firstPersonId, from, to));
+        AtomicLong roles = new AtomicLong();
+        writeChunks(properties, catalog.films(), (from, to) ->
+                roles.addAndGet(writeFilms(catalog, firstFilmId, firstPersonId, from, to)));
+
+        entityManagerFactory.getCache().evictAll();
+        log.info("Generated {} films, {} people and {} roles with seed {} in {} ms", catalog.films(), catalog.people(),
+                roles.get(), properties.seed(), (System.nanoTime() - start) / 1_000_000);
+        return new GeneratedCatalog(firstFilmId, catalog.films(), firstPersonId, catalog.people(), roles.get());
+    }
+
+    private void writePeople(SyntheticCatalog catalog, long firstPersonId, int from, int to) {
+        List<Object[]> people = new ArrayList<>(to - from);
+        List<Person> indexed = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            SyntheticCatalog.PersonRow person = catalog.person(i);
+            long id = firstPersonId + i;
+            Date dateOfBirth = person.dateOfBirth() == null ? null : Date.valueOf(person.dateOfBirth());
+            people.add(new Object[]{id, person.name(), dateOfBirth});
+            indexed.add(new Person(id, person.name(), person.dateOfBirth()));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_PERSON, people);
+            indexed.forEach(personSearchIndex::index);
+        });
+    }
+
+    private long writeFilms(SyntheticCatalog catalog, long firstFilmId, long firstPersonId, int from, int to) {
+        List<Object[]> films = new ArrayList<>(to - from);
+        List<Object[]> roles = new ArrayList<>();
+        List<Object[]> directors = new ArrayList<>();
+        List<Film> indexed = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            SyntheticCatalog.FilmRow film = catalog.film(i);
+            long filmId = firstFilmId + i;
+            films.add(new Object[]{filmId, film.title(), Date.valueOf(film.releaseDate())});
+            for (SyntheticCatalog.RoleRow role : film.cast()) {
+                long personId = firstPersonId + role.person();
+                roles.add(new Object[]{filmId, personId, role.character()});
+            }
+            for (int director : film.directors()) {
+                long personId = firstPersonId + director;
+                directors.add(new Object[]{filmId, personId});
+            }
+            indexed.add(new Film(filmId, film.title(), film.releaseDate(), null));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_FILM, films);
+            jdbcTemplate.batchUpdate(INSERT_ROLE, roles);
+            jdbcTemplate.batchUpdate(INSERT_DIRECTOR, directors);
+            indexed.forEach(filmSearchIndex::index);
+        });
+        return roles.size();
+    }
+
+    /**
+     * Runs the writer for chunks of {@code count} indexes on {@link CatalogGeneratorProperties#threads()} threads and
+     * rethrows the first failure
+     */
+    private static void writeChunks(CatalogGeneratorProperties properties, int count, ChunkWriter writer)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.threads());
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < count; from += properties.chunkSize()) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(from + properties.chunkSize(), count);
+                chunks.add(executor.submit(() -> writer.write(chunkFrom, chunkTo)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reserves consecutive ids for generated rows. The next sequence value is past every id block handed out before,
+     * since Hibernate uses a value as the lower bound of a block of allocation size ids. The ids start at that value or
+     * after the largest id, whichever is greater, and the sequence is moved past them, so entities saved afterward
+     * don't collide with generated rows. A block handed out between the two statements may still overlap, so catalogs
+     * shouldn't be generated while entities are saved.
+     *
+     * @param sequence id sequence of the {@code table}
+     * @param table    table the ids are reserved in
+     * @param count    number of ids to reserve
+     * @return first reserved id
+     */
+    private long reserveIds(String sequence, String table, int count) {
+        Long nextValue = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM " + table, Long.class);
+        long firstId = Math.max(nextValue, maxId + 1);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (firstId + count));
+        return firstId;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+
+        void write(int from, int to);
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.filmdb.generator;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of a generated catalog. The same settings always generate the same films, people and roles.
+ *
+ * @param films         number of films
+ * @param peoplePerFilm number of people per film, the production catalog has about 3
+ * @param seed          seed of the generated values
+ * @param maxCastSize   largest cast of a film. Cast sizes follow a Zipf distribution, with the default of 100 a film
+ *                      has about 16 roles on average.
+ * @param chunkSize     number of films or people generated and written in one transaction
+ * @param threads       number of chunks written in parallel
+ */
+@ConfigurationProperties("filmdb.generator")
+public record CatalogGeneratorProperties(
+        @DefaultValue("1000") int films,
+        @DefaultValue("3") int peoplePerFilm,
+        @DefaultValue("42") long seed,
+        @DefaultValue("100") int maxCastSize,
+        @DefaultValue("10000") int chunkSize,
+        @DefaultValue("4") int threads
+) {
+
+    public CatalogGeneratorProperties {
+        if (films < 1 || peoplePerFilm < 1 || maxCastSize < 1 || chunkSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("Catalog generator settings must be positive");
+        }
+    }
+
+    /**
+     * Settings with the default shape and write parallelism
+     *
+     * @param films number of films
+     * @param seed  seed of the generated values
+     * @return the settings
+     */
+    public static CatalogGeneratorProperties of(int films, long seed) {
+        return new CatalogGeneratorProperties(films, 3, seed, 100, 10_000, 4);
+    }
+
+    public int people() {
+        return Math.multiplyExact(films, peoplePerFilm);
+    }
+}
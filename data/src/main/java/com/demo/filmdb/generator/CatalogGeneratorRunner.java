@@ -0,0 +1,31 @@
+package com.demo.filmdb.generator;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the {@link CatalogGenerator} on startup with the {@code generate-catalog} profile. The application doesn't
+ * serve requests in this mode and exits when the catalog is written, e.g.
+ * {@code ./gradlew bootRun --args='--spring.profiles.active=postgres,generate-catalog --filmdb.generator.films=2000000'}
+ */
+@Component
+@Profile("generate-catalog")
+@EnableConfigurationProperties(CatalogGeneratorProperties.class)
+public class CatalogGeneratorRunner implements ApplicationRunner {
+
+    private final CatalogGenerator generator;
+    private final CatalogGeneratorProperties properties;
+
+    public CatalogGeneratorRunner(CatalogGenerator generator, CatalogGeneratorProperties properties) {
+        this.generator = generator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generator.generate(properties);
+    }
+}
@@ -0,0 +1,22 @@
+package com.demo.filmdb.generator;
+
+/**
+ * Ids and sizes of a catalog written by the {@link CatalogGenerator}. Generated films and people have consecutive ids,
+ * the film or person of index {@code i} in the {@link SyntheticCatalog} has id {@code first + i}.
+ *
+ * @param firstFilmId   id of the first generated film
+ * @param films         number of generated films
+ * @param firstPersonId id of the first generated person
+ * @param people        number of generated people
+ * @param roles         number of generated roles
+ */
+public record GeneratedCatalog(long firstFilmId, int films, long firstPersonId, int people, long roles) {
+
+    public long filmId(int index) {
+        return firstFilmId + index;
+    }
+
+    public long personId(int index) {
+        return firstPersonId + index;
+    }
+}
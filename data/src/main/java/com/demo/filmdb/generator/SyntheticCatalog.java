@@ -0,0 +1,221 @@
+package com.demo.filmdb.generator;
+
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic catalog of films and people with production-like distributions. Every film and person is generated
+ * from the seed and its index alone, so any part of the catalog can be generated on its own, in any order and in
+ * parallel, always with the same result.
+ * <ul>
+ *     <li>Cast sizes follow a Zipf distribution: many films have a handful of roles, a few have up to
+ *     {@link CatalogGeneratorProperties#maxCastSize()}</li>
+ *     <li>Actors and directors are picked by a Zipf distribution of popularity, so some people play in thousands of
+ *     films while most play in a few. Popular people are spread over the whole id range.</li>
+ *     <li>Most films have one director, some have two or three</li>
+ *     <li>Titles and names are built from small vocabularies whose words are also Zipf distributed, so searches match
+ *     anything from a few films to a large part of the catalog</li>
+ *     <li>Release dates lean towards recent years, some people have no date of birth</li>
+ * </ul>
+ */
+public final class SyntheticCatalog {
+
+    private static final double CAST_SIZE_EXPONENT = 1.1;
+    private static final double POPULARITY_EXPONENT = 0.5;
+    private static final double WORD_EXPONENT = 1.0;
+    private static final long FILM_SALT = 0x5DEECE66DL;
+    private static final long PERSON_SALT = 0xB5AD4ECEDA1CE2A9L;
+    private static final LocalDate FIRST_RELEASE_DATE = LocalDate.of(1920, 1, 1);
+    private static final int RELEASE_DAYS = (int) ChronoUnit.DAYS.between(FIRST_RELEASE_DATE, LocalDate.of(2025, 1, 1));
+    private static final LocalDate FIRST_DATE_OF_BIRTH = LocalDate.of(1900, 1, 1);
+    private static final int BIRTH_DAYS = (int) ChronoUnit.DAYS.between(FIRST_DATE_OF_BIRTH, LocalDate.of(2006, 1, 1));
+
+    private static final Vocabulary ADJECTIVES = new Vocabulary(
+            "Last", "Dark", "Silent", "Lost", "Red", "Long", "Broken", "Golden", "Hidden", "Wild", "Little", "Final",
+            "Cold", "Secret", "Black", "Endless", "Bright", "Savage", "Quiet", "Burning", "Frozen", "Sweet", "Empty",
+            "Electric", "Forgotten", "Crimson", "Distant", "Hollow", "Iron", "Midnight", "Perfect", "Restless",
+            "Scarlet", "Shattered", "Stolen", "Twisted", "Wicked", "Velvet", "Wandering", "Fading");
+    private static final Vocabulary NOUNS = new Vocabulary(
+            "Night", "City", "Road", "House", "River", "Heart", "Storm", "Kingdom", "Summer", "Shadow", "Island",
+            "Empire", "Garden", "Game", "Mountain", "Star", "War", "Dream", "Light", "Ocean", "Winter", "Harbor",
+            "Machine", "Station", "Train", "Circus", "Desert", "Forest", "Hunter", "Witness", "Stranger", "Mirror",
+            "Bridge", "Crown", "Dragon", "Echo", "Fortune", "Horizon", "Legacy", "Moon", "Orchard", "Prophecy",
+            "Rebel", "Signal", "Thunder", "Valley", "Voyage", "Wolf", "Frontier", "Paradise");
+    private static final Vocabulary FIRST_NAMES = new Vocabulary(
+            "James", "Mary", "John", "Anna", "Robert", "Emma", "Michael", "Olivia", "William", "Sophia", "David",
+            "Isabella", "Richard", "Mia", "Joseph", "Charlotte", "Thomas", "Amelia", "Daniel", "Harper", "Paul", "Ella",
+            "Mark", "Grace", "George", "Chloe", "Steven", "Lucy", "Andrew", "Nora", "Peter", "Alice", "Jack", "Hannah",
+            "Luca", "Yuki", "Mateo", "Ingrid", "Omar", "Priya", "Kenji", "Zofia", "Diego", "Amara", "Sven", "Leila",
+            "Tomas", "Freya", "Ivan", "Elena");
+    private static final Vocabulary LAST_NAMES = new Vocabulary(
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Garcia", "Wilson", "Anderson",
+            "Taylor", "Thomas", "Moore", "Martin", "Jackson", "White", "Harris", "Clark", "Lewis", "Walker", "Young",
+            "Allen", "King", "Wright", "Scott", "Green", "Baker", "Adams", "Nelson", "Hill", "Rossi", "Tanaka",
+            "Novak", "Kowalski", "Petrov", "Larsen", "Dubois", "Schmidt", "Silva", "Okafor", "Nakamura", "Haddad",
+            "Lindqvist", "Moreau", "Costa", "Ivanova", "Fischer", "Romano", "Sato", "Kim");
+    private static final String[] SEQUELS = {"II", "III", "IV", "Returns", "Reloaded"};
+
+    private final long seed;
+    private final int films;
+    private final int people;
+    private final ZipfDistribution castSizes;
+    private final ZipfDistribution popularity;
+    private final long popularityMultiplier;
+
+    public SyntheticCatalog(CatalogGeneratorProperties properties) {
+        this.seed = properties.seed();
+        this.films = properties.films();
+        this.people = properties.people();
+        this.castSizes = new ZipfDistribution(properties.maxCastSize(), CAST_SIZE_EXPONENT);
+        this.popularity = new ZipfDistribution(people, POPULARITY_EXPONENT);
+        this.popularityMultiplier = coprimeMultiplier(people);
+    }
+
+    public int films() {
+        return films;
+    }
+
+    public int people() {
+        return people;
+    }
+
+    /**
+     * @param index from {@code 0} to {@link #films()} exclusive
+     * @return the film of the index
+     */
+    public FilmRow film(int index) {
+        SplittableRandom random = random(index, FILM_SALT);
+        String title = title(random);
+        LocalDate releaseDate = FIRST_RELEASE_DATE.plusDays(
+                Math.max(random.nextInt(RELEASE_DAYS), random.nextInt(RELEASE_DAYS)));
+        double directorsDraw = random.nextDouble();
+        int directorsCount = directorsDraw < 0.85 ? 1 : directorsDraw < 0.97 ? 2 : 3;
+        List<Integer> directors = distinctPeople(random, directorsCount);
+        List<Integer> actors = distinctPeople(random, (int) castSizes.sample(random));
+        List<RoleRow> cast = new ArrayList<>(actors.size());
+        for (int personIndex : actors) {
+            cast.add(new RoleRow(personIndex, character(random)));
+        }
+        return new FilmRow(title, releaseDate, directors, cast);
+    }
+
+    /**
+     * @param index from {@code 0} to {@link #people()} exclusive
+     * @return the person of the index
+     */
+    public PersonRow person(int index) {
+        SplittableRandom random = random(index, PERSON_SALT);
+        String name = name(random);
+        if (random.nextDouble() < 0.15) {
+            return new PersonRow(name, null);
+        }
+        return new PersonRow(name, FIRST_DATE_OF_BIRTH.plusDays(random.nextInt(BIRTH_DAYS)));
+    }
+
+    private SplittableRandom random(int index, long salt) {
+        return new SplittableRandom(seed ^ salt ^ (index * 0x9E3779B97F4A7C15L));
+    }
+
+    private static String title(SplittableRandom random) {
+        String title = switch (random.nextInt(4)) {
+            case 0 -> "The " + ADJECTIVES.next(random) + " " + NOUNS.next(random);
+            case 1 -> NOUNS.next(random) + " of the " + NOUNS.next(random);
+            case 2 -> ADJECTIVES.next(random) + " " + NOUNS.next(random);
+            default -> "The " + NOUNS.next(random);
+        };
+        return random.nextDouble() < 0.1 ? title + " " + SEQUELS[random.nextInt(SEQUELS.length)] : title;
+    }
+
+    private static String name(SplittableRandom random) {
+        String firstName = FIRST_NAMES.next(random);
+        String lastName = LAST_NAMES.next(random);
+        if (random.nextDouble() < 0.2) {
+            return firstName + " " + (char) ('A' + random.nextInt(26)) + ". " + lastName;
+        }
+        return firstName + " " + lastName;
+    }
+
+    private static String character(SplittableRandom random) {
+        double draw = random.nextDouble();
+        if (draw < 0.05) {
+            return "Himself";
+        } else if (draw < 0.5) {
+            return FIRST_NAMES.next(random);
+        }
+        return FIRST_NAMES.next(random) + " " + LAST_NAMES.next(random);
+    }
+
+    /**
+     * Picks distinct people by popularity. Popularity ranks are mapped to person indexes by multiplying with a number
+     * coprime to the number of people, which is a permutation of the indexes.
+     */
+    private List<Integer> distinctPeople(SplittableRandom random, int count) {
+        int limit = Math.min(count, people);
+        Set<Integer> picked = new LinkedHashSet<>(limit * 2);
+        while (picked.size() < limit) {
+            long rank = popularity.sample(random) - 1;
+            picked.add((int) (rank * popularityMultiplier % people));
+        }
+        return List.copyOf(picked);
+    }
+
+    private static long coprimeMultiplier(int n) {
+        long multiplier = 2_654_435_761L % n;
+        while (multiplier == 0 || gcd(multiplier, n) != 1) {
+            multiplier++;
+        }
+        return multiplier;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * @param title       film title
+     * @param releaseDate film release date
+     * @param directors   indexes of the people directing the film
+     * @param cast        roles of the film, each played by a different person
+     */
+    public record FilmRow(String title, LocalDate releaseDate, List<Integer> directors, List<RoleRow> cast) {
+    }
+
+    /**
+     * @param name        person name
+     * @param dateOfBirth person date of birth, null if unknown
+     */
+    public record PersonRow(String name, @Nullable LocalDate dateOfBirth) {
+    }
+
+    /**
+     * @param person    index of the person playing the role
+     * @param character character name
+     */
+    public record RoleRow(int person, String character) {
+    }
+
+    /**
+     * Words picked by a Zipf distribution, the first word is the most frequent
+     */
+    private static final class Vocabulary {
+
+        private final String[] words;
+        private final ZipfDistribution distribution;
+
+        Vocabulary(String... words) {
+            this.words = words;
+            this.distribution = new ZipfDistribution(words.length, WORD_EXPONENT);
+        }
+
+        String next(SplittableRandom random) {
+            return words[(int) distribution.sample(random) - 1];
+        }
+    }
+}
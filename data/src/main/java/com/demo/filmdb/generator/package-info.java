@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.generator;
+
+import org.springframework.lang.NonNullApi;
@@ -0,0 +1,47 @@
+package com.demo.filmdb.imdb;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("!postgres")
+public class H2ImdbUpsertStatements implements ImdbUpsertStatements {
+
+    /**
+     * Looks up the ids of the film and person of the {@code s} parameters
+     */
+    private static final String BOTH_IDS = " JOIN film f ON f.imdb_id = s.film_imdb_id" +
+            " JOIN person p ON p.imdb_id = s.person_imdb_id";
+
+    @Override
+    public String film() {
+        return "MERGE INTO film USING (SELECT CAST(? AS VARCHAR(12)) imdb_id, CAST(? AS VARCHAR(255)) title," +
+                " CAST(? AS DATE) release_date) s ON film.imdb_id = s.imdb_id" +
+                " WHEN MATCHED THEN UPDATE SET title = s.title, release_date = s.release_date, version = version + 1" +
+                " WHEN NOT MATCHED THEN INSERT (imdb_id, title, release_date)" +
+                " VALUES (s.imdb_id, s.title, s.release_date)";
+    }
+
+    @Override
+    public String person() {
+        return "MERGE INTO person USING (SELECT CAST(? AS VARCHAR(12)) imdb_id, CAST(? AS VARCHAR(255)) name," +
+                " CAST(? AS DATE) date_of_birth) s ON person.imdb_id = s.imdb_id" +
+                " WHEN MATCHED THEN UPDATE SET name = s.name, date_of_birth = s.date_of_birth, version = version + 1" +
+                " WHEN NOT MATCHED THEN INSERT (imdb_id, name, date_of_birth)" +
+                " VALUES (s.imdb_id, s.name, s.date_of_birth)";
+    }
+
+    @Override
+    public String role() {
+        return "MERGE INTO role (film_id, person_id, \"CHARACTER\") KEY (film_id, person_id)" +
+                " SELECT f.id, p.id, s.character_name FROM (SELECT CAST(? AS VARCHAR(12)) film_imdb_id," +
+                " CAST(? AS VARCHAR(12)) person_imdb_id, CAST(? AS VARCHAR(255)) character_name) s" + BOTH_IDS;
+    }
+
+    @Override
+    public String director() {
+        return "MERGE INTO film_person_directed (film_id, person_id) KEY (film_id, person_id)" +
+                " SELECT f.id, p.id FROM (SELECT CAST(? AS VARCHAR(12)) film_imdb_id," +
+                " CAST(? AS VARCHAR(12)) person_imdb_id) s" + BOTH_IDS;
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.filmdb.imdb;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Number of imported rows of every file, stored in a properties file. A row count is only advanced when all rows before
+ * it are written, so chunks finishing out of order never make a resumed import skip rows.
+ */
+class ImdbCheckpoint {
+
+    private final Path file;
+    private final Properties rows = new Properties();
+    /**
+     * Completed chunks beyond the current row count, start row to end row
+     */
+    private final TreeMap<Long, Long> pendingChunks = new TreeMap<>();
+
+    ImdbCheckpoint(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                rows.load(reader);
+            }
+        }
+    }
+
+    synchronized long importedRows(String fileName) {
+        return Long.parseLong(rows.getProperty(fileName, "0"));
+    }
+
+    /**
+     * Records a written chunk and saves the checkpoint if the imported row count advanced
+     *
+     * @param fileName imported file name
+     * @param startRow first row of the chunk
+     * @param endRow   row after the last row of the chunk
+     */
+    synchronized void chunkWritten(String fileName, long startRow, long endRow) {
+        pendingChunks.put(startRow, endRow);
+        long imported = importedRows(fileName);
+        Long next;
+        while ((next = pendingChunks.remove(imported)) != null) {
+            imported = next;
+        }
+        if (imported != importedRows(fileName)) {
+            rows.setProperty(fileName, Long.toString(imported));
+            save();
+        }
+    }
+
+    /**
+     * Marks a file as imported completely
+     *
+     * @param fileName imported file name
+     * @param rowCount number of rows in the file
+     */
+    synchronized void fileImported(String fileName, long rowCount) {
+        pendingChunks.clear();
+        rows.setProperty(fileName, Long.toString(rowCount));
+        save();
+    }
+
+    private void save() {
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                rows.store(writer, "FilmDB IMDb import");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save import checkpoint " + file, e);
+        }
+    }
+}
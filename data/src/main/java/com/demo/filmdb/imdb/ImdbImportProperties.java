@@ -0,0 +1,33 @@
+package com.demo.filmdb.imdb;
+
+import jakarta.annotation.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Settings of an IMDb dataset import
+ *
+ * @param directory  directory with {@code name.basics.tsv}, {@code title.basics.tsv} and {@code title.principals.tsv},
+ *                   each may be gzip compressed with a {@code .gz} suffix
+ * @param chunkSize  number of rows parsed and written in one transaction
+ * @param threads    number of chunks processed in parallel
+ * @param checkpoint file that records imported rows so an interrupted import can be resumed. Defaults to
+ *                   {@code .filmdb-import} in the {@code directory}.
+ * @param titleTypes IMDb title types imported as films
+ */
+@ConfigurationProperties("filmdb.imdb")
+public record ImdbImportProperties(
+        Path directory,
+        @DefaultValue("10000") int chunkSize,
+        @DefaultValue("4") int threads,
+        @Nullable Path checkpoint,
+        @DefaultValue({"movie", "tvMovie"}) Set<String> titleTypes
+) {
+
+    public Path checkpointFile() {
+        return checkpoint != null ? checkpoint : directory.resolve(".filmdb-import");
+    }
+}
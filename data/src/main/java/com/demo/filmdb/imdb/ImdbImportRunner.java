@@ -0,0 +1,34 @@
+package com.demo.filmdb.imdb;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs the {@link ImdbImporter} on startup with the {@code imdb-import} profile. The application doesn't serve requests
+ * in this mode and exits when the import is done, e.g.
+ * {@code ./gradlew bootRun --args='--spring.profiles.active=postgres,imdb-import --filmdb.imdb.directory=/dumps'}
+ */
+@Component
+@Profile("imdb-import")
+@EnableConfigurationProperties(ImdbImportProperties.class)
+public class ImdbImportRunner implements ApplicationRunner {
+
+    private final ImdbImporter importer;
+    private final ImdbImportProperties properties;
+
+    public ImdbImportRunner(ImdbImporter importer, ImdbImportProperties properties) {
+        this.importer = importer;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        requireNonNull(properties.directory(), "filmdb.imdb.directory must be set");
+        importer.importAll(properties);
+    }
+}
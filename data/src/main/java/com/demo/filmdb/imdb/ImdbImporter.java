@@ -0,0 +1,273 @@
+package com.demo.filmdb.imdb;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads IMDb dataset dumps into the catalog. Files are streamed and cut into chunks that are parsed and written in
+ * parallel, one transaction and one JDBC batch per statement and chunk. Only a bounded number of chunks is held in
+ * memory, so file size doesn't matter. Progress is saved in an {@link ImdbCheckpoint}, and an interrupted import
+ * continues from the last row written by all preceding chunks. Malformed rows are skipped and counted.
+ * <p>
+ * People are loaded first, then films, then roles and directors from the principals. New films and people get their
+ * ids from the id sequences, so they never collide with existing rows or ids held by running applications. The
+ * second-level cache is cleared at the end, since rows are written past Hibernate. The in-memory search indexes are
+ * filled on the next application start.
+ */
+@Service
+public class ImdbImporter {
+
+    public static final String NAMES_FILE = "name.basics.tsv";
+    public static final String TITLES_FILE = "title.basics.tsv";
+    public static final String PRINCIPALS_FILE = "title.principals.tsv";
+
+    private static final Logger log = LoggerFactory.getLogger(ImdbImporter.class);
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImdbUpsertStatements statements;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ImdbImporter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ImdbUpsertStatements statements,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.statements = statements;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Imports all files of the dataset
+     *
+     * @param properties import settings
+     * @throws IOException if a file could not be read or the checkpoint could not be loaded
+     * @throws InterruptedException if the import was interrupted while waiting for chunks
+     */
+    public void importAll(ImdbImportProperties properties) throws IOException, InterruptedException {
+        ImdbCheckpoint checkpoint = new ImdbCheckpoint(properties.checkpointFile());
+        importFile(properties, checkpoint, NAMES_FILE, List.of(
+                new Target(statements.person(), ImdbRows::person)));
+        importFile(properties, checkpoint, TITLES_FILE, List.of(
+                new Target(statements.film(), line -> ImdbRows.film(line, properties.titleTypes()))));
+        importFile(properties, checkpoint, PRINCIPALS_FILE, List.of(
+                new Target(statements.role(), ImdbRows::role),
+                new Target(statements.director(), ImdbRows::director)));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private void importFile(ImdbImportProperties properties, ImdbCheckpoint checkpoint, String fileName, List<Target> targets)
+            throws IOException, InterruptedException {
+        Path file = resolve(properties.directory(), fileName);
+        long skipped = checkpoint.importedRows(fileName);
+        FileImport fileImport = new FileImport(fileName, targets, checkpoint, properties.threads(), skipped);
+        long row = 0;
+        try (BufferedReader reader = open(file)) {
+            reader.readLine(); // header
+            while (row < skipped && reader.readLine() != null) {
+                row++;
+            }
+            List<String> chunk = new ArrayList<>(properties.chunkSize());
+            String line;
+            while (!fileImport.failed() && (line = reader.readLine()) != null) {
+                chunk.add(line);
+                row++;
+                if (chunk.size() == properties.chunkSize()) {
+                    fileImport.submit(chunk, row);
+                    chunk = new ArrayList<>(properties.chunkSize());
+                }
+            }
+            if (!chunk.isEmpty() && !fileImport.failed()) {
+                fileImport.submit(chunk, row);
+            }
+        } finally {
+            fileImport.awaitChunks();
+        }
+        checkpoint.fileImported(fileName, row);
+        fileImport.progress.finished();
+    }
+
+    /**
+     * @return number of malformed rows skipped
+     */
+    private int writeChunk(List<String> lines, List<Target> targets) {
+        int malformed = 0;
+        List<List<Object[]>> batches = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            List<Object[]> batch = new ArrayList<>();
+            for (String line : lines) {
+                try {
+                    Object[] parameters = target.mapper().apply(line);
+                    if (parameters != null) {
+                        batch.add(parameters);
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.debug("Skipping malformed row: {}", e.getMessage());
+                    malformed++;
+                }
+            }
+            batches.add(batch);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < targets.size(); i++) {
+                if (!batches.get(i).isEmpty()) {
+                    jdbcTemplate.batchUpdate(targets.get(i).sql(), batches.get(i));
+                }
+            }
+        });
+        return malformed;
+    }
+
+    private static Path resolve(Path directory, String fileName) throws FileNotFoundException {
+        Path file = directory.resolve(fileName);
+        if (Files.exists(file)) {
+            return file;
+        }
+        Path compressed = directory.resolve(fileName + ".gz");
+        if (Files.exists(compressed)) {
+            return compressed;
+        }
+        throw new FileNotFoundException("Neither " + file + " nor " + compressed + " exists");
+    }
+
+    private static BufferedReader open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * Chunks of one file being written in parallel. At most two chunks per thread are held in memory.
+     */
+    private class FileImport {
+
+        private final String fileName;
+        private final List<Target> targets;
+        private final ImdbCheckpoint checkpoint;
+        private final Progress progress;
+        private final ExecutorService executor;
+        private final Semaphore chunksInMemory;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        FileImport(String fileName, List<Target> targets, ImdbCheckpoint checkpoint, int threads, long skipped) {
+            this.fileName = fileName;
+            this.targets = targets;
+            this.checkpoint = checkpoint;
+            this.progress = new Progress(fileName, skipped);
+            this.executor = Executors.newFixedThreadPool(threads);
+            this.chunksInMemory = new Semaphore(threads * 2);
+        }
+
+        /**
+         * Writes the chunk in a worker thread. Blocks while too many chunks are in memory.
+         *
+         * @param lines  rows of the chunk
+         * @param endRow row after the last row of the chunk
+         */
+        void submit(List<String> lines, long endRow) throws InterruptedException {
+            chunksInMemory.acquire();
+            executor.execute(() -> {
+                try {
+                    int malformed = writeChunk(lines, targets);
+                    checkpoint.chunkWritten(fileName, endRow - lines.size(), endRow);
+                    progress.rowsWritten(lines.size(), malformed);
+                } catch (Throwable e) {
+                    // the executor would only log it, and the chunk would be lost without the import failing
+                    failure.compareAndSet(null, e);
+                } finally {
+                    chunksInMemory.release();
+                }
+            });
+        }
+
+        boolean failed() {
+            return failure.get() != null;
+        }
+
+        /**
+         * Waits for the submitted chunks and rethrows the first failure
+         *
+         * @throws IllegalStateException caused by the first failure of a chunk
+         */
+        void awaitChunks() throws InterruptedException {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            if (failed()) {
+                throw new IllegalStateException("Import of " + fileName + " failed", failure.get());
+            }
+        }
+    }
+
+    /**
+     * Statement and the mapping of a file row to its parameters, null when the row must be skipped. The mapping
+     * throws an {@link IllegalArgumentException} for malformed rows.
+     */
+    private record Target(String sql, Function<String, Object[]> mapper) {
+    }
+
+    /**
+     * Logs rows written and rows per second at most every {@link #PROGRESS_INTERVAL_NANOS}
+     */
+    private static class Progress {
+
+        private final String fileName;
+        private final long start = System.nanoTime();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong malformed = new AtomicLong();
+        private final AtomicLong lastLog = new AtomicLong(start);
+        private final long skipped;
+
+        Progress(String fileName, long skipped) {
+            this.fileName = fileName;
+            this.skipped = skipped;
+            if (skipped > 0) {
+                log.info("{}: resuming after {} rows", fileName, skipped);
+            }
+        }
+
+        void rowsWritten(int count, int malformedCount) {
+            malformed.addAndGet(malformedCount);
+            long total = rows.addAndGet(count);
+            long now = System.nanoTime();
+            long last = lastLog.get();
+            if (now - last >= PROGRESS_INTERVAL_NANOS && lastLog.compareAndSet(last, now)) {
+                log.info("{}: {} rows, {} rows/s", fileName, skipped + total, rowsPerSecond(total, now));
+            }
+        }
+
+        void finished() {
+            long total = rows.get();
+            log.info("{}: imported {} rows, {} rows/s", fileName, skipped + total, rowsPerSecond(total, System.nanoTime()));
+            if (malformed.get() > 0) {
+                log.warn("{}: skipped {} malformed rows", fileName, malformed.get());
+            }
+        }
+
+        private long rowsPerSecond(long total, long now) {
+            long elapsed = Math.max(now - start, 1);
+            return total * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        }
+    }
+}
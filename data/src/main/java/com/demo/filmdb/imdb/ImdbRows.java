@@ -0,0 +1,160 @@
+package com.demo.filmdb.imdb;
+
+import jakarta.annotation.Nullable;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Maps rows of the IMDb TSV files onto statement parameters of {@link ImdbUpsertStatements}. IMDb ids, e.g.
+ * {@code tt0000001}, are kept as they are and identify imported films and people, so a refresh updates rows in place.
+ * Years are mapped to the 1st of January.
+ * <p>
+ * Rows that aren't imported, e.g. titles of other types, are mapped to null. Malformed rows are rejected with an
+ * {@link IllegalArgumentException}.
+ */
+public final class ImdbRows {
+
+    static final String NULL = "\\N";
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    /**
+     * Two letter prefix and up to 10 digits, fits the {@code imdb_id} columns
+     */
+    private static final Pattern IMDB_ID = Pattern.compile("[a-z]{2}\\d{1,10}");
+
+    private ImdbRows() {
+    }
+
+    /**
+     * Maps a {@code title.basics.tsv} row: {@code tconst, titleType, primaryTitle, originalTitle, isAdult, startYear,
+     * ...}
+     *
+     * @param line       row to map
+     * @param titleTypes title types to import
+     * @return film parameters or null if the row must be skipped
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    @Nullable
+    public static Object[] film(String line, Set<String> titleTypes) {
+        String[] columns = line.split("\t", -1);
+        if (columns.length < 6 || !titleTypes.contains(columns[1])) {
+            return null;
+        }
+        LocalDate releaseDate = yearStart(columns[5]);
+        if (releaseDate == null || isBlank(columns[2])) {
+            return null;
+        }
+        return new Object[]{imdbId(columns[0]), truncate(columns[2]), releaseDate};
+    }
+
+    /**
+     * Maps a {@code name.basics.tsv} row: {@code nconst, primaryName, birthYear, ...}
+     *
+     * @param line row to map
+     * @return person parameters or null if the row must be skipped
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    @Nullable
+    public static Object[] person(String line) {
+        String[] columns = line.split("\t", -1);
+        if (columns.length < 3 || isBlank(columns[1])) {
+            return null;
+        }
+        return new Object[]{imdbId(columns[0]), truncate(columns[1]), yearStart(columns[2])};
+    }
+
+    /**
+     * Maps an actor, actress or self {@code title.principals.tsv} row: {@code tconst, ordering, nconst, category,
+     * job, characters}
+     *
+     * @param line row to map
+     * @return role parameters or null if the row isn't a role
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    @Nullable
+    public static Object[] role(String line) {
+        String[] columns = line.split("\t", -1);
+        if (columns.length < 6 || !isActing(columns[3])) {
+            return null;
+        }
+        String character = characters(columns[5]);
+        if (character == null) {
+            return null;
+        }
+        return new Object[]{imdbId(columns[0]), imdbId(columns[2]), character};
+    }
+
+    /**
+     * Maps a director {@code title.principals.tsv} row
+     *
+     * @param line row to map
+     * @return director parameters or null if the row isn't a director
+     * @throws IllegalArgumentException if the row is malformed
+     */
+    @Nullable
+    public static Object[] director(String line) {
+        String[] columns = line.split("\t", -1);
+        if (columns.length < 4 || !columns[3].equals("director")) {
+            return null;
+        }
+        return new Object[]{imdbId(columns[0]), imdbId(columns[2])};
+    }
+
+    /**
+     * Joins a JSON array of characters, e.g. {@code ["Self","Narrator"]} becomes {@code Self, Narrator}
+     */
+    @Nullable
+    static String characters(String column) {
+        if (column.equals(NULL)) {
+            return null;
+        }
+        String characters = column;
+        if (characters.startsWith("[") && characters.endsWith("]")) {
+            characters = characters.substring(1, characters.length() - 1);
+        }
+        characters = String.join(", ", characters.split("\",\""))
+                .replace("\"", "")
+                .replace("\\", "");
+        return isBlank(characters) ? null : truncate(characters);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the column isn't an IMDb id, two letters followed by digits
+     */
+    static String imdbId(String column) {
+        if (!IMDB_ID.matcher(column).matches()) {
+            throw new IllegalArgumentException("Malformed IMDb id '" + column + "'");
+        }
+        return column;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the column isn't a year
+     */
+    @Nullable
+    private static LocalDate yearStart(String year) {
+        if (year.equals(NULL)) {
+            return null;
+        }
+        try {
+            return LocalDate.of(Integer.parseInt(year), 1, 1);
+        } catch (DateTimeException e) { // year out of range, not numeric years throw NumberFormatException
+            throw new IllegalArgumentException("Malformed year '" + year + "'", e);
+        }
+    }
+
+    private static boolean isActing(String category) {
+        return category.equals("actor") || category.equals("actress") || category.equals("self");
+    }
+
+    private static boolean isBlank(String column) {
+        return column.isBlank() || column.equals(NULL);
+    }
+
+    private static String truncate(String text) {
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.filmdb.imdb;
+
+/**
+ * Database specific statements used by the {@link ImdbImporter}. Films and people are matched by their IMDb id in the
+ * {@code imdb_id} column, new ones get their id from the id sequence like entities saved through JPA. Every statement
+ * inserts a row or updates the existing one, so chunks written again after an interrupted import don't fail. Roles and
+ * directors are only written if both their film and person exist, because principals also list titles that aren't
+ * imported as films. Updating a film or a person increments its version, like an update through JPA does.
+ */
+public interface ImdbUpsertStatements {
+
+    /**
+     * @return statement with {@code imdb_id, title, release_date} parameters
+     */
+    String film();
+
+    /**
+     * @return statement with {@code imdb_id, name, date_of_birth} parameters
+     */
+    String person();
+
+    /**
+     * @return statement with {@code film imdb_id, person imdb_id, character} parameters
+     */
+    String role();
+
+    /**
+     * @return statement with {@code film imdb_id, person imdb_id} parameters
+     */
+    String director();
+}
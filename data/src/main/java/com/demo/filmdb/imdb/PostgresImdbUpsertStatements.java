@@ -0,0 +1,45 @@
+package com.demo.filmdb.imdb;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("postgres")
+public class PostgresImdbUpsertStatements implements ImdbUpsertStatements {
+
+    /**
+     * Looks up the ids of the film and person of the {@code s} parameters
+     */
+    private static final String BOTH_IDS = " JOIN film f ON f.imdb_id = s.film_imdb_id" +
+            " JOIN person p ON p.imdb_id = s.person_imdb_id";
+
+    @Override
+    public String film() {
+        return "INSERT INTO film (imdb_id, title, release_date) VALUES (?, ?, ?)" +
+                " ON CONFLICT (imdb_id) DO UPDATE SET title = excluded.title, release_date = excluded.release_date," +
+                " version = film.version + 1";
+    }
+
+    @Override
+    public String person() {
+        return "INSERT INTO person (imdb_id, name, date_of_birth) VALUES (?, ?, ?)" +
+                " ON CONFLICT (imdb_id) DO UPDATE SET name = excluded.name, date_of_birth = excluded.date_of_birth," +
+                " version = person.version + 1";
+    }
+
+    @Override
+    public String role() {
+        return "INSERT INTO role (film_id, person_id, \"character\")" +
+                " SELECT f.id, p.id, s.character_name FROM (SELECT CAST(? AS VARCHAR(12)) film_imdb_id," +
+                " CAST(? AS VARCHAR(12)) person_imdb_id, CAST(? AS VARCHAR(255)) character_name) s" + BOTH_IDS +
+                " ON CONFLICT (film_id, person_id) DO UPDATE SET \"character\" = excluded.\"character\"";
+    }
+
+    @Override
+    public String director() {
+        return "INSERT INTO film_person_directed (film_id, person_id)" +
+                " SELECT f.id, p.id FROM (SELECT CAST(? AS VARCHAR(12)) film_imdb_id," +
+                " CAST(? AS VARCHAR(12)) person_imdb_id) s" + BOTH_IDS +
+                " ON CONFLICT DO NOTHING";
+    }
+}
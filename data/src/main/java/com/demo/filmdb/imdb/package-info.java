@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.imdb;
+
+import org.springframework.lang.NonNullApi;
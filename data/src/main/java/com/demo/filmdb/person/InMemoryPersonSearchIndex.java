@@ -0,0 +1,45 @@
+package com.demo.filmdb.person;
+
+import com.demo.filmdb.search.InMemorySearchIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+@Profile("!postgres")
+public class InMemoryPersonSearchIndex extends InMemorySearchIndex implements PersonSearchIndex {
+
+    private final PersonRepository personRepository;
+
+    public InMemoryPersonSearchIndex(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        rebuild(personRepository.findAll().stream().collect(Collectors.toMap(Person::getId, Person::getName)));
+    }
+
+    @Override
+    public Specification<Person> matching(String query) {
+        return textMatches(query);
+    }
+
+    @Override
+    public Specification<Person> rankedMatching(String query) {
+        return rankedTextMatches(query);
+    }
+
+    @Override
+    public void index(Person person) {
+        put(person.getId(), person.getName());
+    }
+
+    @Override
+    public void remove(Long personId) {
+        delete(personId);
+    }
+}
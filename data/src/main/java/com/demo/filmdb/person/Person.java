@@ -1,25 +1,34 @@
 package com.demo.filmdb.person;
 
 import com.demo.filmdb.annotations.Sortable;
+import com.demo.filmdb.cache.CacheRegions;
+import com.demo.filmdb.entity.UuidKeyedEntity;
 import com.demo.filmdb.film.Film;
 import com.demo.filmdb.role.Role;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import static java.util.Objects.requireNonNull;
 
 @Entity
-public class Person {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON)
+public class Person extends UuidKeyedEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+    @SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
     @Sortable
     private Long id;
 
@@ -36,10 +45,18 @@ public class Person {
     @Sortable
     private LocalDate dateOfBirth;
 
+    /**
+     * Incremented by every update of the person, which makes it usable as a strong entity tag
+     */
+    @Version
+    private Long version;
+
     @ManyToMany(mappedBy = "directors")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_FILMS_DIRECTED)
     private final Set<Film> filmsDirected = new LinkedHashSet<>();
 
     @OneToMany(mappedBy = "person")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ROLES)
     private final Set<Role> roles = new LinkedHashSet<>();
 
     @SuppressWarnings("unused")
@@ -47,11 +64,20 @@ public class Person {
     }
 
     public Person(String name, @Nullable LocalDate dateOfBirth) {
+        super(UUID.randomUUID());
         this.name = name;
         this.dateOfBirth = dateOfBirth;
     }
 
+    /**
+     * Creates an instance standing for the stored person with the given id, for tests and tooling such as indexing rows
+     * written with JDBC. Instances created with the same id are equal, but they are never equal to the person loaded
+     * from the database, whose key is the random one stored with the row. Don't mix them in one set or map.
+     *
+     * @param id id of the stored person, must not be {@code null}
+     */
     public Person(Long id, String name, @Nullable LocalDate dateOfBirth) {
+        super(uuidFromId(id));
         this.id = id;
         this.name = name;
         this.dateOfBirth = dateOfBirth;
@@ -81,8 +107,11 @@ public class Person {
         filmsDirected.remove(film);
     }
 
+    /**
+     * Removes this person from the directors of all their films for the both sides of the association
+     */
     public void removeFilmsDirected() {
-        for (Film film : filmsDirected) {
+        for (Film film : List.copyOf(filmsDirected)) {
             film.removeDirector(this);
         }
     }
@@ -120,6 +149,10 @@ public class Person {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public String toString() {
         return "Person{" +
@@ -133,12 +166,11 @@ public class Person {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Person other)) return false;
-        return id != null
-                && id.equals(other.getId());
+        return getUuid().equals(other.getUuid());
     }
 
     @Override
     public int hashCode() {
-        return getClass().hashCode();
+        return getUuid().hashCode();
     }
 }
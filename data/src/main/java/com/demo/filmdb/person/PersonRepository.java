@@ -1,9 +1,90 @@
 package com.demo.filmdb.person;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person> {
-}
\ No newline at end of file
+
+    /**
+     * Finds a {@link Person} entity by id with the films they directed fetched in the same query
+     *
+     * @param personId must not be {@code null}
+     * @return the found entity or {@link Optional#empty} if none found
+     */
+    @EntityGraph(attributePaths = "filmsDirected")
+    Optional<Person> findWithFilmsDirectedById(Long personId);
+
+    /**
+     * Finds {@link Person} entities with the given ids with their directed films fetched in the same query
+     *
+     * @param personIds must not be {@code null}
+     * @return the found entities, may be empty but not null
+     */
+    @Query("select distinct p from Person p left join fetch p.filmsDirected where p.id in :personIds")
+    List<Person> findAllWithFilmsDirectedByIdIn(@Param("personIds") Collection<Long> personIds);
+
+    /**
+     * Finds the version of a {@link Person} without loading the entity
+     *
+     * @param personId must not be {@code null}
+     * @return the version or {@link Optional#empty} if none found
+     */
+    @Query("select p.version from Person p where p.id = :personId")
+    Optional<Long> findVersionById(@Param("personId") Long personId);
+
+    /**
+     * Deletes a {@link Person} with a single statement. The database deletes its roles and director associations
+     * through cascading foreign keys, which Hibernate doesn't evict from the second-level cache.
+     * The persistence context is flushed before and cleared after the deletion.
+     *
+     * @param personId must not be {@code null}
+     * @return the number of deleted entities, 0 if none found
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Person p where p.id = :personId")
+    int deletePersonById(@Param("personId") Long personId);
+
+    /**
+     * Deletes a {@link Person} at the given version with a single statement, like {@link #deletePersonById}
+     *
+     * @param personId must not be {@code null}
+     * @param version must not be {@code null}
+     * @return the number of deleted entities, 0 if none found at the given version
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Person p where p.id = :personId and p.version = :version")
+    int deletePersonByIdAndVersion(@Param("personId") Long personId, @Param("version") Long version);
+
+    /**
+     * Streams all {@link Person} entities.
+     * Rows are read from a server side cursor a thousand at a time. Must be called inside a
+     * transaction and the stream must be closed. Streamed entities are not put into the second-level cache.
+     *
+     * @return stream of all entities ordered by id
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select p from Person p order by p.id")
+    Stream<Person> streamAll();
+}
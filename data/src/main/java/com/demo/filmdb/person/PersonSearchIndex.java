@@ -0,0 +1,41 @@
+package com.demo.filmdb.person;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Full-text index of {@link Person} names
+ */
+public interface PersonSearchIndex {
+
+    /**
+     * Matches people whose name contains any of the {@code query} words or words starting with them, so the database
+     * can combine the match with other filters, sort, page and count
+     *
+     * @param query text to search, must not be null
+     * @return specification of the found people
+     */
+    Specification<Person> matching(String query);
+
+    /**
+     * Matches the same people as {@link #matching} and orders them by relevance, the most relevant first. Used by
+     * unsorted queries, a sort of the query replaces the relevance order.
+     *
+     * @param query text to search, must not be null
+     * @return specification of the found people, ordered by relevance
+     */
+    Specification<Person> rankedMatching(String query);
+
+    /**
+     * Adds a person to the index or updates it
+     *
+     * @param person must not be null
+     */
+    void index(Person person);
+
+    /**
+     * Removes a person from the index
+     *
+     * @param personId must not be null
+     */
+    void remove(Long personId);
+}
@@ -1,15 +1,20 @@
 package com.demo.filmdb.person;
 
+import com.demo.filmdb.cache.AssociationCacheEvictor;
 import com.demo.filmdb.film.Film;
 import com.demo.filmdb.role.Role;
 import com.demo.filmdb.role.RoleRepository;
 import com.demo.filmdb.util.EntityNotFoundException;
 import com.demo.filmdb.util.SortUtil;
 import jakarta.annotation.Nullable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -17,9 +22,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.demo.filmdb.util.ErrorUtil.personNotFoundMessage;
+import static com.demo.filmdb.util.ErrorUtil.personVersionMismatchMessage;
 
 @Service
 public class PersonService {
@@ -28,12 +37,23 @@ public class PersonService {
     private final RoleRepository roleRepository;
     private final PersonInfoMapper personMapper;
     private final PersonSpecs personSpecs;
+    private final PersonSearchIndex personSearchIndex;
+    private final AssociationCacheEvictor cacheEvictor;
 
-    public PersonService(PersonRepository personRepository, RoleRepository roleRepository, PersonInfoMapper personMapper, PersonSpecs personSpecs) {
+    public PersonService(
+            PersonRepository personRepository,
+            RoleRepository roleRepository,
+            PersonInfoMapper personMapper,
+            PersonSpecs personSpecs,
+            PersonSearchIndex personSearchIndex,
+            AssociationCacheEvictor cacheEvictor
+    ) {
         this.personRepository = personRepository;
         this.roleRepository = roleRepository;
         this.personMapper = personMapper;
         this.personSpecs = personSpecs;
+        this.personSearchIndex = personSearchIndex;
+        this.cacheEvictor = cacheEvictor;
     }
 
     /**
@@ -42,6 +62,7 @@ public class PersonService {
      * @param pageable must not be null
      * @return the resulting page, may be empty but not null
      */
+    @Transactional(readOnly = true)
     public Page<Person> getPeople(Pageable pageable) {
         Pageable filteredPageable = SortUtil.filterSortableFields(pageable, Person.class);
         return personRepository.findAll(filteredPageable);
@@ -50,40 +71,77 @@ public class PersonService {
     /**
      * Returns a {@link Page} of {@link Person} entities.
      * For filtering any of {@code name}, {@code bornAfter} or {@code bornBefore} can be specified.
+     * Name is looked up in the {@link PersonSearchIndex}, the database filters, sorts, pages and counts the matches.
+     * If {@code pageable} is unsorted, found people are ordered by relevance.
      *
      * @param pageable    must not be null
-     * @param name        string that person name must contain. Should not be blank. Can be null.
+     * @param name        words that person name must contain or start with. Should not be blank. Can be null.
      * @param bornAfter   birthdate lower limit. Can be null.
      * @param bornBefore  birthdate upper limit. Can be null.
      * @return the resulting page, may be empty but not null
      */
+    @Transactional(readOnly = true)
     public Page<Person> getPeople(
             Pageable pageable,
             @Nullable String name,
             @Nullable LocalDate bornAfter,
             @Nullable LocalDate bornBefore
     ) {
-        Specification<Person> spec = personSpecs.nameContains(name)
-                .and(personSpecs.bornAfter(bornAfter))
+        Specification<Person> spec = Specification.where(personSpecs.bornAfter(bornAfter))
                 .and(personSpecs.bornBefore(bornBefore));
         Pageable filteredPageable = SortUtil.filterSortableFields(pageable, Person.class);
-        return personRepository.findAll(spec, filteredPageable);
+        if (name == null || name.isBlank()) {
+            return personRepository.findAll(spec, filteredPageable);
+        }
+        return personRepository.findAll(spec.and(matching(name, filteredPageable.getSort())), filteredPageable);
     }
 
     /**
-     * Returns a {@link Page} of {@link Person} entities.
+     * Returns a {@link Slice} of {@link Person} entities. Unlike {@link #getPeople(Pageable, String, LocalDate, LocalDate)}
+     * matching people aren't counted, one person more than the page size is fetched to tell whether a next slice exists.
+     * For filtering any of {@code name}, {@code bornAfter} or {@code bornBefore} can be specified.
+     * Name is looked up in the {@link PersonSearchIndex}, matches are filtered, sorted and sliced by the database.
+     * If {@code pageable} is unsorted, found people are ordered by relevance.
+     *
+     * @param pageable      must not be null
+     * @param name          words that person name must contain or start with. Should not be blank. Can be null.
+     * @param bornAfter     birthdate lower limit. Can be null.
+     * @param bornBefore    birthdate upper limit. Can be null.
+     * @return the resulting slice, may be empty but not null
+     */
+    @Transactional(readOnly = true)
+    public Slice<Person> getPersonSlice(
+            Pageable pageable,
+            @Nullable String name,
+            @Nullable LocalDate bornAfter,
+            @Nullable LocalDate bornBefore
+    ) {
+        Specification<Person> spec = Specification.where(personSpecs.bornAfter(bornAfter))
+                .and(personSpecs.bornBefore(bornBefore));
+        Pageable filteredPageable = SortUtil.filterSortableFields(pageable, Person.class);
+        if (name == null || name.isBlank()) {
+            return personRepository.findBy(spec, query -> query.slice(filteredPageable));
+        }
+        Specification<Person> matchingSpec = spec.and(matching(name, filteredPageable.getSort()));
+        return personRepository.findBy(matchingSpec, query -> query.slice(filteredPageable));
+    }
+
+    /**
+     * Returns a slice of {@link Person} entities, see {@link #getPersonSlice}.
+     * For sorting both {@code sortBy} and {@code sortDirection} must not be null.
      * For filtering any of {@code name}, {@code bornAfter} or {@code bornBefore} can be specified.
      *
      * @param page          page number
      * @param pageSize      page size
      * @param sortBy        {@link Person} property name to sort by. Can be null.
      * @param sortDirection sort direction. Can be null.
-     * @param name          string that person name must contain. Should not be blank. Can be null.
+     * @param name          words that person name must contain or start with. Should not be blank. Can be null.
      * @param bornAfter     birthdate lower limit. Can be null.
      * @param bornBefore    birthdate upper limit. Can be null.
-     * @return the resulting page, may be empty but not null
+     * @return the resulting slice, may be empty but not null
      */
-    public Page<Person> getPeople(
+    @Transactional(readOnly = true)
+    public Slice<Person> getPeople(
             int page,
             int pageSize,
             @Nullable String sortBy,
@@ -98,7 +156,69 @@ public class PersonService {
         } else {
             pageable = PageRequest.of(page, pageSize, sortDirection, sortBy);
         }
-        return getPeople(pageable, name, bornAfter, bornBefore);
+        return getPersonSlice(pageable, name, bornAfter, bornBefore);
+    }
+
+    /**
+     * Counts the {@link Person} entities matching the filter.
+     * For filtering any of {@code name}, {@code bornAfter} or {@code bornBefore} can be specified.
+     *
+     * @param name          words that person name must contain or start with. Should not be blank. Can be null.
+     * @param bornAfter     birthdate lower limit. Can be null.
+     * @param bornBefore    birthdate upper limit. Can be null.
+     * @return number of matching people
+     */
+    @Transactional(readOnly = true)
+    public long countPeople(
+            @Nullable String name,
+            @Nullable LocalDate bornAfter,
+            @Nullable LocalDate bornBefore
+    ) {
+        Specification<Person> spec = Specification.where(personSpecs.bornAfter(bornAfter))
+                .and(personSpecs.bornBefore(bornBefore));
+        if (name != null && !name.isBlank()) {
+            spec = spec.and(personSearchIndex.matching(name));
+        }
+        return personRepository.count(spec);
+    }
+
+    /**
+     * Returns a {@link Window} of {@link Person} entities starting at the given scroll position.
+     * With a keyset position the cost of a window doesn't depend on its distance from the start and windows don't shift
+     * when people are added. Sort is extended with {@code id} to make the order total.
+     * Name is looked up in the {@link PersonSearchIndex}, found people are ordered by {@code sort}.
+     *
+     * @param position      position to scroll from, e.g. {@link ScrollPosition#keyset()} for the first window
+     * @param limit         maximum window size
+     * @param sort          must not be null. Properties not annotated with @{@link com.demo.filmdb.annotations.Sortable} are ignored.
+     * @param name          words that person name must contain or start with. Should not be blank. Can be null.
+     * @param bornAfter     birthdate lower limit. Can be null.
+     * @param bornBefore    birthdate upper limit. Can be null.
+     * @return the resulting window, may be empty but not null
+     */
+    @Transactional(readOnly = true)
+    public Window<Person> getPeople(
+            ScrollPosition position,
+            int limit,
+            Sort sort,
+            @Nullable String name,
+            @Nullable LocalDate bornAfter,
+            @Nullable LocalDate bornBefore
+    ) {
+        Specification<Person> spec = Specification.where(personSpecs.bornAfter(bornAfter))
+                .and(personSpecs.bornBefore(bornBefore));
+        if (name != null && !name.isBlank()) {
+            spec = spec.and(personSearchIndex.matching(name));
+        }
+        Sort keysetSort = SortUtil.withIdTieBreaker(SortUtil.filterSortableFields(sort, Person.class));
+        return personRepository.findBy(spec, query -> query.sortBy(keysetSort).limit(limit).scroll(position));
+    }
+
+    /**
+     * @return people matching {@code name}, ordered by relevance unless {@code sort} orders them
+     */
+    private Specification<Person> matching(String name, Sort sort) {
+        return sort.isSorted() ? personSearchIndex.matching(name) : personSearchIndex.rankedMatching(name);
     }
 
     /**
@@ -110,7 +230,9 @@ public class PersonService {
     @PreAuthorize("hasRole('ADMIN')")
     public Person createPerson(PersonInfo personInfo) {
         final Person person = personMapper.personInfoToPerson(personInfo);
-        return personRepository.save(person);
+        Person createdPerson = personRepository.save(person);
+        personSearchIndex.index(createdPerson);
+        return createdPerson;
     }
 
     /**
@@ -119,10 +241,36 @@ public class PersonService {
      * @param personId must not be {@code null}
      * @return the found entity or empty {@code Optional}
      */
+    @Transactional(readOnly = true)
     public Optional<Person> getPerson(Long personId) {
         return personRepository.findById(personId);
     }
 
+    /**
+     * Returns the version of a {@link Person} without loading the entity. The version changes with every update.
+     *
+     * @param personId must not be {@code null}
+     * @return the version or empty {@code Optional} if the person doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getPersonVersion(Long personId) {
+        return personRepository.findVersionById(personId);
+    }
+
+    /**
+     * Returns {@linkplain Person} entities with the given ids. Loads all people with a single query.
+     *
+     * @param personIds must not be {@code null}
+     * @return the found entities. People that could not be found are absent.
+     */
+    @Transactional(readOnly = true)
+    public List<Person> getPeople(Collection<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return List.of();
+        }
+        return personRepository.findAllById(personIds);
+    }
+
     /**
      * Update a {@link Person}
      *
@@ -131,28 +279,75 @@ public class PersonService {
      * @return the updated entity
      * @throws EntityNotFoundException if person could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public Person updatePerson(Long personId, PersonInfo personInfo) throws EntityNotFoundException {
+        return updatePerson(personId, personInfo, null);
+    }
+
+    /**
+     * Update a {@link Person} if it is still at the expected version
+     *
+     * @param personId person to update
+     * @param personInfo person info
+     * @param expectedVersion version the update is based on, {@code null} to update any version
+     * @return the updated entity with the incremented version
+     * @throws EntityNotFoundException if person could not be found
+     * @throws OptimisticLockingFailureException if the person is at another version or is updated concurrently
+     */
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public Person updatePerson(Long personId, PersonInfo personInfo, @Nullable Long expectedVersion) throws EntityNotFoundException {
         Person personToUpdate = personRepository.findById(personId).orElseThrow(() ->
                 new EntityNotFoundException(personNotFoundMessage(personId))
         );
+        checkVersion(personToUpdate, expectedVersion);
         personMapper.updatePersonFromPersonInfo(personInfo, personToUpdate);
-        return personRepository.save(personToUpdate);
+        // flush, so a concurrent update fails before the search index is changed
+        Person updatedPerson = personRepository.saveAndFlush(personToUpdate);
+        personSearchIndex.index(updatedPerson);
+        return updatedPerson;
     }
 
     /**
      * Deletes the {@link Person} with the given id
      *
      * @param personId person id
+     * @return the number of deleted people, 0 if none found
      */
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
-    public void deletePerson(Long personId) {
-        getPerson(personId).ifPresent(person -> {
-            person.removeFilmsDirected();
-            roleRepository.deleteById_PersonId(personId);
-            personRepository.deleteById(personId);
-        });
+    public int deletePerson(Long personId) {
+        return deletePerson(personId, null);
+    }
+
+    /**
+     * Deletes the {@link Person} with the given id if it is still at the expected version.
+     * The person, their roles and director associations are deleted with a single statement, so there is no window
+     * between checking and deleting the person, and the number of statements doesn't depend on the number of roles or
+     * films directed.
+     *
+     * @param personId person id
+     * @param expectedVersion version the deletion is based on, {@code null} to delete any version
+     * @return the number of deleted people, 0 if none found
+     * @throws OptimisticLockingFailureException if the person is at another version
+     */
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public int deletePerson(Long personId, @Nullable Long expectedVersion) {
+        int deleted = expectedVersion == null
+                ? personRepository.deletePersonById(personId)
+                : personRepository.deletePersonByIdAndVersion(personId, expectedVersion);
+        if (deleted == 0) {
+            // checked only after a failed deletion, to tell a missing person from one at another version
+            if (expectedVersion != null && personRepository.existsById(personId)) {
+                throw new OptimisticLockingFailureException(personVersionMismatchMessage(personId, expectedVersion));
+            }
+            return 0;
+        }
+        cacheEvictor.evictAfterCascadingDelete();
+        personSearchIndex.remove(personId);
+        return deleted;
     }
 
     /**
@@ -161,22 +356,24 @@ public class PersonService {
      * @param personId must not be {@code null}
      * @return true if exists, false otherwise
      */
+    @Transactional(readOnly = true)
     public boolean personExists(Long personId) {
         return personRepository.existsById(personId);
     }
 
     /**
-     * Returns roles of a person
+     * Returns roles of a person. Role films and people are initialized.
      *
      * @param personId must not be null
      * @return collection of roles
      * @throws EntityNotFoundException if person could not be found
      */
+    @Transactional(readOnly = true)
     public Collection<Role> getRoles(Long personId) throws EntityNotFoundException {
-        Person person = personRepository.findById(personId).orElseThrow(() ->
-                new EntityNotFoundException(personNotFoundMessage(personId))
-        );
-        return person.getRoles();
+        if (!personRepository.existsById(personId)) {
+            throw new EntityNotFoundException(personNotFoundMessage(personId));
+        }
+        return roleRepository.findAllByPersonIdIn(List.of(personId));
     }
 
     /**
@@ -186,10 +383,47 @@ public class PersonService {
      * @return collection of films
      * @throws EntityNotFoundException if person could not be found
      */
+    @Transactional(readOnly = true)
     public Collection<Film> getFilmsDirected(Long personId) throws EntityNotFoundException {
-        Person person = personRepository.findById(personId).orElseThrow(() ->
+        Person person = personRepository.findWithFilmsDirectedById(personId).orElseThrow(() ->
                 new EntityNotFoundException(personNotFoundMessage(personId))
         );
         return person.getFilmsDirected();
     }
+
+    /**
+     * Returns roles of the people with the given ids. Loads all roles with a single query.
+     *
+     * @param personIds must not be null
+     * @return map of person id to their roles. People without roles are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Role>> getRoles(Collection<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return Map.of();
+        }
+        return roleRepository.findAllByPersonIdIn(personIds).stream()
+                .collect(Collectors.groupingBy(role -> role.getId().getPersonId()));
+    }
+
+    /**
+     * Returns films directed by the people with the given ids. Loads all films with a single query.
+     *
+     * @param personIds must not be null
+     * @return map of person id to the films they directed. People that could not be found are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Film>> getFilmsDirected(Collection<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return Map.of();
+        }
+        return personRepository.findAllWithFilmsDirectedByIdIn(personIds).stream()
+                .collect(Collectors.toMap(Person::getId, person -> List.copyOf(person.getFilmsDirected())));
+    }
+
+    private static void checkVersion(Person person, @Nullable Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(person.getVersion())) {
+            throw new OptimisticLockingFailureException(personVersionMismatchMessage(person.getId(), expectedVersion));
+        }
+    }
 }
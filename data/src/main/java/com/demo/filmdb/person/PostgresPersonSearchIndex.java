@@ -0,0 +1,39 @@
+package com.demo.filmdb.person;
+
+import com.demo.filmdb.search.PostgresSearchIndex;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches the {@code person.name} column through its full-text expression index, which the database keeps current by
+ * itself
+ */
+@Component
+@Profile("postgres")
+public class PostgresPersonSearchIndex extends PostgresSearchIndex implements PersonSearchIndex {
+
+    public PostgresPersonSearchIndex() {
+        super("name");
+    }
+
+    @Override
+    public Specification<Person> matching(String query) {
+        return textMatches(query);
+    }
+
+    @Override
+    public Specification<Person> rankedMatching(String query) {
+        return rankedTextMatches(query);
+    }
+
+    @Override
+    public void index(Person person) {
+        // expression index is updated by the database
+    }
+
+    @Override
+    public void remove(Long personId) {
+        // expression index is updated by the database
+    }
+}
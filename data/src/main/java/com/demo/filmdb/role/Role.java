@@ -1,10 +1,14 @@
 package com.demo.filmdb.role;
 
+import com.demo.filmdb.cache.CacheRegions;
 import com.demo.filmdb.film.Film;
 import com.demo.filmdb.person.Person;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serializable;
 import java.util.Objects;
@@ -12,7 +16,9 @@ import java.util.Objects;
 import static jakarta.persistence.FetchType.LAZY;
 
 @Entity
-public class Role {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
+public class Role implements Persistable<Role.Id> {
 
     @Embeddable
     public static class Id implements Serializable {
@@ -80,6 +86,13 @@ public class Role {
     )
     private String character;
 
+    /**
+     * Lets repositories persist new roles directly instead of merging them, which would select every role first
+     * because its id is assigned
+     */
+    @Transient
+    private boolean isNew = true;
+
     @SuppressWarnings("unused")
     Role() {
     }
@@ -117,10 +130,22 @@ public class Role {
         return Objects.hash(film, person);
     }
 
+    @Override
     public Id getId() {
         return id;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
     public Film getFilm() {
         return film;
     }
@@ -1,27 +1,122 @@
 package com.demo.filmdb.role;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Role.Id> {
 
+    /**
+     * Deletes all roles of a film with a single statement. Hibernate evicts the cached roles and casts.
+     * The persistence context is flushed before and cleared after the deletion.
+     *
+     * @param filmId must not be {@code null}
+     * @return the number of deleted roles
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Role r where r.id.filmId = :filmId")
+    int deleteAllByFilmId(@Param("filmId") Long filmId);
+
+    /**
+     * Deletes a {@link Role} with a single statement. Hibernate evicts the cached roles and casts.
+     * The persistence context is flushed before and cleared after the deletion.
+     *
+     * @param filmId must not be {@code null}
+     * @param personId must not be {@code null}
+     * @return the number of deleted roles, 0 if none found
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Role r where r.id.filmId = :filmId and r.id.personId = :personId")
+    int deleteRoleById(@Param("filmId") Long filmId, @Param("personId") Long personId);
+
+    /**
+     * Updates the character of a {@link Role} with a single statement. Hibernate evicts the cached roles and casts.
+     * The persistence context is flushed before and cleared after the update.
+     *
+     * @param filmId must not be {@code null}
+     * @param personId must not be {@code null}
+     * @param character must not be {@code null}
+     * @return the number of updated roles, 0 if none found
+     */
     @Transactional
-    void deleteById_FilmId(Long filmId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Role r set r.character = :character where r.id.filmId = :filmId and r.id.personId = :personId")
+    int updateCharacter(@Param("filmId") Long filmId, @Param("personId") Long personId,
+                        @Param("character") String character);
 
+    /**
+     * Deletes roles of a film played by the given people with a single statement.
+     * Doesn't update the persistence context.
+     *
+     * @param filmId must not be {@code null}
+     * @param personIds must not be {@code null}
+     * @return the number of deleted roles
+     */
     @Transactional
-    void deleteById_PersonId(Long personId);
+    @Modifying
+    @Query("delete from Role r where r.id.filmId = :filmId and r.id.personId in :personIds")
+    int deleteByFilmIdAndPersonIdIn(@Param("filmId") Long filmId, @Param("personIds") Collection<Long> personIds);
 
     /**
-     * Finds a {@link Role} entity by a film id and a person id
+     * Finds a {@link Role} entity by a film id and a person id. Role film and person are fetched in the same query.
      *
      * @param filmId must not be {@code null}
      * @param personId must not be {@code null}
      * @return the entity with the given ids or {@link Optional#empty} if none found
      */
     @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = {"film", "person"})
     Optional<Role> findById_FilmIdAndId_PersonId(Long filmId, Long personId);
+
+    /**
+     * Finds {@link Role} entities of the films with the given ids. Role films and people are fetched in the same query.
+     *
+     * @param filmIds must not be {@code null}
+     * @return the found entities, may be empty but not null
+     */
+    @Transactional(readOnly = true)
+    @Query("select r from Role r join fetch r.film join fetch r.person where r.id.filmId in :filmIds")
+    List<Role> findAllByFilmIdIn(@Param("filmIds") Collection<Long> filmIds);
+
+    /**
+     * Finds {@link Role} entities played by the people with the given ids. Role films and people are fetched in the
+     * same query.
+     *
+     * @param personIds must not be {@code null}
+     * @return the found entities, may be empty but not null
+     */
+    @Transactional(readOnly = true)
+    @Query("select r from Role r join fetch r.film join fetch r.person where r.id.personId in :personIds")
+    List<Role> findAllByPersonIdIn(@Param("personIds") Collection<Long> personIds);
+
+    /**
+     * Streams all {@link Role} entities. Role films and people are not fetched.
+     * Rows are read from a server side cursor a thousand at a time. Must be called inside a
+     * transaction and the stream must be closed. Streamed entities are not put into the second-level cache.
+     *
+     * @return stream of all entities ordered by id
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select r from Role r order by r.id.filmId, r.id.personId")
+    Stream<Role> streamAll();
 }
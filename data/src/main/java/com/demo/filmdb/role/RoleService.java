@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.demo.filmdb.util.ErrorUtil.*;
@@ -67,12 +68,14 @@ public class RoleService {
      * @param personId must not be {@code null}
      * @return the found entity or empty {@code Optional}
      */
+    @Transactional(readOnly = true)
     public Optional<Role> getRole(Long filmId, Long personId) {
         return roleRepository.findById_FilmIdAndId_PersonId(filmId, personId);
     }
 
     /**
-     * Updates the {@link Role} for the given ids
+     * Updates the {@link Role} for the given ids.
+     * The role is updated with a single statement before it is read, so a concurrent deletion can't slip in between.
      *
      * @param filmId    role film
      * @param personId  role person
@@ -80,25 +83,26 @@ public class RoleService {
      * @return the updated entity
      * @throws EntityNotFoundException if role could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public Role updateRole(Long filmId, Long personId, String character) throws EntityNotFoundException {
-        Role roleToUpdate = roleRepository.findById_FilmIdAndId_PersonId(filmId, personId).orElseThrow(() ->
-                new EntityNotFoundException(roleNotFoundMessage(filmId, personId))
-        );
-        roleToUpdate.setCharacter(character);
-        return roleRepository.save(roleToUpdate);
+        if (roleRepository.updateCharacter(filmId, personId, character) == 0) {
+            throw new EntityNotFoundException(roleNotFoundMessage(filmId, personId));
+        }
+        // the updated row stays locked until the transaction ends
+        return roleRepository.findById_FilmIdAndId_PersonId(filmId, personId).orElseThrow();
     }
 
     /**
-     * Deletes a {@link Role} entity for the given ids
+     * Deletes a {@link Role} entity for the given ids with a single statement
      *
      * @param filmId    role film
      * @param personId  role person
+     * @return the number of deleted roles, 0 if none found
      */
     @PreAuthorize("hasRole('ADMIN')")
-    public void deleteRole(Long filmId, Long personId) {
-        Role.Id roleId = new Role.Id(filmId, personId);
-        roleRepository.deleteById(roleId);
+    public int deleteRole(Long filmId, Long personId) {
+        return roleRepository.deleteRoleById(filmId, personId);
     }
 
     /**
@@ -108,16 +112,20 @@ public class RoleService {
      * @param personId must not be {@code null}.
      * @return true if exists, false otherwise.
      */
+    @Transactional(readOnly = true)
     public boolean roleExists(Long filmId, Long personId) {
         Role.Id roleId = new Role.Id(filmId, personId);
         return roleRepository.existsById(roleId);
     }
 
     /**
-     * Replaces {@linkplain Film} cast
+     * Replaces {@linkplain Film} cast.
+     * The difference between the current and the new cast is computed in memory, so the number of statements doesn't
+     * depend on the cast size: existing roles and new people are loaded with one query each, removed roles are deleted
+     * with one statement, and created and updated roles are written in JDBC batches on flush.
      *
      * @param filmId film id
-     * @param cast new cast
+     * @param cast new cast. If the same person is listed more than once, the last character is used.
      * @return updated cast
      * @throws EntityNotFoundException if film or person could not be found
      */
@@ -127,43 +135,60 @@ public class RoleService {
         Film film = filmService.getFilm(filmId).orElseThrow(() ->
                 new EntityNotFoundException(filmNotFoundMessage(filmId))
         );
-        // If new cast is null or empty, delete all roles for the film
-        if (cast == null || cast.isEmpty()) {
-            film.getCast().forEach(roleRepository::delete);
-            return Collections.emptyList();
+        Map<Long, String> newCharacters = new LinkedHashMap<>();
+        if (cast != null) {
+            cast.forEach(member -> newCharacters.put(member.getPersonId(), member.getCharacter()));
+        }
+        Map<Long, Role> currentRoles = roleRepository.findAllByFilmIdIn(List.of(filmId)).stream()
+                .collect(Collectors.toMap(role -> role.getId().getPersonId(), Function.identity()));
+        // Load people of the new roles
+        Set<Long> newPersonIds = new HashSet<>(newCharacters.keySet());
+        newPersonIds.removeAll(currentRoles.keySet());
+        Map<Long, Person> newPeople = personService.getPeople(newPersonIds).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+        for (Long personId : newPersonIds) {
+            if (!newPeople.containsKey(personId)) {
+                throw new EntityNotFoundException(personNotFoundMessage(personId));
+            }
         }
         // Remove roles that don't exist anymore
-        Set<Long> newCastIds = cast.stream().map(CastMember::getPersonId).collect(Collectors.toSet());
-        film.getCast().stream().
-                filter(role -> !newCastIds.contains(role.getPerson().getId())).
-                forEach(roleRepository::delete);
+        List<Long> removedPersonIds = currentRoles.keySet().stream()
+                .filter(personId -> !newCharacters.containsKey(personId))
+                .toList();
+        if (!removedPersonIds.isEmpty()) {
+            roleRepository.deleteByFilmIdAndPersonIdIn(filmId, removedPersonIds);
+        }
         // Update existing and create new roles
-        List<Role> updatedCast = new ArrayList<>();
-        cast.forEach(role -> {
-            final Long personId = role.getPersonId();
-            Role roleToUpdate = getRole(filmId, personId).orElse(null);
-            Role updatedRole;
-            if (roleToUpdate == null) {
-                Person person = personService.getPerson(personId).orElseThrow(() ->
-                        new EntityNotFoundException(personNotFoundMessage(personId))
-                );
-                updatedRole = roleRepository.save(new Role(film, person, role.getCharacter()));
+        List<Role> updatedCast = new ArrayList<>(newCharacters.size());
+        List<Role> createdRoles = new ArrayList<>();
+        newCharacters.forEach((personId, character) -> {
+            Role role = currentRoles.get(personId);
+            if (role == null) {
+                role = new Role(film, newPeople.get(personId), character);
+                createdRoles.add(role);
             } else {
-                roleToUpdate.setCharacter(role.getCharacter());
-                updatedRole = roleRepository.save(roleToUpdate);
+                role.setCharacter(character);
             }
-            updatedCast.add(updatedRole);
+            updatedCast.add(role);
         });
+        roleRepository.saveAll(createdRoles);
         return updatedCast;
     }
 
     /**
-     * Deletes all roles for a {@link Film}
+     * Deletes all roles for a {@link Film} with a single statement
      *
      * @param filmId must not be {@code null}
+     * @return the number of deleted roles, 0 if the film has no cast
+     * @throws EntityNotFoundException if no roles were deleted and the film could not be found
      */
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
-    public void deleteCast(Long filmId) {
-        roleRepository.deleteById_FilmId(filmId);
+    public int deleteCast(Long filmId) throws EntityNotFoundException {
+        int deleted = roleRepository.deleteAllByFilmId(filmId);
+        if (deleted == 0 && !filmService.filmExists(filmId)) {
+            throw new EntityNotFoundException(filmNotFoundMessage(filmId));
+        }
+        return deleted;
     }
 }
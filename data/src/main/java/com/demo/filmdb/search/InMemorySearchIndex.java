@@ -0,0 +1,92 @@
+package com.demo.filmdb.search;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base for search indexes kept in the application memory. Works with any database, but must be filled on startup and
+ * isn't shared between application instances. Only the {@link #MAX_MATCHES} most relevant matches of a query are
+ * filtered, sorted and counted by the database.
+ * <p>
+ * Changes made inside a transaction are applied after it commits, so rolled back changes never reach the index.
+ */
+public abstract class InMemorySearchIndex {
+
+    /**
+     * Most relevant matches a query is narrowed to. Matches are passed to the database as a list of ids, and the number
+     * of parameters of a statement is limited.
+     */
+    public static final int MAX_MATCHES = 1000;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    /**
+     * Matches entities by the ids of the {@link #MAX_MATCHES} most relevant documents found for {@code query}
+     *
+     * @param query text to search
+     * @return specification of the matching entities
+     */
+    protected <T> Specification<T> textMatches(String query) {
+        List<Long> ids = index.search(query, MAX_MATCHES);
+        return (root, criteriaQuery, builder) -> ids.isEmpty() ? builder.disjunction() : root.get("id").in(ids);
+    }
+
+    /**
+     * Matches the same entities as {@link #textMatches} and orders them by their position in the ranked ids
+     *
+     * @param query text to search
+     * @return specification of the matching entities, ordered by relevance
+     */
+    protected <T> Specification<T> rankedTextMatches(String query) {
+        List<Long> ids = index.search(query, MAX_MATCHES);
+        return (root, criteriaQuery, builder) -> {
+            if (ids.isEmpty()) {
+                return builder.disjunction();
+            }
+            if (!SearchUtil.isCountQuery(criteriaQuery)) {
+                CriteriaBuilder.SimpleCase<Long, Integer> rank = builder.selectCase(root.get("id"));
+                for (int i = 0; i < ids.size(); i++) {
+                    rank.when(ids.get(i), i);
+                }
+                criteriaQuery.orderBy(builder.asc(rank.otherwise(ids.size())));
+            }
+            return root.get("id").in(ids);
+        };
+    }
+
+    protected void put(Long id, String text) {
+        afterCommit(() -> index.put(id, text));
+    }
+
+    protected void delete(Long id) {
+        afterCommit(() -> index.remove(id));
+    }
+
+    /**
+     * Replaces the whole index content. Doesn't wait for a transaction to commit.
+     *
+     * @param texts document id to its text
+     */
+    protected void rebuild(Map<Long, String> texts) {
+        index.clear();
+        texts.forEach(index::put);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.filmdb.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread safe in-process inverted index of short texts, such as titles or names. Query words match indexed words they
+ * are a prefix of. Results are ranked with Okapi BM25.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Word to document id to word frequency in the document */
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    /** Document id to its words */
+    private final Map<Long, List<String>> documents = new HashMap<>();
+    private long totalLength = 0;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a document to the index, replacing the previous version if it exists.
+     *
+     * @param id   document id
+     * @param text document text
+     */
+    public void put(Long id, String text) {
+        List<String> words = SearchUtil.tokenize(text);
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            for (String word : words) {
+                postings.computeIfAbsent(word, w -> new HashMap<>()).merge(id, 1, Integer::sum);
+            }
+            documents.put(id, words);
+            totalLength += words.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index. Does nothing if it doesn't exist.
+     *
+     * @param id document id
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all documents.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds documents containing any of the {@code query} words, or words starting with them.
+     *
+     * @param query text to search
+     * @param limit maximum number of results
+     * @return ids of the found documents, the most relevant first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> queryWords = SearchUtil.tokenize(query);
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            int documentCount = documents.size();
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            for (String queryWord : queryWords) {
+                for (Map<Long, Integer> matches : postings.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false).values()) {
+                    double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                    matches.forEach((id, frequency) -> {
+                        int length = documents.get(id).size();
+                        double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                        scores.merge(id, idf * tf, Double::sum);
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void removeDocument(Long id) {
+        List<String> words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : new HashSet<>(words)) {
+            Map<Long, Integer> matches = postings.get(word);
+            matches.remove(id);
+            if (matches.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+        totalLength -= words.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.filmdb.search;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Base for search indexes backed by a PostgreSQL GIN expression index on {@code to_tsvector('simple', column)}. The
+ * index is maintained by the database, so it's always current and entity changes don't need to be propagated.
+ * <p>
+ * Matching is a {@link Specification} calling the {@value #MATCHES_FUNCTION} SQL function, relevance order calls the
+ * {@value #RANK_FUNCTION} SQL function. The database inlines both, so the other filters, the sort, the page limit and
+ * the count are all applied in one query using the same index.
+ */
+public abstract class PostgresSearchIndex {
+
+    /**
+     * SQL function matching a text against a {@code tsquery}, created by the V1.2 migration
+     */
+    static final String MATCHES_FUNCTION = "simple_text_matches";
+    /**
+     * SQL function ranking a text against a {@code tsquery}, created by the V1.2 migration
+     */
+    static final String RANK_FUNCTION = "simple_text_rank";
+
+    private final String attribute;
+
+    /**
+     * @param attribute entity attribute mapped to a text column with a GIN index on
+     *                  {@code to_tsvector('simple', column)}
+     */
+    protected PostgresSearchIndex(String attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * Matches entities whose attribute contains any of the {@code query} words or words starting with them
+     *
+     * @param query text to search
+     * @return specification of the matching entities
+     */
+    protected <T> Specification<T> textMatches(String query) {
+        String tsQuery = toTsQuery(query);
+        return (root, criteriaQuery, builder) -> {
+            if (tsQuery == null) {
+                return builder.disjunction();
+            }
+            return builder.isTrue(builder.function(MATCHES_FUNCTION, Boolean.class,
+                    root.get(attribute), builder.literal(tsQuery)));
+        };
+    }
+
+    /**
+     * Matches the same entities as {@link #textMatches} and orders them by rank, ties by id
+     *
+     * @param query text to search
+     * @return specification of the matching entities, ordered by relevance
+     */
+    protected <T> Specification<T> rankedTextMatches(String query) {
+        String tsQuery = toTsQuery(query);
+        Specification<T> matches = textMatches(query);
+        return (root, criteriaQuery, builder) -> {
+            if (tsQuery != null && !SearchUtil.isCountQuery(criteriaQuery)) {
+                Expression<Float> rank = builder.function(RANK_FUNCTION, Float.class,
+                        root.get(attribute), builder.literal(tsQuery));
+                criteriaQuery.orderBy(builder.desc(rank), builder.asc(root.get("id")));
+            }
+            return matches.toPredicate(root, criteriaQuery, builder);
+        };
+    }
+
+    /**
+     * @return prefix {@code tsquery} matching any of the words, null if there are none
+     */
+    @Nullable
+    private static String toTsQuery(String query) {
+        List<String> words = SearchUtil.tokenize(query);
+        if (words.isEmpty()) {
+            return null;
+        }
+        return words.stream().map(word -> word + ":*").collect(Collectors.joining(" | "));
+    }
+}
@@ -0,0 +1,33 @@
+package com.demo.filmdb.search;
+
+import jakarta.persistence.criteria.CriteriaQuery;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public final class SearchUtil {
+
+    private SearchUtil() {
+    }
+
+    /**
+     * Splits {@code text} into lower case words. Anything but letters and digits is a separator.
+     *
+     * @param text text to split
+     * @return list of words, may be empty
+     */
+    public static List<String> tokenize(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * @param query query a specification is applied to
+     * @return whether the query counts entities, so ordering it would be wasted
+     */
+    static boolean isCountQuery(CriteriaQuery<?> query) {
+        return Long.class.equals(query.getResultType());
+    }
+}
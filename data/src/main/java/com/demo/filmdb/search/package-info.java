@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.search;
+
+import org.springframework.lang.NonNullApi;
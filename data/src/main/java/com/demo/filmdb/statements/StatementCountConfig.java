@@ -0,0 +1,19 @@
+package com.demo.filmdb.statements;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link StatementCounter}. Outside of a recording it only looks up a thread local per statement, so it
+ * stays registered in every environment.
+ */
+@Configuration
+public class StatementCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterHibernateProperties() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+}
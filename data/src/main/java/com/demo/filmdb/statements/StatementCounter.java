@@ -0,0 +1,113 @@
+package com.demo.filmdb.statements;
+
+import jakarta.annotation.Nullable;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Statements are only counted while a
+ * {@link Recording} is open, so an HTTP request or a service call can be measured without clearing the global
+ * statistics. Recordings can be nested, every open recording of the thread counts each statement.
+ * <p>
+ * Statements prepared on other threads, e.g. by an asynchronous data fetcher, are not counted.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Recording> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Recording recording = current.get(); recording != null; recording = recording.parent) {
+            recording.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts recording statements on the current thread
+     *
+     * @return recording, must be closed on the same thread
+     */
+    public static Recording start() {
+        return start(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts recording statements on the current thread and remembers where the limit was first exceeded
+     *
+     * @param limit number of statements above which the stack trace of the exceeding statement is captured
+     * @return recording, must be closed on the same thread
+     */
+    public static Recording start(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative");
+        }
+        Recording recording = new Recording(current.get(), limit);
+        current.set(recording);
+        return recording;
+    }
+
+    /**
+     * Statements prepared on a thread since {@link #start} until {@link #close}
+     */
+    public static final class Recording implements AutoCloseable {
+
+        @Nullable
+        private final Recording parent;
+        private final int limit;
+        private final List<String> statements = new ArrayList<>();
+        @Nullable
+        private Throwable limitExceededAt;
+
+        private Recording(@Nullable Recording parent, int limit) {
+            this.parent = parent;
+            this.limit = limit;
+        }
+
+        private void record(String sql) {
+            statements.add(sql);
+            if (statements.size() == limit + 1) {
+                limitExceededAt = new Throwable("Statement " + statements.size() + " exceeded the limit of " + limit);
+            }
+        }
+
+        public int count() {
+            return statements.size();
+        }
+
+        /**
+         * @return SQL of the recorded statements in execution order
+         */
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        /**
+         * @return stack trace of the first statement above the limit, or {@code null} if the limit wasn't exceeded
+         */
+        @Nullable
+        public Throwable limitExceededAt() {
+            return limitExceededAt;
+        }
+
+        /**
+         * Stops recording. Nested recordings must be closed before their parent.
+         *
+         * @throws IllegalStateException if this isn't the innermost open recording of the current thread
+         */
+        @Override
+        public void close() {
+            if (current.get() != this) {
+                throw new IllegalStateException("Recording is not the innermost open recording of this thread");
+            }
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
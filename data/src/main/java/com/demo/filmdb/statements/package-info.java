@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.statements;
+
+import org.springframework.lang.NonNullApi;
@@ -9,6 +9,14 @@ public final class ErrorUtil {
         return "Could not find film with id " + id;
     }
 
+    public static String personVersionMismatchMessage(Long id, Long expectedVersion) {
+        return "Person with id " + id + " is no longer at version " + expectedVersion;
+    }
+
+    public static String filmVersionMismatchMessage(Long id, Long expectedVersion) {
+        return "Film with id " + id + " is no longer at version " + expectedVersion;
+    }
+
     public static String roleNotFoundMessage(Long filmId, Long personId) {
         return "Could not find role with filmId " + filmId + " and personId " + personId;
     }
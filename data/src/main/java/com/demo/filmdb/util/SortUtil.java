@@ -3,6 +3,7 @@ package com.demo.filmdb.util;
 import com.demo.filmdb.annotations.Sortable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -12,22 +13,50 @@ import java.util.stream.Collectors;
 
 public class SortUtil {
 
+    private static final String ID = "id";
+
     /**
-     * Filters out {@code pageable}'s {@link org.springframework.data.domain.Sort} properties that aren't annotated with @{@link Sortable} in the
+     * Filters out {@code pageable}'s {@link Sort} properties that aren't annotated with @{@link Sortable} in the
      * {@code entityClass}
      *
-     * @param pageable    containing the {@link org.springframework.data.domain.Sort} to filter
+     * @param pageable    containing the {@link Sort} to filter
      * @param entityClass containing fields to filter by
-     * @return a {@link Pageable} with the filtered {@link org.springframework.data.domain.Sort}
+     * @return a {@link Pageable} with the filtered {@link Sort}
      */
     public static Pageable filterSortableFields(Pageable pageable, Class<?> entityClass) {
+        Sort filteredSort = filterSortableFields(pageable.getSort(), entityClass);
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), filteredSort);
+    }
+
+    /**
+     * Filters out {@code sort} properties that aren't annotated with @{@link Sortable} in the {@code entityClass}
+     *
+     * @param sort        the {@link Sort} to filter
+     * @param entityClass containing fields to filter by
+     * @return the filtered {@link Sort}
+     */
+    public static Sort filterSortableFields(Sort sort, Class<?> entityClass) {
         Set<String> sortableFields = Arrays.stream(entityClass.getDeclaredFields())
                 .filter(f -> f.getAnnotation(Sortable.class) != null)
                 .map(Field::getName)
                 .collect(Collectors.toSet());
-        List<org.springframework.data.domain.Sort.Order> filteredOrders = pageable.getSort()
+        List<Sort.Order> filteredOrders = sort
                 .filter(order -> sortableFields.contains(order.getProperty()))
                 .toList();
-        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), org.springframework.data.domain.Sort.by(filteredOrders));
+        return Sort.by(filteredOrders);
+    }
+
+    /**
+     * Appends ascending {@code id} order to the {@code sort} unless it already sorts by {@code id}.
+     * Makes the order total, which is required for keyset scrolling.
+     *
+     * @param sort the {@link Sort} to extend
+     * @return {@link Sort} ending with {@code id}
+     */
+    public static Sort withIdTieBreaker(Sort sort) {
+        if (sort.getOrderFor(ID) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(ID));
     }
 }
@@ -2,18 +2,29 @@ DROP TABLE film IF EXISTS CASCADE CONSTRAINTS;
 DROP TABLE person IF EXISTS CASCADE CONSTRAINTS;
 DROP TABLE role IF EXISTS CASCADE CONSTRAINTS;
 DROP TABLE film_person_directed IF EXISTS CASCADE CONSTRAINTS;
+DROP SEQUENCE film_seq IF EXISTS;
+DROP SEQUENCE person_seq IF EXISTS;
+
+CREATE SEQUENCE film_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE person_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE film(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR film_seq NOT NULL PRIMARY KEY,
     release_date DATE NOT NULL,
     synopsis CHARACTER VARYING(2000),
-    title CHARACTER VARYING(255) NOT NULL
+    title CHARACTER VARYING(255) NOT NULL,
+    uuid UUID DEFAULT RANDOM_UUID() NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    imdb_id CHARACTER VARYING(12)
 );
 
 CREATE TABLE person(
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+    id BIGINT DEFAULT NEXT VALUE FOR person_seq NOT NULL PRIMARY KEY,
     date_of_birth DATE,
-    name CHARACTER VARYING(255) NOT NULL
+    name CHARACTER VARYING(255) NOT NULL,
+    uuid UUID DEFAULT RANDOM_UUID() NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    imdb_id CHARACTER VARYING(12)
 );
 
 CREATE TABLE film_person_directed(
@@ -27,10 +38,20 @@ CREATE TABLE role(
     "CHARACTER" CHARACTER VARYING(255) NOT NULL
 );
 
+ALTER TABLE film ADD CONSTRAINT uq_film_imdb_id UNIQUE(imdb_id);
+ALTER TABLE person ADD CONSTRAINT uq_person_imdb_id UNIQUE(imdb_id);
+
+CREATE INDEX idx_role_person_id ON role(person_id);
+CREATE INDEX idx_directed_person_id ON film_person_directed(person_id);
+CREATE INDEX idx_film_release_date ON film(release_date, id);
+CREATE INDEX idx_film_title ON film(title, id);
+CREATE INDEX idx_person_name ON person(name, id);
+CREATE INDEX idx_person_date_of_birth ON person(date_of_birth, id);
+
 ALTER TABLE film_person_directed ADD CONSTRAINT pk_directed PRIMARY KEY(film_id, person_id);
-ALTER TABLE film_person_directed ADD CONSTRAINT fk_directed_film FOREIGN KEY(film_id) REFERENCES film (id);
-ALTER TABLE film_person_directed ADD CONSTRAINT fk_directed_person FOREIGN KEY(person_id) REFERENCES person (id);
+ALTER TABLE film_person_directed ADD CONSTRAINT fk_directed_film FOREIGN KEY(film_id) REFERENCES film (id) ON DELETE CASCADE;
+ALTER TABLE film_person_directed ADD CONSTRAINT fk_directed_person FOREIGN KEY(person_id) REFERENCES person (id) ON DELETE CASCADE;
 
 ALTER TABLE role ADD CONSTRAINT pk_role PRIMARY KEY(film_id, person_id);
-ALTER TABLE role ADD CONSTRAINT fk_role_film FOREIGN KEY(film_id) REFERENCES film (id);
-ALTER TABLE role ADD CONSTRAINT fk_role_person FOREIGN KEY(person_id) REFERENCES person (id);
\ No newline at end of file
+ALTER TABLE role ADD CONSTRAINT fk_role_film FOREIGN KEY(film_id) REFERENCES film (id) ON DELETE CASCADE;
+ALTER TABLE role ADD CONSTRAINT fk_role_person FOREIGN KEY(person_id) REFERENCES person (id) ON DELETE CASCADE;
\ No newline at end of file
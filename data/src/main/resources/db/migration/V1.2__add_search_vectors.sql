@@ -0,0 +1,25 @@
+-- Title and name matches are combined with the other filters in one query, which can only name mapped columns.
+-- The search vectors are therefore computed by expression indexes instead of generated columns.
+CREATE INDEX idx_film_title_tsv ON film USING GIN (to_tsvector('simple', title));
+
+CREATE INDEX idx_person_name_tsv ON person USING GIN (to_tsvector('simple', name));
+
+-- Inlined by the planner, so a call on an indexed column uses the expression index
+CREATE FUNCTION simple_text_matches(document text, query text) RETURNS boolean
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT to_tsvector('simple', document) @@ to_tsquery('simple', query)
+$$;
+
+-- Inlined by the planner as well, ranks the matches of simple_text_matches
+CREATE FUNCTION simple_text_rank(document text, query text) RETURNS real
+    LANGUAGE sql
+    IMMUTABLE
+    PARALLEL SAFE
+AS
+$$
+SELECT ts_rank(to_tsvector('simple', document), to_tsquery('simple', query))
+$$;
@@ -0,0 +1,5 @@
+ALTER TABLE film
+    ADD COLUMN uuid uuid NOT NULL DEFAULT gen_random_uuid();
+
+ALTER TABLE person
+    ADD COLUMN uuid uuid NOT NULL DEFAULT gen_random_uuid();
@@ -0,0 +1,15 @@
+ALTER TABLE film ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE film_seq INCREMENT BY 50 OWNED BY film.id;
+
+SELECT setval('film_seq', (SELECT coalesce(max(id), 0) + 1 FROM film), false);
+
+ALTER TABLE film ALTER COLUMN id SET DEFAULT nextval('film_seq');
+
+ALTER TABLE person ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE person_seq INCREMENT BY 50 OWNED BY person.id;
+
+SELECT setval('person_seq', (SELECT coalesce(max(id), 0) + 1 FROM person), false);
+
+ALTER TABLE person ALTER COLUMN id SET DEFAULT nextval('person_seq');
@@ -0,0 +1,5 @@
+ALTER TABLE film
+    ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE person
+    ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,17 @@
+-- Built concurrently so writes to the tables aren't blocked while the indexes are built. CONCURRENTLY can't run in a
+-- transaction, see V1.6__add_secondary_indexes.sql.conf. A failed build leaves an invalid index behind, which must be
+-- dropped before the migration is repaired and run again.
+
+-- roles and directed films of a person are looked up by the second primary key column
+CREATE INDEX CONCURRENTLY idx_role_person_id ON role (person_id);
+
+CREATE INDEX CONCURRENTLY idx_directed_person_id ON film_person_directed (person_id);
+
+-- sortable fields, with id appended as the tie-breaker of keyset scrolling
+CREATE INDEX CONCURRENTLY idx_film_release_date ON film (release_date, id);
+
+CREATE INDEX CONCURRENTLY idx_film_title ON film (title, id);
+
+CREATE INDEX CONCURRENTLY idx_person_name ON person (name, id);
+
+CREATE INDEX CONCURRENTLY idx_person_date_of_birth ON person (date_of_birth, id);
@@ -0,0 +1,16 @@
+-- deleting a film or a person deletes its roles and director associations in the same statement
+ALTER TABLE ONLY film_person_directed
+    DROP CONSTRAINT fk_directed_on_film,
+    ADD CONSTRAINT fk_directed_on_film FOREIGN KEY (film_id) REFERENCES film(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY film_person_directed
+    DROP CONSTRAINT fk_directed_on_person,
+    ADD CONSTRAINT fk_directed_on_person FOREIGN KEY (person_id) REFERENCES person(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY role
+    DROP CONSTRAINT fk_role_on_film,
+    ADD CONSTRAINT fk_role_on_film FOREIGN KEY (film_id) REFERENCES film(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY role
+    DROP CONSTRAINT fk_role_on_person,
+    ADD CONSTRAINT fk_role_on_person FOREIGN KEY (person_id) REFERENCES person(id) ON DELETE CASCADE;
@@ -0,0 +1,12 @@
+-- IMDb ids of imported films and people, the import matches rows by them and lets the sequences assign the ids
+ALTER TABLE film
+    ADD COLUMN imdb_id character varying(12);
+
+ALTER TABLE film
+    ADD CONSTRAINT uq_film_imdb_id UNIQUE (imdb_id);
+
+ALTER TABLE person
+    ADD COLUMN imdb_id character varying(12);
+
+ALTER TABLE person
+    ADD CONSTRAINT uq_person_imdb_id UNIQUE (imdb_id);
@@ -0,0 +1,239 @@
+package com.demo.filmdb;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonRepository;
+import com.demo.filmdb.person.PersonService;
+import com.demo.filmdb.role.RoleRepository;
+import com.demo.filmdb.statements.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.demo.filmdb.statements.StatementAssertions.recordStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository and specification queries and checks the H2 plan of every statement they execute. A plan
+ * reading a whole table means an index is missing or a query changed so that it can't use one. Sorts are checked in
+ * ascending order, the order the indexes are declared in.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("Query plans")
+public class QueryPlanTests {
+
+    private static final LocalDate DATE = LocalDate.of(2000, 1, 1);
+
+    @Autowired
+    private FilmRepository filmRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private FilmService filmService;
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // loads served from the entity cache wouldn't execute any statement
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Nested
+    @DisplayName("Film")
+    class Films {
+
+        @Test
+        @DisplayName("By id with directors")
+        void ByIdWithDirectors_Indexed() {
+            assertIndexed(() -> filmRepository.findWithDirectorsById(1L));
+        }
+
+        @Test
+        @DisplayName("By ids with directors")
+        void ByIdsWithDirectors_Indexed() {
+            assertIndexed(() -> filmRepository.findAllWithDirectorsByIdIn(List.of(1L, 2L)));
+        }
+
+        @Test
+        @DisplayName("Version")
+        void Version_Indexed() {
+            assertIndexed(() -> filmRepository.findVersionById(1L));
+        }
+
+        @Test
+        @DisplayName("Sorted by title")
+        void SortedByTitle_Indexed() {
+            assertIndexed(() -> filmService.getFilmSlice(PageRequest.of(0, 2, Sort.by("title")), null, null, null));
+        }
+
+        @Test
+        @DisplayName("Sorted by release date")
+        void SortedByReleaseDate_Indexed() {
+            assertIndexed(() -> filmService.getFilmSlice(PageRequest.of(0, 2, Sort.by("releaseDate")), null, null, null));
+        }
+
+        @Test
+        @DisplayName("Filtered by release date, page and count")
+        void FilteredByReleaseDate_Indexed() {
+            assertIndexed(() -> filmService.getFilms(PageRequest.of(0, 1), null, DATE, DATE.plusYears(50)));
+        }
+
+        @Test
+        @DisplayName("Scrolled by title")
+        void ScrolledByTitle_Indexed() {
+            Sort sort = Sort.by("title");
+            Window<Film> first = filmService.getFilms(ScrollPosition.keyset(), 1, sort, null, null, null);
+
+            assertIndexed(() -> filmService.getFilms(ScrollPosition.keyset(), 1, sort, null, null, null));
+            assertIndexed(() -> filmService.getFilms(first.positionAt(0), 1, sort, null, null, null));
+        }
+
+        @Test
+        @DisplayName("Delete")
+        void Delete_Indexed() {
+            assertIndexed(() -> filmRepository.deleteFilmByIdAndVersion(2L, 0L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Person")
+    class People {
+
+        @Test
+        @DisplayName("By id with films directed")
+        void ByIdWithFilmsDirected_Indexed() {
+            assertIndexed(() -> personRepository.findWithFilmsDirectedById(3L));
+        }
+
+        @Test
+        @DisplayName("By ids with films directed")
+        void ByIdsWithFilmsDirected_Indexed() {
+            assertIndexed(() -> personRepository.findAllWithFilmsDirectedByIdIn(List.of(3L, 4L)));
+        }
+
+        @Test
+        @DisplayName("Sorted by name")
+        void SortedByName_Indexed() {
+            assertIndexed(() -> personService.getPersonSlice(PageRequest.of(0, 2, Sort.by("name")), null, null, null));
+        }
+
+        @Test
+        @DisplayName("Sorted by date of birth")
+        void SortedByDateOfBirth_Indexed() {
+            assertIndexed(() -> personService.getPersonSlice(PageRequest.of(0, 2, Sort.by("dateOfBirth")), null, null, null));
+        }
+
+        @Test
+        @DisplayName("Filtered by date of birth, page and count")
+        void FilteredByDateOfBirth_Indexed() {
+            assertIndexed(() -> personService.getPeople(PageRequest.of(0, 1), null, DATE.minusYears(100), DATE));
+        }
+
+        @Test
+        @DisplayName("Scrolled by name")
+        void ScrolledByName_Indexed() {
+            Sort sort = Sort.by("name");
+            Window<Person> first = personService.getPeople(ScrollPosition.keyset(), 1, sort, null, null, null);
+
+            assertIndexed(() -> personService.getPeople(first.positionAt(0), 1, sort, null, null, null));
+        }
+
+        @Test
+        @DisplayName("Delete")
+        void Delete_Indexed() {
+            assertIndexed(() -> personRepository.deletePersonByIdAndVersion(1L, 0L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Role")
+    class Roles {
+
+        @Test
+        @DisplayName("By film and person")
+        void ByIds_Indexed() {
+            assertIndexed(() -> roleRepository.findById_FilmIdAndId_PersonId(3L, 1L));
+        }
+
+        @Test
+        @DisplayName("By films")
+        void ByFilms_Indexed() {
+            assertIndexed(() -> roleRepository.findAllByFilmIdIn(List.of(1L, 2L)));
+        }
+
+        @Test
+        @DisplayName("By people")
+        void ByPeople_Indexed() {
+            assertIndexed(() -> roleRepository.findAllByPersonIdIn(List.of(1L, 2L)));
+        }
+
+        @Test
+        @DisplayName("Delete by film")
+        void DeleteByFilm_Indexed() {
+            assertIndexed(() -> roleRepository.deleteAllByFilmId(2L));
+        }
+
+        @Test
+        @DisplayName("Delete")
+        void Delete_Indexed() {
+            assertIndexed(() -> roleRepository.deleteRoleById(3L, 1L));
+        }
+
+        @Test
+        @DisplayName("Update character")
+        void UpdateCharacter_Indexed() {
+            assertIndexed(() -> roleRepository.updateCharacter(3L, 1L, "Rosie"));
+        }
+    }
+
+    private void assertIndexed(ThrowingCallable query) {
+        StatementCounter.Recording recording = recordStatements(query);
+
+        assertThat(recording.statements()).isNotEmpty()
+                .allSatisfy(sql -> assertThat(plan(sql)).as(sql).doesNotContain("tableScan"));
+    }
+
+    /**
+     * @param sql statement with parameters
+     * @return H2 plan of the statement, with the index read from every table in a comment
+     */
+    private String plan(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatementCallback<String>) statement -> {
+            // the plan doesn't depend on the values
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+}
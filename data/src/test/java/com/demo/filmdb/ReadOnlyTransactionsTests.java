@@ -0,0 +1,167 @@
+package com.demo.filmdb;
+
+import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.person.PersonService;
+import com.demo.filmdb.role.RoleService;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the service reads and checks that each of them began a read-only transaction, so Hibernate neither keeps
+ * snapshots of the loaded entities nor flushes them.
+ */
+@SpringBootTest
+@DisplayName("Read-only transactions")
+public class ReadOnlyTransactionsTests {
+
+    @Autowired
+    private FilmService filmService;
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private RoleService roleService;
+    @Autowired
+    private TransactionRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder.transactions.clear();
+    }
+
+    @Nested
+    @DisplayName("Film")
+    class Films {
+
+        @Test
+        @DisplayName("Pages, slices, windows and count")
+        void Lists_ReadOnly() {
+            filmService.getFilms(PageRequest.of(0, 2));
+            filmService.getFilms(PageRequest.of(0, 2), null, null, null);
+            filmService.getFilmSlice(PageRequest.of(0, 2), null, null, null);
+            filmService.getFilms(ScrollPosition.keyset(), 2, Sort.by("title"), null, null, null);
+            filmService.countFilms(null, null, null);
+
+            assertReadOnly(5);
+        }
+
+        @Test
+        @DisplayName("Film, version and existence")
+        void Film_ReadOnly() {
+            filmService.getFilm(1L);
+            filmService.getFilmVersion(1L);
+            filmService.filmExists(1L);
+
+            assertReadOnly(3);
+        }
+
+        @Test
+        @DisplayName("Cast and directors")
+        void Associations_ReadOnly() {
+            filmService.getCast(1L);
+            filmService.getDirectors(1L);
+            filmService.getCast(List.of(1L, 2L));
+            filmService.getDirectors(List.of(1L, 2L));
+
+            assertReadOnly(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Person")
+    class People {
+
+        @Test
+        @DisplayName("Pages, slices, windows and count")
+        void Lists_ReadOnly() {
+            personService.getPeople(PageRequest.of(0, 2));
+            personService.getPeople(PageRequest.of(0, 2), null, null, null);
+            personService.getPersonSlice(PageRequest.of(0, 2), null, null, null);
+            personService.getPeople(ScrollPosition.keyset(), 2, Sort.by("name"), null, null, null);
+            personService.countPeople(null, null, null);
+            personService.getPeople(List.of(1L, 2L));
+
+            assertReadOnly(6);
+        }
+
+        @Test
+        @DisplayName("Person, version and existence")
+        void Person_ReadOnly() {
+            personService.getPerson(1L);
+            personService.getPersonVersion(1L);
+            personService.personExists(1L);
+
+            assertReadOnly(3);
+        }
+
+        @Test
+        @DisplayName("Roles and films directed")
+        void Associations_ReadOnly() {
+            personService.getRoles(1L);
+            personService.getFilmsDirected(3L);
+            personService.getRoles(List.of(1L, 2L));
+            personService.getFilmsDirected(List.of(3L, 4L));
+
+            assertReadOnly(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Role")
+    class Roles {
+
+        @Test
+        @DisplayName("Role and existence")
+        void Role_ReadOnly() {
+            roleService.getRole(3L, 1L);
+            roleService.roleExists(3L, 1L);
+
+            assertReadOnly(2);
+        }
+    }
+
+    /**
+     * @param count number of service reads called, each must have begun its own transaction
+     */
+    private void assertReadOnly(int count) {
+        assertThat(recorder.transactions).hasSize(count)
+                .allSatisfy(transaction -> assertThat(transaction.isReadOnly())
+                        .as(transaction.getTransactionName())
+                        .isTrue());
+    }
+
+    @TestConfiguration
+    static class TransactionRecorderConfig {
+
+        @Bean
+        TransactionRecorder transactionRecorder() {
+            return new TransactionRecorder();
+        }
+    }
+
+    static class TransactionRecorder implements TransactionExecutionListener {
+
+        private final List<TransactionExecution> transactions = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+            transactions.add(transaction);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.filmdb;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonService;
+import com.demo.filmdb.role.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Collection;
+
+import static com.demo.filmdb.statements.StatementAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that subresources are loaded with at most two statements and can be used after the transaction ended.
+ * Not transactional on purpose, so anything left lazy throws {@link org.hibernate.LazyInitializationException}.
+ */
+@SpringBootTest
+@DisplayName("Subresource statements")
+public class SubresourceStatementsTests {
+
+    private static final int MAX_STATEMENTS = 2;
+
+    @Autowired
+    private FilmService filmService;
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    @DisplayName("Film cast")
+    void FilmCast_AtMostTwoStatements() {
+        Collection<Role> cast = assertStatements(MAX_STATEMENTS, () -> filmService.getCast(2L));
+
+        assertThat(cast).hasSize(2)
+                .allSatisfy(role -> assertThat(role.getFilm().getTitle()).isEqualTo("Avengers: Infinity War"))
+                .extracting(role -> role.getPerson().getName())
+                .containsExactlyInAnyOrder("Scarlett Johansson", "Mark Ruffalo");
+    }
+
+    @Test
+    @DisplayName("Film directors")
+    void FilmDirectors_AtMostTwoStatements() {
+        Collection<Person> directors = assertStatements(MAX_STATEMENTS, () -> filmService.getDirectors(2L));
+
+        assertThat(directors).extracting(Person::getName).containsExactlyInAnyOrder("Joe Russo", "Anthony Russo");
+    }
+
+    @Test
+    @DisplayName("Person roles")
+    void PersonRoles_AtMostTwoStatements() {
+        Collection<Role> roles = assertStatements(MAX_STATEMENTS, () -> personService.getRoles(1L));
+
+        assertThat(roles).hasSize(2)
+                .allSatisfy(role -> assertThat(role.getPerson().getName()).isEqualTo("Scarlett Johansson"))
+                .extracting(role -> role.getFilm().getTitle())
+                .containsExactlyInAnyOrder("Avengers: Infinity War", "Jojo Rabbit");
+    }
+
+    @Test
+    @DisplayName("Person films directed")
+    void PersonFilmsDirected_AtMostTwoStatements() {
+        Collection<Film> films = assertStatements(MAX_STATEMENTS, () -> personService.getFilmsDirected(3L));
+
+        assertThat(films).extracting(Film::getTitle).containsExactlyInAnyOrder("Thor: Ragnarok", "Jojo Rabbit");
+    }
+}
@@ -0,0 +1,165 @@
+package com.demo.filmdb.cache;
+
+import com.demo.filmdb.director.DirectorService;
+import com.demo.filmdb.export.ExportService;
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonRepository;
+import com.demo.filmdb.person.PersonService;
+import com.demo.filmdb.role.Role;
+import com.demo.filmdb.role.RoleRepository;
+import com.demo.filmdb.role.RoleService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Second-level cache")
+public class EntityCacheTests {
+
+    @Autowired
+    private FilmService filmService;
+    @Autowired
+    private PersonService personService;
+    @Autowired
+    private RoleService roleService;
+    @Autowired
+    private DirectorService directorService;
+    @Autowired
+    private FilmRepository filmRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long filmId;
+    private Long personId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        filmId = filmRepository.save(new Film("Cached film", LocalDate.of(2000, 1, 1), null)).getId();
+        personId = personRepository.save(new Person("Cached person", null)).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        filmService.deleteFilm(filmId);
+        personService.deletePerson(personId);
+    }
+
+    @Test
+    @DisplayName("Repeated film reads, served from the cache")
+    void RepeatedReads_CacheHit() {
+        filmService.getFilm(filmId);
+        long statements = statistics.getPrepareStatementCount();
+
+        Film film = filmService.getFilm(filmId).orElseThrow();
+
+        assertThat(film.getTitle()).isEqualTo("Cached film");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        CacheRegionStatistics filmRegion = statistics.getDomainDataRegionStatistics(CacheRegions.FILM);
+        assertThat(filmRegion.getMissCount()).isEqualTo(1);
+        assertThat(filmRegion.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deleted role, evicted from the cached cast")
+    void DeletedRole_EvictedFromCast() {
+        transactionTemplate.executeWithoutResult(status -> roleRepository.save(new Role(
+                filmRepository.findById(filmId).orElseThrow(),
+                personRepository.findById(personId).orElseThrow(),
+                "Cached character")));
+        assertThat(castPersonIds()).containsExactly(personId);
+
+        roleService.deleteRole(filmId, personId);
+
+        assertThat(castPersonIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deleted person, evicted from the cached cast")
+    void DeletedPerson_EvictedFromCast() {
+        transactionTemplate.executeWithoutResult(status -> roleRepository.save(new Role(
+                filmRepository.findById(filmId).orElseThrow(),
+                personRepository.findById(personId).orElseThrow(),
+                "Cached character")));
+        assertThat(castPersonIds()).containsExactly(personId);
+
+        personService.deletePerson(personId);
+
+        assertThat(castPersonIds()).isEmpty();
+        assertThat(roleRepository.existsById(new Role.Id(filmId, personId))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deleted film, evicted from the cached films directed")
+    void DeletedFilm_EvictedFromFilmsDirected() {
+        directorService.updateDirectors(filmId, List.of(personId));
+        assertThat(filmsDirectedIds()).containsExactly(filmId);
+
+        filmService.deleteFilm(filmId);
+
+        assertThat(filmsDirectedIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Updated directors, refreshed in the cached films directed")
+    void UpdatedDirectors_FilmsDirectedRefreshed() {
+        assertThat(filmsDirectedIds()).isEmpty();
+
+        directorService.updateDirectors(filmId, List.of(personId));
+
+        assertThat(filmsDirectedIds()).containsExactly(filmId);
+    }
+
+    @Test
+    @DisplayName("Export, doesn't fill the cache")
+    void Export_NoCachePuts() throws Exception {
+        exportService.exportFilms(film -> {});
+        exportService.exportPeople(person -> {});
+        exportService.exportRoles(role -> {});
+
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    /**
+     * Loads the cast by navigating from the film, which reads the cached collection if present
+     */
+    private List<Long> castPersonIds() {
+        return transactionTemplate.execute(status -> filmRepository.findById(filmId).orElseThrow().getCast().stream()
+                .map(role -> role.getId().getPersonId())
+                .toList());
+    }
+
+    private List<Long> filmsDirectedIds() {
+        return transactionTemplate.execute(status ->
+                personRepository.findById(personId).orElseThrow().getFilmsDirected().stream()
+                        .map(Film::getId)
+                        .toList());
+    }
+}
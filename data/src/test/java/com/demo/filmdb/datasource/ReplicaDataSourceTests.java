@@ -0,0 +1,152 @@
+package com.demo.filmdb.datasource;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two H2 databases stand in for the primary and the replica. The replica has the same schema and data, except for the
+ * title of a film, which tells which database a read went to.
+ */
+@SpringBootTest(properties = {
+        "filmdb.datasource.replica.url=" + ReplicaDataSourceTests.REPLICA_URL,
+        "filmdb.datasource.replica.max-lag=0s"
+})
+@DisplayName("Replica data source")
+public class ReplicaDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:filmdb-replica;DB_CLOSE_DELAY=-1";
+    private static final Long FILM_ID = 1L;
+    private static final String PRIMARY_TITLE = "Thor: Ragnarok";
+    private static final String REPLICA_TITLE = "Thor: Ragnarok (replica)";
+
+    @Autowired
+    private FilmService filmService;
+    @Autowired
+    private FilmRepository filmRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void createReplica() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL);
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/h2/schema.sql"));
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/h2/data.sql"));
+            statement.executeUpdate("UPDATE film SET title = '" + REPLICA_TITLE + "' WHERE id = " + FILM_ID);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // reads served from the entity cache wouldn't reach any database
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Read outside of a transaction, reads the replica")
+    void NonTransactionalRead_Replica() {
+        Film film = filmService.getFilm(FILM_ID).orElseThrow();
+
+        assertThat(film.getTitle()).isEqualTo(REPLICA_TITLE);
+    }
+
+    @Test
+    @DisplayName("Read-only transaction, reads the replica")
+    void ReadOnlyTransaction_Replica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        String title = readOnly.execute(status -> filmRepository.findById(FILM_ID).orElseThrow().getTitle());
+
+        assertThat(title).isEqualTo(REPLICA_TITLE);
+    }
+
+    @Test
+    @DisplayName("Read-write transaction, reads the primary")
+    void ReadWriteTransaction_Primary() {
+        String title = transactionTemplate.execute(status -> filmRepository.findById(FILM_ID).orElseThrow().getTitle());
+
+        assertThat(title).isEqualTo(PRIMARY_TITLE);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "filmdb.datasource.replica.max-lag=1h")
+    @DisplayName("With replication lag")
+    class WithLag {
+
+        @AfterEach
+        void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+
+        @Test
+        @DisplayName("Read after an own write, reads the primary")
+        void ReadAfterOwnWrite_Primary() {
+            authenticate("writer");
+            transactionTemplate.executeWithoutResult(status -> personRepository.save(new Person("Written", null)));
+
+            Film film = filmService.getFilm(FILM_ID).orElseThrow();
+
+            assertThat(film.getTitle()).isEqualTo(PRIMARY_TITLE);
+        }
+
+        @Test
+        @DisplayName("Read after a write of another user, reads the replica")
+        void ReadAfterOtherWrite_Replica() {
+            authenticate("other writer");
+            transactionTemplate.executeWithoutResult(status -> personRepository.save(new Person("Written", null)));
+            authenticate("reader");
+
+            Film film = filmService.getFilm(FILM_ID).orElseThrow();
+
+            assertThat(film.getTitle()).isEqualTo(REPLICA_TITLE);
+        }
+
+        @Test
+        @DisplayName("Anonymous read after a write, reads the replica")
+        void AnonymousReadAfterWrite_Replica() {
+            authenticate("anonymous writer");
+            transactionTemplate.executeWithoutResult(status -> personRepository.save(new Person("Written", null)));
+            SecurityContextHolder.clearContext();
+
+            Film film = filmService.getFilm(FILM_ID).orElseThrow();
+
+            assertThat(film.getTitle()).isEqualTo(REPLICA_TITLE);
+        }
+
+        private static void authenticate(String user) {
+            SecurityContextHolder.getContext()
+                    .setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCollection;
 
 @DataJpaTest
@@ -63,4 +64,17 @@ public class FilmEntityEqualityTests {
             em.getTransaction().commit();
         }
     }
+
+    @Test
+    @DisplayName("Equality should agree with the hash code for a loaded entity and an instance built with its id")
+    void loadedAndBuiltWithId_consistent() {
+        Film built = new Film(1L, "Thor: Ragnarok", LocalDate.of(2017, 10, 10), null);
+
+        try (var em = emf.createEntityManager()) {
+            Film loaded = em.find(Film.class, 1L);
+
+            assertThat(loaded).isNotEqualTo(built);
+            assertThatCollection(Set.of(loaded)).doesNotContain(built);
+        }
+    }
 }
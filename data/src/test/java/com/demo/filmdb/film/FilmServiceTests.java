@@ -1,6 +1,7 @@
 package com.demo.filmdb.film;
 
 import com.demo.filmdb.ServiceTest;
+import com.demo.filmdb.cache.AssociationCacheEvictor;
 import com.demo.filmdb.person.Person;
 import com.demo.filmdb.role.Role;
 import com.demo.filmdb.util.EntityNotFoundException;
@@ -14,14 +15,19 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mapstruct.factory.Mappers;
 import org.mockito.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.demo.filmdb.util.Creators.*;
@@ -31,6 +37,7 @@ import static org.assertj.core.api.CollectionAssert.assertThatCollection;
 import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_WITH_NAMES_PLACEHOLDER;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -41,10 +48,14 @@ class FilmServiceTests extends ServiceTest {
     private final FilmInfoMapper filmMapper = Mappers.getMapper(FilmInfoMapper.class);
     @Mock
     private FilmSpecs filmSpecs;
+    @Mock
+    private FilmSearchIndex filmSearchIndex;
+    @Mock
+    private AssociationCacheEvictor cacheEvictor;
 
     @BeforeEach
     void setUp() {
-        filmService = new FilmService(filmRepository, roleRepository, filmMapper, filmSpecs);
+        filmService = new FilmService(filmRepository, roleRepository, filmMapper, filmSpecs, filmSearchIndex, cacheEvictor);
     }
 
     @Nested
@@ -92,7 +103,7 @@ class FilmServiceTests extends ServiceTest {
                 var pageable = PageRequest.of(pageNumber, pageSize, direction, sortBy);
                 String title = "world";
                 LocalDate releaseBefore = LocalDate.of(2222, 2, 2);
-                given(filmSpecs.titleContains(title)).willReturn(emptySpec());
+                given(filmSearchIndex.matching(title)).willReturn(emptySpec());
                 given(filmSpecs.releaseAfter(null)).willReturn(emptySpec());
                 given(filmSpecs.releaseBefore(releaseBefore)).willReturn(emptySpec());
 
@@ -110,10 +121,26 @@ class FilmServiceTests extends ServiceTest {
                 assert actualSort != null;
                 assertThat(actualSort.getDirection()).isEqualTo(direction);
                 // verify filtering
-                verify(filmSpecs).titleContains(title);
+                verify(filmSearchIndex).matching(title);
                 verify(filmSpecs).releaseAfter(null);
                 verify(filmSpecs).releaseBefore(releaseBefore);
             }
+
+            @Test
+            @DisplayName("Unsorted, orders matches by relevance")
+            void Unsorted_OrdersByRelevance() {
+                String title = "world";
+                Pageable pageable = PageRequest.of(0, 2);
+                given(filmSearchIndex.rankedMatching(title)).willReturn(emptySpec());
+                given(filmSpecs.releaseAfter(null)).willReturn(emptySpec());
+                given(filmSpecs.releaseBefore(null)).willReturn(emptySpec());
+
+                filmService.getFilms(pageable, title, null, null);
+
+                verify(filmSearchIndex).rankedMatching(title);
+                verify(filmSearchIndex, never()).matching(any());
+                verify(filmRepository).findAll(ArgumentMatchers.<Specification<Film>>any(), eq(pageable));
+            }
         }
 
         @Nested
@@ -122,20 +149,20 @@ class FilmServiceTests extends ServiceTest {
 
             @Captor
             ArgumentCaptor<Pageable> pageableCaptor;
+            @Captor
+            ArgumentCaptor<Function<FluentQuery.FetchableFluentQuery<Film>, Object>> queryCaptor;
 
             @Test
             @DisplayName("Valid paging, calls repository correctly")
             void PagingArguments_CallsRepositoryCorrectly() {
                 int pageNumber = 4;
                 int pageSize = 8;
-                given(filmSpecs.titleContains(null)).willReturn(emptySpec());
                 given(filmSpecs.releaseAfter(null)).willReturn(emptySpec());
                 given(filmSpecs.releaseBefore(null)).willReturn(emptySpec());
 
                 filmService.getFilms(pageNumber, pageSize, null, null, null, null, null);
 
-                verify(filmRepository).findAll(ArgumentMatchers.<Specification<Film>>any(), pageableCaptor.capture());
-                Pageable pageable = pageableCaptor.getValue();
+                Pageable pageable = slicedPageable();
                 assertThat(pageable.getPageNumber()).isEqualTo(pageNumber);
                 assertThat(pageable.getPageSize()).isEqualTo(pageSize);
             }
@@ -145,14 +172,12 @@ class FilmServiceTests extends ServiceTest {
             void SortArguments_CallsRepositoryCorrectly() {
                 String sortBy = "title";
                 var direction = Sort.Direction.DESC;
-                given(filmSpecs.titleContains(null)).willReturn(emptySpec());
                 given(filmSpecs.releaseAfter(null)).willReturn(emptySpec());
                 given(filmSpecs.releaseBefore(null)).willReturn(emptySpec());
 
                 filmService.getFilms(1, 2, sortBy, direction, null, null, null);
 
-                verify(filmRepository).findAll(ArgumentMatchers.<Specification<Film>>any(), pageableCaptor.capture());
-                Sort sort = pageableCaptor.getValue().getSort();
+                Sort sort = slicedPageable().getSort();
                 Sort.Order order = sort.getOrderFor(sortBy);
                 assertThat(order).as("Sort order").isNotNull();
                 assert order != null;
@@ -165,19 +190,89 @@ class FilmServiceTests extends ServiceTest {
                 String title = "island";
                 LocalDate releaseAfter = LocalDate.of(2000, 2, 2);
                 LocalDate releaseBefore = LocalDate.of(1000, 1, 1);
-                given(filmSpecs.titleContains(title)).willReturn(emptySpec());
+                given(filmSearchIndex.rankedMatching(title)).willReturn(emptySpec());
+                given(filmSpecs.releaseAfter(releaseAfter)).willReturn(emptySpec());
+                given(filmSpecs.releaseBefore(releaseBefore)).willReturn(emptySpec());
+
+                filmService.getFilms(0, 2, null, null, title, releaseAfter, releaseBefore);
+
+                verify(filmSearchIndex).rankedMatching(title);
+                verify(filmSpecs).releaseAfter(releaseAfter);
+                verify(filmSpecs).releaseBefore(releaseBefore);
+                slicedPageable();
+            }
+
+            /**
+             * Applies the query function passed to the repository and returns the pageable it was sliced with
+             */
+            @SuppressWarnings("unchecked")
+            private Pageable slicedPageable() {
+                verify(filmRepository).findBy(ArgumentMatchers.<Specification<Film>>any(), queryCaptor.capture());
+                FluentQuery.FetchableFluentQuery<Film> query = mock(FluentQuery.FetchableFluentQuery.class);
+                queryCaptor.getValue().apply(query);
+                verify(query).slice(pageableCaptor.capture());
+                return pageableCaptor.getValue();
+            }
+        }
+
+        @Nested
+        @DisplayName("with scroll position")
+        class WithScrollPosition {
+
+            @Test
+            @DisplayName("Valid arguments, scrolls repository with filter")
+            void ValidArguments_ScrollsRepository() {
+                String title = "island";
+                LocalDate releaseAfter = LocalDate.of(2000, 2, 2);
+                LocalDate releaseBefore = LocalDate.of(2010, 1, 1);
+                given(filmSearchIndex.matching(title)).willReturn(emptySpec());
                 given(filmSpecs.releaseAfter(releaseAfter)).willReturn(emptySpec());
                 given(filmSpecs.releaseBefore(releaseBefore)).willReturn(emptySpec());
 
-                filmService.getFilms(1, 2, null, null, title, releaseAfter, releaseBefore);
+                filmService.getFilms(ScrollPosition.keyset(), 10, Sort.by("title"), title, releaseAfter, releaseBefore);
 
-                verify(filmSpecs).titleContains(title);
+                verify(filmSearchIndex).matching(title);
                 verify(filmSpecs).releaseAfter(releaseAfter);
                 verify(filmSpecs).releaseBefore(releaseBefore);
+                verify(filmRepository).findBy(ArgumentMatchers.<Specification<Film>>any(), any());
             }
         }
     }
 
+    @Nested
+    @DisplayName("countFilms")
+    class CountFilms {
+
+        @Test
+        @DisplayName("Filter arguments, counts with specification")
+        void FilterArguments_Counts() {
+            String title = "island";
+            LocalDate releaseAfter = LocalDate.of(2000, 2, 2);
+            given(filmSearchIndex.matching(title)).willReturn(emptySpec());
+            given(filmSpecs.releaseAfter(releaseAfter)).willReturn(emptySpec());
+            given(filmRepository.count(ArgumentMatchers.<Specification<Film>>any())).willReturn(1L);
+
+            long actual = filmService.countFilms(title, releaseAfter, null);
+
+            assertThat(actual).isEqualTo(1L);
+            verify(filmSearchIndex).matching(title);
+            verify(filmSpecs).releaseAfter(releaseAfter);
+        }
+
+        @Test
+        @DisplayName("Search, counts every match in the database")
+        void Search_CountsEveryMatch() {
+            String title = "island";
+            given(filmSearchIndex.matching(title)).willReturn(emptySpec());
+            given(filmRepository.count(ArgumentMatchers.<Specification<Film>>any())).willReturn(1500L);
+
+            long actual = filmService.countFilms(title, null, null);
+
+            assertThat(actual).isEqualTo(1500L);
+            verify(filmSearchIndex, never()).rankedMatching(any());
+        }
+    }
+
     @Nested
     @DisplayName("createFilm")
     class CreateFilm {
@@ -202,6 +297,8 @@ class FilmServiceTests extends ServiceTest {
             assertThat(actual.getTitle()).isEqualTo(title);
             assertThat(actual.getReleaseDate()).isEqualTo(releaseDate);
             assertThat(actual.getSynopsis()).isEqualTo(synopsis);
+            // assert indexed
+            verify(filmSearchIndex).index(actual);
         }
     }
 
@@ -246,13 +343,13 @@ class FilmServiceTests extends ServiceTest {
             // find existing person
             given(filmRepository.findById(filmId)).willReturn(Optional.of(existingFilm));
             // return updated person
-            when(filmRepository.save(any(Film.class))).then(AdditionalAnswers.returnsFirstArg());
+            when(filmRepository.saveAndFlush(any(Film.class))).then(AdditionalAnswers.returnsFirstArg());
 
             Film actual = filmService.updateFilm(filmId, createFilmInfo(title, releaseDate, synopsis));
 
             // assert saved
             var updatedFilmCaptor = ArgumentCaptor.forClass(Film.class);
-            verify(filmRepository).save(updatedFilmCaptor.capture());
+            verify(filmRepository).saveAndFlush(updatedFilmCaptor.capture());
             Film updatedFilm = updatedFilmCaptor.getValue();
             assertThat(updatedFilm.getId()).isEqualTo(filmId);
             assertThat(updatedFilm.getTitle()).isEqualTo(title);
@@ -263,6 +360,8 @@ class FilmServiceTests extends ServiceTest {
             assertThat(actual.getTitle()).isEqualTo(title);
             assertThat(actual.getReleaseDate()).isEqualTo(releaseDate);
             assertThat(actual.getSynopsis()).isEqualTo(synopsis);
+            // assert indexed
+            verify(filmSearchIndex).index(actual);
         }
 
         @Test
@@ -274,6 +373,19 @@ class FilmServiceTests extends ServiceTest {
                     filmService.updateFilm(1L, createFilmInfo("Interstellar", LocalDate.of(2014, 10, 26), "When Earth becomes uninhabitable"))
             );
         }
+
+        @Test
+        @DisplayName("Other version, throws OptimisticLockingFailureException")
+        void OtherVersion_Throws() {
+            Film film = mock(Film.class);
+            given(film.getVersion()).willReturn(2L);
+            given(filmRepository.findById(1L)).willReturn(Optional.of(film));
+
+            assertThatExceptionOfType(OptimisticLockingFailureException.class).isThrownBy(() ->
+                    filmService.updateFilm(1L, createFilmInfo("Interstellar", LocalDate.of(2014, 10, 26), "When Earth becomes uninhabitable"), 1L)
+            );
+            verify(filmRepository, never()).saveAndFlush(any());
+        }
     }
 
     @Nested
@@ -281,14 +393,68 @@ class FilmServiceTests extends ServiceTest {
     class DeleteFilm {
 
         @Test
-        @DisplayName("Deletes correctly")
-        void ExistingId_DeletesFilm() {
-            final Long expectedId = 1L;
+        @DisplayName("Existing id, deletes with one statement")
+        void ExistingId_Deletes() {
+            final Long filmId = 1L;
+            given(filmRepository.deleteFilmById(filmId)).willReturn(1);
 
-            filmService.deleteFilm(expectedId);
+            int actual = filmService.deleteFilm(filmId);
 
-            verify(filmRepository).deleteById(expectedId);
-            verify(roleRepository).deleteById_FilmId(expectedId);
+            assertThat(actual).isEqualTo(1);
+            verify(filmRepository, never()).findById(any());
+            // roles and director associations are deleted by the database, so their cached copies must be evicted
+            verify(cacheEvictor).evictAfterCascadingDelete();
+            verify(filmSearchIndex).remove(filmId);
+        }
+
+        @Test
+        @DisplayName("Not existing id, returns 0")
+        void NotExistingId_ReturnsZero() {
+            final Long filmId = 1L;
+            given(filmRepository.deleteFilmById(filmId)).willReturn(0);
+
+            int actual = filmService.deleteFilm(filmId);
+
+            assertThat(actual).isZero();
+            verify(cacheEvictor, never()).evictAfterCascadingDelete();
+            verify(filmSearchIndex, never()).remove(any());
+        }
+
+        @Test
+        @DisplayName("Expected version, deletes")
+        void ExpectedVersion_Deletes() {
+            final Long filmId = 1L;
+            given(filmRepository.deleteFilmByIdAndVersion(filmId, 2L)).willReturn(1);
+
+            int actual = filmService.deleteFilm(filmId, 2L);
+
+            assertThat(actual).isEqualTo(1);
+            verify(filmSearchIndex).remove(filmId);
+        }
+
+        @Test
+        @DisplayName("Other version, throws OptimisticLockingFailureException")
+        void OtherVersion_Throws() {
+            final Long filmId = 1L;
+            given(filmRepository.deleteFilmByIdAndVersion(filmId, 2L)).willReturn(0);
+            given(filmRepository.existsById(filmId)).willReturn(true);
+
+            assertThatExceptionOfType(OptimisticLockingFailureException.class).isThrownBy(() ->
+                    filmService.deleteFilm(filmId, 2L)
+            );
+            verify(filmSearchIndex, never()).remove(any());
+        }
+
+        @Test
+        @DisplayName("Expected version, not existing id, returns 0")
+        void ExpectedVersionNotExistingId_ReturnsZero() {
+            final Long filmId = 1L;
+            given(filmRepository.deleteFilmByIdAndVersion(filmId, 2L)).willReturn(0);
+            given(filmRepository.existsById(filmId)).willReturn(false);
+
+            int actual = filmService.deleteFilm(filmId, 2L);
+
+            assertThat(actual).isZero();
         }
     }
 
@@ -326,11 +492,10 @@ class FilmServiceTests extends ServiceTest {
         @Test
         @DisplayName("Existing id, returns cast")
         void ExistingId_ReturnsCorrectly() {
-            Film film = mock(Film.class);
             final Long filmId = 1L;
             final Role role = createRole(filmId, 2L, "Bane");
-            when(film.getCast()).thenReturn(Set.of(role));
-            given(filmRepository.findById(filmId)).willReturn(Optional.of(film));
+            given(filmRepository.existsById(filmId)).willReturn(true);
+            given(roleRepository.findAllByFilmIdIn(List.of(filmId))).willReturn(List.of(role));
 
             var actualCast = filmService.getCast(filmId);
 
@@ -340,11 +505,12 @@ class FilmServiceTests extends ServiceTest {
         @Test
         @DisplayName("Not existing id, throws EntityNotFoundException")
         void NotExistingId_Throws() {
-            given(filmRepository.findById(anyLong())).willReturn(Optional.empty());
+            given(filmRepository.existsById(anyLong())).willReturn(false);
 
             assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
                     filmService.getCast(1L)
             );
+            verifyNoInteractions(roleRepository);
         }
     }
 
@@ -359,7 +525,7 @@ class FilmServiceTests extends ServiceTest {
             final Long filmId = 1L;
             final Person director = createPerson(2L);
             when(film.getDirectors()).thenReturn(Set.of(director));
-            given(filmRepository.findById(filmId)).willReturn(Optional.of(film));
+            given(filmRepository.findWithDirectorsById(filmId)).willReturn(Optional.of(film));
 
             var actualDirectors = filmService.getDirectors(filmId);
 
@@ -369,7 +535,7 @@ class FilmServiceTests extends ServiceTest {
         @Test
         @DisplayName("Not existing id, throws EntityNotFoundException")
         void NotExistingId_Throws() {
-            given(filmRepository.findById(anyLong())).willReturn(Optional.empty());
+            given(filmRepository.findWithDirectorsById(anyLong())).willReturn(Optional.empty());
 
             assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
                     filmService.getDirectors(1L)
@@ -377,6 +543,61 @@ class FilmServiceTests extends ServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getCast for multiple films")
+    class getCastBatch {
+
+        @Test
+        @DisplayName("Existing ids, groups cast by film id")
+        void ExistingIds_GroupsByFilm() {
+            final Role firstRole = createRole(1L, 3L, "Bane");
+            final Role secondRole = createRole(2L, 3L, "Batman");
+            final Role thirdRole = createRole(2L, 4L, "Alfred");
+            given(roleRepository.findAllByFilmIdIn(List.of(1L, 2L))).willReturn(List.of(firstRole, secondRole, thirdRole));
+
+            var actualCast = filmService.getCast(List.of(1L, 2L));
+
+            assertThatCollection(actualCast.get(1L)).containsExactly(firstRole);
+            assertThatCollection(actualCast.get(2L)).containsExactly(secondRole, thirdRole);
+        }
+
+        @Test
+        @DisplayName("No ids, doesn't query")
+        void NoIds_DoesNotQuery() {
+            var actualCast = filmService.getCast(List.of());
+
+            assertThat(actualCast.isEmpty()).isTrue();
+            verifyNoInteractions(roleRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getDirectors for multiple films")
+    class getDirectorsBatch {
+
+        @Test
+        @DisplayName("Existing ids, maps directors by film id")
+        void ExistingIds_MapsByFilm() {
+            final Film film = createFilm(1L);
+            final Person director = createPerson(2L);
+            film.addDirector(director);
+            given(filmRepository.findAllWithDirectorsByIdIn(List.of(1L))).willReturn(List.of(film));
+
+            var actualDirectors = filmService.getDirectors(List.of(1L));
+
+            assertThatCollection(actualDirectors.get(1L)).containsExactly(director);
+        }
+
+        @Test
+        @DisplayName("No ids, doesn't query")
+        void NoIds_DoesNotQuery() {
+            var actualDirectors = filmService.getDirectors(List.of());
+
+            assertThat(actualDirectors.isEmpty()).isTrue();
+            verifyNoInteractions(filmRepository);
+        }
+    }
+
     // Util
 
     private static Stream<Arguments> validFilmInfoProvider() {
@@ -12,6 +12,8 @@ import java.util.List;
 import static com.demo.filmdb.util.Creators.*;
 import static org.assertj.core.api.Assertions.assertThatCollection;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @DisplayName("Film")
 public class FilmTests {
@@ -169,4 +171,24 @@ public class FilmTests {
             );
         }
     }
+
+    @Nested
+    class hashCode {
+
+        @Test
+        @DisplayName("Films with the same id have equal hash codes")
+        void sameId_equalHashCodes() {
+            assertEquals(createFilm(1L).hashCode(), createFilm(1L).hashCode());
+        }
+
+        @Test
+        @DisplayName("Different films have different hash codes")
+        void differentFilms_differentHashCodes() {
+            Film film1 = new Film("Jaws", LocalDate.of(1975, 6, 20), null);
+            Film film2 = new Film("Jaws 2", LocalDate.of(1978, 6, 16), null);
+
+            assertNotEquals(film1.hashCode(), film2.hashCode());
+            assertNotEquals(createFilm(1L).hashCode(), createFilm(2L).hashCode());
+        }
+    }
 }
@@ -0,0 +1,104 @@
+package com.demo.filmdb.generator;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.film.FilmSearchIndex;
+import com.demo.filmdb.person.PersonSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("CatalogGenerator")
+class CatalogGeneratorTests {
+
+    private static final CatalogGeneratorProperties PROPERTIES = new CatalogGeneratorProperties(250, 3, 7, 100, 40, 3);
+
+    @Autowired
+    private CatalogGenerator generator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private FilmRepository filmRepository;
+    @Autowired
+    private FilmSearchIndex filmSearchIndex;
+    @Autowired
+    private PersonSearchIndex personSearchIndex;
+
+    private GeneratedCatalog generated;
+
+    @AfterEach
+    void tearDown() {
+        if (generated == null) return;
+        long lastFilmId = generated.filmId(generated.films() - 1);
+        long lastPersonId = generated.personId(generated.people() - 1);
+        jdbcTemplate.update("DELETE FROM role WHERE film_id BETWEEN ? AND ?", generated.firstFilmId(), lastFilmId);
+        jdbcTemplate.update("DELETE FROM film_person_directed WHERE film_id BETWEEN ? AND ?",
+                generated.firstFilmId(), lastFilmId);
+        jdbcTemplate.update("DELETE FROM film WHERE id BETWEEN ? AND ?", generated.firstFilmId(), lastFilmId);
+        jdbcTemplate.update("DELETE FROM person WHERE id BETWEEN ? AND ?", generated.firstPersonId(), lastPersonId);
+        for (int i = 0; i < generated.films(); i++) {
+            filmSearchIndex.remove(generated.filmId(i));
+        }
+        for (int i = 0; i < generated.people(); i++) {
+            personSearchIndex.remove(generated.personId(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Writes the synthetic catalog after the existing rows")
+    void Generate_WritesCatalog() throws Exception {
+        SyntheticCatalog catalog = new SyntheticCatalog(PROPERTIES);
+        Long maxFilmId = jdbcTemplate.queryForObject("SELECT max(id) FROM film", Long.class);
+
+        generated = generator.generate(PROPERTIES);
+
+        assertThat(generated.firstFilmId()).isGreaterThan(maxFilmId);
+        assertThat(count("SELECT count(*) FROM film WHERE id >= ?", generated.firstFilmId())).isEqualTo(250L);
+        assertThat(count("SELECT count(*) FROM person WHERE id >= ?", generated.firstPersonId())).isEqualTo(750L);
+        assertThat(count("SELECT count(*) FROM role WHERE film_id >= ?", generated.firstFilmId()))
+                .isEqualTo(generated.roles());
+
+        SyntheticCatalog.FilmRow film = catalog.film(123);
+        long filmId = generated.filmId(123);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM film WHERE id = ?", String.class, filmId))
+                .isEqualTo(film.title());
+        assertThat(jdbcTemplate.queryForList("SELECT person_id FROM role WHERE film_id = ?", Long.class, filmId))
+                .containsExactlyInAnyOrderElementsOf(
+                        film.cast().stream().map(role -> generated.personId(role.person())).toList());
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT person_id FROM film_person_directed WHERE film_id = ?", Long.class, filmId))
+                .containsExactlyInAnyOrderElementsOf(film.directors().stream().map(generated::personId).toList());
+        assertThat(filmRepository.findAll(filmSearchIndex.matching(film.title())).stream().map(Film::getId))
+                .contains(filmId);
+    }
+
+    @Test
+    @DisplayName("Starts after the id blocks already handed out by the sequences")
+    void Generate_SkipsHandedOutBlocks() throws Exception {
+        // block of allocation size ids held by a running application
+        Long heldFilmId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR film_seq", Long.class);
+
+        generated = generator.generate(PROPERTIES);
+
+        assertThat(generated.firstFilmId()).isGreaterThanOrEqualTo(heldFilmId + 50);
+    }
+
+    @Test
+    @DisplayName("Moves the id sequences past the generated rows")
+    void Generate_RestartsSequences() throws Exception {
+        generated = generator.generate(PROPERTIES);
+
+        Long nextFilmId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR film_seq", Long.class);
+        assertThat(nextFilmId).isGreaterThan(generated.filmId(generated.films() - 1));
+    }
+
+    private Long count(String sql, long firstId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, firstId);
+    }
+}
@@ -0,0 +1,107 @@
+package com.demo.filmdb.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SyntheticCatalog")
+class SyntheticCatalogTests {
+
+    private final SyntheticCatalog catalog = new SyntheticCatalog(CatalogGeneratorProperties.of(2000, 42));
+
+    @Nested
+    @DisplayName("Determinism")
+    class Determinism {
+
+        @Test
+        @DisplayName("Same seed, expect same films and people")
+        void SameSeed_SameCatalog() {
+            SyntheticCatalog other = new SyntheticCatalog(CatalogGeneratorProperties.of(2000, 42));
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(other.film(i)).isEqualTo(catalog.film(i));
+                assertThat(other.person(i)).isEqualTo(catalog.person(i));
+            }
+        }
+
+        @Test
+        @DisplayName("Film generated out of order, expect same film")
+        void OutOfOrder_SameFilm() {
+            SyntheticCatalog.FilmRow film = catalog.film(1500);
+            catalog.film(3);
+
+            assertThat(catalog.film(1500)).isEqualTo(film);
+        }
+
+        @Test
+        @DisplayName("Other seed, expect other films")
+        void OtherSeed_OtherCatalog() {
+            SyntheticCatalog other = new SyntheticCatalog(CatalogGeneratorProperties.of(2000, 43));
+
+            int sameFilms = 0;
+            for (int i = 0; i < 100; i++) {
+                if (other.film(i).equals(catalog.film(i))) sameFilms++;
+            }
+            assertThat(sameFilms).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Films")
+    class Films {
+
+        @Test
+        @DisplayName("Casts and directors are distinct existing people")
+        void CastAndDirectors_DistinctPeople() {
+            for (int i = 0; i < catalog.films(); i++) {
+                SyntheticCatalog.FilmRow film = catalog.film(i);
+                Set<Integer> actors = new HashSet<>();
+                film.cast().forEach(role -> actors.add(role.person()));
+
+                assertThat(actors).hasSameSizeAs(film.cast())
+                        .allMatch(person -> person >= 0 && person < catalog.people());
+                assertThat(film.directors()).doesNotHaveDuplicates().hasSizeBetween(1, 3)
+                        .allMatch(person -> person >= 0 && person < catalog.people());
+                assertThat(film.cast()).hasSizeBetween(1, 100);
+            }
+        }
+
+        @Test
+        @DisplayName("Cast sizes are skewed towards small casts")
+        void CastSizes_Skewed() {
+            long roles = 0;
+            int smallCasts = 0;
+            int largeCasts = 0;
+            for (int i = 0; i < catalog.films(); i++) {
+                int castSize = catalog.film(i).cast().size();
+                roles += castSize;
+                if (castSize <= 3) smallCasts++;
+                if (castSize > 50) largeCasts++;
+            }
+
+            assertThat(roles / catalog.films()).isBetween(10L, 25L);
+            assertThat(smallCasts).isGreaterThan(largeCasts * 2);
+            assertThat(largeCasts).isPositive();
+        }
+
+        @Test
+        @DisplayName("Some people play in many films")
+        void Roles_ProlificActors() {
+            Map<Integer, Integer> rolesPerPerson = new HashMap<>();
+            for (int i = 0; i < catalog.films(); i++) {
+                catalog.film(i).cast().forEach(role -> rolesPerPerson.merge(role.person(), 1, Integer::sum));
+            }
+            int maxRoles = rolesPerPerson.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+            double meanRoles = rolesPerPerson.values().stream().mapToInt(Integer::intValue).average().orElseThrow();
+
+            assertThat(maxRoles).isGreaterThan((int) (meanRoles * 10));
+        }
+    }
+}
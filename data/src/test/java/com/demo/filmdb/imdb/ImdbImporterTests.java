@@ -0,0 +1,146 @@
+package com.demo.filmdb.imdb;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static com.demo.filmdb.imdb.ImdbImporter.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("ImdbImporter")
+class ImdbImporterTests {
+
+    private static final String IMPORTED_FILMS = "SELECT count(*) FROM film WHERE imdb_id LIKE 'tt90000%'";
+
+    @Autowired
+    private ImdbImporter importer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM film WHERE imdb_id LIKE 'tt90000%'");
+        jdbcTemplate.update("DELETE FROM person WHERE imdb_id LIKE 'nm90000%'");
+    }
+
+    @Test
+    @DisplayName("Imports films, people, roles and directors")
+    void Dataset_Imports() throws Exception {
+        writeDataset();
+
+        importer.importAll(properties(2));
+
+        assertThat(jdbcTemplate.queryForObject(IMPORTED_FILMS, Long.class)).isEqualTo(3);
+        assertThat(title("tt9000001")).isEqualTo("First");
+        assertThat(jdbcTemplate.queryForList("SELECT p.imdb_id FROM role r JOIN person p ON p.id = r.person_id" +
+                " WHERE r.film_id = ?", String.class, filmId("tt9000001")))
+                .containsExactlyInAnyOrder("nm9000001", "nm9000002");
+        assertThat(jdbcTemplate.queryForList("SELECT p.imdb_id FROM film_person_directed d" +
+                " JOIN person p ON p.id = d.person_id WHERE d.film_id = ?", String.class, filmId("tt9000002")))
+                .containsExactly("nm9000003");
+        // the skipped short and its principal aren't imported
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM film WHERE imdb_id = 'tt9000004'", Long.class))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Assigns ids from the sequence and leaves existing rows with the same ids alone")
+    void Dataset_AssignsSequenceIds() throws Exception {
+        String existingTitle = jdbcTemplate.queryForObject("SELECT title FROM film WHERE id = 1", String.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM film WHERE imdb_id IS NULL", Long.class);
+        write(NAMES_FILE, "nconst\tprimaryName\tbirthYear\tdeathYear\tprimaryProfession\tknownForTitles");
+        write(TITLES_FILE,
+                "tconst\ttitleType\tprimaryTitle\toriginalTitle\tisAdult\tstartYear\tendYear\truntimeMinutes\tgenres",
+                "tt9000001\tmovie\tFirst\tFirst\t0\t2001\t\\N\t90\tDrama");
+        write(PRINCIPALS_FILE, "tconst\tordering\tnconst\tcategory\tjob\tcharacters");
+
+        importer.importAll(properties(1));
+
+        assertThat(filmId("tt9000001")).isGreaterThan(maxId);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM film WHERE id = 1", String.class))
+                .isEqualTo(existingTitle);
+    }
+
+    @Test
+    @DisplayName("Skips malformed rows and imports the rest")
+    void MalformedRows_Skipped() throws Exception {
+        writeDataset();
+        write(TITLES_FILE,
+                "tconst\ttitleType\tprimaryTitle\toriginalTitle\tisAdult\tstartYear\tendYear\truntimeMinutes\tgenres",
+                "tt9000001\tmovie\tFirst\tFirst\t0\t2001\t\\N\t90\tDrama",
+                "tt9000002\tmovie\tSecond\tSecond\t0\tTwo thousand two\t\\N\t90\tDrama",
+                "9000003\tmovie\tThird\tThird\t0\t2003\t\\N\t90\tDrama");
+
+        importer.importAll(properties(2));
+
+        assertThat(jdbcTemplate.queryForObject(IMPORTED_FILMS, Long.class)).isEqualTo(1);
+        assertThat(title("tt9000001")).isEqualTo("First");
+    }
+
+    @Test
+    @DisplayName("Resumes from the checkpoint and updates rows imported again")
+    void Checkpoint_Resumes() throws Exception {
+        writeDataset();
+        importer.importAll(properties(1));
+        jdbcTemplate.update("UPDATE film SET title = 'Changed' WHERE imdb_id IN ('tt9000001', 'tt9000003')");
+        // the last title is imported again
+        Files.writeString(directory.resolve(".filmdb-import"), Files.readString(directory.resolve(".filmdb-import"))
+                .replace(TITLES_FILE + "=4", TITLES_FILE + "=3"));
+
+        importer.importAll(properties(1));
+
+        assertThat(title("tt9000001")).isEqualTo("Changed");
+        assertThat(title("tt9000003")).isEqualTo("Third");
+        assertThat(jdbcTemplate.queryForObject(IMPORTED_FILMS, Long.class)).isEqualTo(3);
+    }
+
+    private ImdbImportProperties properties(int chunkSize) {
+        return new ImdbImportProperties(directory, chunkSize, 2, null, Set.of("movie"));
+    }
+
+    private Long filmId(String imdbId) {
+        return jdbcTemplate.queryForObject("SELECT id FROM film WHERE imdb_id = ?", Long.class, imdbId);
+    }
+
+    private String title(String imdbId) {
+        return jdbcTemplate.queryForObject("SELECT title FROM film WHERE imdb_id = ?", String.class, imdbId);
+    }
+
+    private void writeDataset() throws IOException {
+        write(NAMES_FILE,
+                "nconst\tprimaryName\tbirthYear\tdeathYear\tprimaryProfession\tknownForTitles",
+                "nm9000001\tActor One\t1950\t\\N\tactor\t\\N",
+                "nm9000002\tActor Two\t\\N\t\\N\tactress\t\\N",
+                "nm9000003\tDirector\t1940\t\\N\tdirector\t\\N");
+        write(TITLES_FILE,
+                "tconst\ttitleType\tprimaryTitle\toriginalTitle\tisAdult\tstartYear\tendYear\truntimeMinutes\tgenres",
+                "tt9000001\tmovie\tFirst\tFirst\t0\t2001\t\\N\t90\tDrama",
+                "tt9000002\tmovie\tSecond\tSecond\t0\t2002\t\\N\t90\tDrama",
+                "tt9000004\tshort\tShort\tShort\t0\t2004\t\\N\t5\tShort",
+                "tt9000003\tmovie\tThird\tThird\t0\t2003\t\\N\t90\tDrama");
+        write(PRINCIPALS_FILE,
+                "tconst\tordering\tnconst\tcategory\tjob\tcharacters",
+                "tt9000001\t1\tnm9000001\tactor\t\\N\t[\"Hero\"]",
+                "tt9000001\t2\tnm9000002\tactress\t\\N\t[\"Heroine\"]",
+                "tt9000002\t1\tnm9000003\tdirector\t\\N\t\\N",
+                "tt9000004\t1\tnm9000001\tactor\t\\N\t[\"Cameo\"]");
+    }
+
+    private void write(String fileName, String... lines) throws IOException {
+        Files.write(directory.resolve(fileName), List.of(lines));
+    }
+}
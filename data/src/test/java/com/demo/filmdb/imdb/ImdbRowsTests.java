@@ -0,0 +1,62 @@
+package com.demo.filmdb.imdb;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+@DisplayName("ImdbRows")
+class ImdbRowsTests {
+
+    @Test
+    @DisplayName("Maps a movie title to film parameters")
+    void Movie_MapsToFilm() {
+        String line = "tt0000012\tmovie\tThe Arrival of a Train\tL'arrivée d'un train\t0\t1896\t\\N\t1\tDocumentary";
+
+        Object[] film = ImdbRows.film(line, Set.of("movie"));
+
+        assertThat(film).containsExactly("tt0000012", "The Arrival of a Train", LocalDate.of(1896, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Skips titles of other types and titles without a year")
+    void OtherTitles_Skipped() {
+        assertThat(ImdbRows.film("tt0000001\tshort\tCarmencita\tCarmencita\t0\t1894\t\\N\t1\tShort", Set.of("movie"))).isNull();
+        assertThat(ImdbRows.film("tt0000002\tmovie\tUnreleased\tUnreleased\t0\t\\N\t\\N\t\\N\t\\N", Set.of("movie"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Maps a name with an unknown birth year to person parameters")
+    void UnknownBirthYear_MapsToPerson() {
+        Object[] person = ImdbRows.person("nm0000001\tFred Astaire\t\\N\t1987\tactor\ttt0050419");
+
+        assertThat(person).containsExactly("nm0000001", "Fred Astaire", null);
+    }
+
+    @Test
+    @DisplayName("Maps actor principals to roles and director principals to directors")
+    void Principals_MapToRolesAndDirectors() {
+        String actor = "tt0000012\t1\tnm0000005\tactor\t\\N\t[\"Self\",\"Narrator\"]";
+        String director = "tt0000012\t2\tnm0000006\tdirector\t\\N\t\\N";
+
+        assertThat(ImdbRows.role(actor)).containsExactly("tt0000012", "nm0000005", "Self, Narrator");
+        assertThat(ImdbRows.director(actor)).isNull();
+        assertThat(ImdbRows.role(director)).isNull();
+        assertThat(ImdbRows.director(director)).containsExactly("tt0000012", "nm0000006");
+    }
+
+    @Test
+    @DisplayName("Rejects rows with malformed ids or years")
+    void MalformedRows_Rejected() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ImdbRows.film("tt0000012\tmovie\tArrival\tArrival\t0\t18x6\t\\N\t1\tDocumentary", Set.of("movie")));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ImdbRows.person("nm0000001\tFred Astaire\t-\t1987\tactor\ttt0050419"));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                ImdbRows.role("\\N\t1\tnm0000005\tactor\t\\N\t[\"Self\"]"));
+    }
+}
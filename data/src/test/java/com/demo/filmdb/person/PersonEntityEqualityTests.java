@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCollection;
 
 @DataJpaTest
@@ -63,4 +64,17 @@ public class PersonEntityEqualityTests {
             em.getTransaction().commit();
         }
     }
+
+    @Test
+    @DisplayName("Equality should agree with the hash code for a loaded entity and an instance built with its id")
+    void loadedAndBuiltWithId_consistent() {
+        Person built = new Person(1L, "Scarlett Johansson", LocalDate.of(1984, 11, 22));
+
+        try (var em = emf.createEntityManager()) {
+            Person loaded = em.find(Person.class, 1L);
+
+            assertThat(loaded).isNotEqualTo(built);
+            assertThatCollection(Set.of(loaded)).doesNotContain(built);
+        }
+    }
 }
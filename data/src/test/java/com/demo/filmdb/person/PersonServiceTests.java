@@ -1,6 +1,7 @@
 package com.demo.filmdb.person;
 
 import com.demo.filmdb.ServiceTest;
+import com.demo.filmdb.cache.AssociationCacheEvictor;
 import com.demo.filmdb.film.Film;
 import com.demo.filmdb.role.Role;
 import com.demo.filmdb.util.EntityNotFoundException;
@@ -14,14 +15,19 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mapstruct.factory.Mappers;
 import org.mockito.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.demo.filmdb.util.Creators.*;
@@ -40,10 +46,14 @@ public class PersonServiceTests extends ServiceTest {
     private final PersonInfoMapper personMapper = Mappers.getMapper(PersonInfoMapper.class);
     @Mock
     private PersonSpecs personSpecs;
+    @Mock
+    private PersonSearchIndex personSearchIndex;
+    @Mock
+    private AssociationCacheEvictor cacheEvictor;
 
     @BeforeEach
     void setUp() {
-        personService = new PersonService(personRepository, roleRepository, personMapper, personSpecs);
+        personService = new PersonService(personRepository, roleRepository, personMapper, personSpecs, personSearchIndex, cacheEvictor);
     }
 
     @Nested
@@ -91,7 +101,7 @@ public class PersonServiceTests extends ServiceTest {
                 var pageable = PageRequest.of(pageNumber, pageSize, direction, sortBy);
                 String name = "Joe";
                 LocalDate bornBefore = LocalDate.of(2222, 2, 2);
-                given(personSpecs.nameContains(name)).willReturn(emptySpec());
+                given(personSearchIndex.matching(name)).willReturn(emptySpec());
                 given(personSpecs.bornAfter(null)).willReturn(emptySpec());
                 given(personSpecs.bornBefore(bornBefore)).willReturn(emptySpec());
 
@@ -109,7 +119,7 @@ public class PersonServiceTests extends ServiceTest {
                 assert actualSort != null;
                 assertThat(actualSort.getDirection()).isEqualTo(direction);
                 // verify filtering
-                verify(personSpecs).nameContains(name);
+                verify(personSearchIndex).matching(name);
                 verify(personSpecs).bornAfter(null);
                 verify(personSpecs).bornBefore(bornBefore);
             }
@@ -121,20 +131,20 @@ public class PersonServiceTests extends ServiceTest {
 
             @Captor
             ArgumentCaptor<Pageable> pageableCaptor;
+            @Captor
+            ArgumentCaptor<Function<FluentQuery.FetchableFluentQuery<Person>, Object>> queryCaptor;
 
             @Test
             @DisplayName("Valid paging, calls repository correctly")
             void PagingArguments_CallsRepositoryCorrectly() {
                 int pageNumber = 4;
                 int pageSize = 8;
-                given(personSpecs.nameContains(null)).willReturn(emptySpec());
                 given(personSpecs.bornAfter(null)).willReturn(emptySpec());
                 given(personSpecs.bornBefore(null)).willReturn(emptySpec());
 
                 personService.getPeople(pageNumber, pageSize, null, null, null, null, null);
 
-                verify(personRepository).findAll(ArgumentMatchers.<Specification<Person>>any(), pageableCaptor.capture());
-                Pageable pageable = pageableCaptor.getValue();
+                Pageable pageable = slicedPageable();
                 assertThat(pageable.getPageNumber()).isEqualTo(pageNumber);
                 assertThat(pageable.getPageSize()).isEqualTo(pageSize);
             }
@@ -144,14 +154,12 @@ public class PersonServiceTests extends ServiceTest {
             void SortArguments_CallsRepositoryCorrectly() {
                 String sortBy = "name";
                 var direction = Sort.Direction.DESC;
-                given(personSpecs.nameContains(null)).willReturn(emptySpec());
                 given(personSpecs.bornAfter(null)).willReturn(emptySpec());
                 given(personSpecs.bornBefore(null)).willReturn(emptySpec());
 
                 personService.getPeople(1, 2, sortBy, direction, null, null, null);
 
-                verify(personRepository).findAll(ArgumentMatchers.<Specification<Person>>any(), pageableCaptor.capture());
-                Sort sort = pageableCaptor.getValue().getSort();
+                Sort sort = slicedPageable().getSort();
                 Sort.Order order = sort.getOrderFor(sortBy);
                 assertThat(order).as("Sort order").isNotNull();
                 assert order != null;
@@ -164,19 +172,89 @@ public class PersonServiceTests extends ServiceTest {
                 String name = "illy";
                 LocalDate bornAfter = LocalDate.of(2000, 2, 2);
                 LocalDate bornBefore = LocalDate.of(1000, 1, 1);
-                given(personSpecs.nameContains(name)).willReturn(emptySpec());
+                given(personSearchIndex.rankedMatching(name)).willReturn(emptySpec());
                 given(personSpecs.bornAfter(bornAfter)).willReturn(emptySpec());
                 given(personSpecs.bornBefore(bornBefore)).willReturn(emptySpec());
 
-                personService.getPeople(1, 2, null, null, name, bornAfter, bornBefore);
+                personService.getPeople(0, 2, null, null, name, bornAfter, bornBefore);
 
-                verify(personSpecs).nameContains(name);
+                verify(personSearchIndex).rankedMatching(name);
                 verify(personSpecs).bornAfter(bornAfter);
                 verify(personSpecs).bornBefore(bornBefore);
+                slicedPageable();
+            }
+
+            /**
+             * Applies the query function passed to the repository and returns the pageable it was sliced with
+             */
+            @SuppressWarnings("unchecked")
+            private Pageable slicedPageable() {
+                verify(personRepository).findBy(ArgumentMatchers.<Specification<Person>>any(), queryCaptor.capture());
+                FluentQuery.FetchableFluentQuery<Person> query = mock(FluentQuery.FetchableFluentQuery.class);
+                queryCaptor.getValue().apply(query);
+                verify(query).slice(pageableCaptor.capture());
+                return pageableCaptor.getValue();
+            }
+        }
+
+        @Nested
+        @DisplayName("with scroll position")
+        class WithScrollPosition {
+
+            @Test
+            @DisplayName("Valid arguments, scrolls repository with filter")
+            void ValidArguments_ScrollsRepository() {
+                String name = "nor";
+                LocalDate bornAfter = LocalDate.of(1950, 2, 2);
+                LocalDate bornBefore = LocalDate.of(1990, 1, 1);
+                given(personSearchIndex.matching(name)).willReturn(emptySpec());
+                given(personSpecs.bornAfter(bornAfter)).willReturn(emptySpec());
+                given(personSpecs.bornBefore(bornBefore)).willReturn(emptySpec());
+
+                personService.getPeople(ScrollPosition.keyset(), 10, Sort.by("name"), name, bornAfter, bornBefore);
+
+                verify(personSearchIndex).matching(name);
+                verify(personSpecs).bornAfter(bornAfter);
+                verify(personSpecs).bornBefore(bornBefore);
+                verify(personRepository).findBy(ArgumentMatchers.<Specification<Person>>any(), any());
             }
         }
     }
 
+    @Nested
+    @DisplayName("countPeople")
+    class CountPeople {
+
+        @Test
+        @DisplayName("Filter arguments, counts with specification")
+        void FilterArguments_Counts() {
+            String name = "illy";
+            LocalDate bornAfter = LocalDate.of(2000, 2, 2);
+            given(personSearchIndex.matching(name)).willReturn(emptySpec());
+            given(personSpecs.bornAfter(bornAfter)).willReturn(emptySpec());
+            given(personRepository.count(ArgumentMatchers.<Specification<Person>>any())).willReturn(1L);
+
+            long actual = personService.countPeople(name, bornAfter, null);
+
+            assertThat(actual).isEqualTo(1L);
+            verify(personSearchIndex).matching(name);
+            verify(personSpecs).bornAfter(bornAfter);
+        }
+
+        @Test
+        @DisplayName("Search, counts every match in the database")
+        void Search_CountsEveryMatch() {
+            String name = "illy";
+            given(personSearchIndex.matching(name)).willReturn(emptySpec());
+            given(personRepository.count(ArgumentMatchers.<Specification<Person>>any())).willReturn(1500L);
+
+            long actual = personService.countPeople(name, null, null);
+
+            assertThat(actual).isEqualTo(1500L);
+            verify(personSearchIndex, never()).rankedMatching(any());
+        }
+    }
+
     @Nested
     @DisplayName("createPerson")
     class CreatePerson {
@@ -198,6 +276,8 @@ public class PersonServiceTests extends ServiceTest {
             // assert returned
             assertThat(actual.getName()).isEqualTo(name);
             assertThat(actual.getDateOfBirth()).isEqualTo(dateOfBirth);
+            // assert indexed
+            verify(personSearchIndex).index(actual);
         }
     }
 
@@ -214,13 +294,13 @@ public class PersonServiceTests extends ServiceTest {
             // find existing person
             given(personRepository.findById(personId)).willReturn(Optional.of(existingPerson));
             // return updated person
-            when(personRepository.save(any(Person.class))).then(AdditionalAnswers.returnsFirstArg());
+            when(personRepository.saveAndFlush(any(Person.class))).then(AdditionalAnswers.returnsFirstArg());
 
             Person actual = personService.updatePerson(personId, createPersonInfo(name, dateOfBirth));
 
             // assert saved
             var updatedPersonCaptor = ArgumentCaptor.forClass(Person.class);
-            verify(personRepository).save(updatedPersonCaptor.capture());
+            verify(personRepository).saveAndFlush(updatedPersonCaptor.capture());
             Person updatedPerson = updatedPersonCaptor.getValue();
             assertThat(updatedPerson.getId()).isEqualTo(personId);
             assertThat(updatedPerson.getName()).isEqualTo(name);
@@ -229,6 +309,8 @@ public class PersonServiceTests extends ServiceTest {
             assertThat(actual.getId()).isEqualTo(personId);
             assertThat(actual.getName()).isEqualTo(name);
             assertThat(actual.getDateOfBirth()).isEqualTo(dateOfBirth);
+            // assert indexed
+            verify(personSearchIndex).index(actual);
         }
 
         @Test
@@ -240,6 +322,19 @@ public class PersonServiceTests extends ServiceTest {
                     personService.updatePerson(1L, createPersonInfo("Gary Oldman", LocalDate.of(1958, 3, 21)))
             );
         }
+
+        @Test
+        @DisplayName("Other version, throws OptimisticLockingFailureException")
+        void OtherVersion_Throws() {
+            Person person = mock(Person.class);
+            given(person.getVersion()).willReturn(2L);
+            given(personRepository.findById(1L)).willReturn(Optional.of(person));
+
+            assertThatExceptionOfType(OptimisticLockingFailureException.class).isThrownBy(() ->
+                    personService.updatePerson(1L, createPersonInfo("Gary Oldman", LocalDate.of(1958, 3, 21)), 1L)
+            );
+            verify(personRepository, never()).saveAndFlush(any());
+        }
     }
 
     @Nested
@@ -275,19 +370,68 @@ public class PersonServiceTests extends ServiceTest {
     class DeletePerson {
 
         @Test
-        @DisplayName("Existing Id, deletes correctly")
-        void ExistingId_DeletesCorrectly() {
-            final Long id = 11L;
-            Person person = mock(Person.class);
-            given(personRepository.findById(id)).willReturn(Optional.of(person));
+        @DisplayName("Existing id, deletes with one statement")
+        void ExistingId_Deletes() {
+            final Long personId = 11L;
+            given(personRepository.deletePersonById(personId)).willReturn(1);
+
+            int actual = personService.deletePerson(personId);
+
+            assertThat(actual).isEqualTo(1);
+            verify(personRepository, never()).findById(any());
+            // roles and director associations are deleted by the database, so their cached copies must be evicted
+            verify(cacheEvictor).evictAfterCascadingDelete();
+            verify(personSearchIndex).remove(personId);
+        }
+
+        @Test
+        @DisplayName("Not existing id, returns 0")
+        void NotExistingId_ReturnsZero() {
+            final Long personId = 11L;
+            given(personRepository.deletePersonById(personId)).willReturn(0);
 
-            personService.deletePerson(id);
+            int actual = personService.deletePerson(personId);
 
-            // assert director associations are deleted
-            verify(person).removeFilmsDirected();
-            // assert roles are deleted
-            verify(roleRepository).deleteById_PersonId(id);
-            verify(personRepository).deleteById(id);
+            assertThat(actual).isZero();
+            verify(cacheEvictor, never()).evictAfterCascadingDelete();
+            verify(personSearchIndex, never()).remove(any());
+        }
+
+        @Test
+        @DisplayName("Expected version, deletes")
+        void ExpectedVersion_Deletes() {
+            final Long personId = 11L;
+            given(personRepository.deletePersonByIdAndVersion(personId, 3L)).willReturn(1);
+
+            int actual = personService.deletePerson(personId, 3L);
+
+            assertThat(actual).isEqualTo(1);
+            verify(personSearchIndex).remove(personId);
+        }
+
+        @Test
+        @DisplayName("Other version, throws OptimisticLockingFailureException")
+        void OtherVersion_Throws() {
+            final Long personId = 11L;
+            given(personRepository.deletePersonByIdAndVersion(personId, 3L)).willReturn(0);
+            given(personRepository.existsById(personId)).willReturn(true);
+
+            assertThatExceptionOfType(OptimisticLockingFailureException.class).isThrownBy(() ->
+                    personService.deletePerson(personId, 3L)
+            );
+            verify(personSearchIndex, never()).remove(any());
+        }
+
+        @Test
+        @DisplayName("Expected version, not existing id, returns 0")
+        void ExpectedVersionNotExistingId_ReturnsZero() {
+            final Long personId = 11L;
+            given(personRepository.deletePersonByIdAndVersion(personId, 3L)).willReturn(0);
+            given(personRepository.existsById(personId)).willReturn(false);
+
+            int actual = personService.deletePerson(personId, 3L);
+
+            assertThat(actual).isZero();
         }
     }
 
@@ -325,11 +469,10 @@ public class PersonServiceTests extends ServiceTest {
         @Test
         @DisplayName("Existing id, returns correctly")
         void ExistingId_ReturnsCorrectly() {
-            Person person = mock(Person.class);
             final Long personId = 1L;
             final Role role = createRole(2L, personId, "Penguin");
-            when(person.getRoles()).thenReturn(Set.of(role));
-            given(personRepository.findById(personId)).willReturn(Optional.of(person));
+            given(personRepository.existsById(personId)).willReturn(true);
+            given(roleRepository.findAllByPersonIdIn(List.of(personId))).willReturn(List.of(role));
 
             var actualRoles = personService.getRoles(personId);
 
@@ -339,11 +482,12 @@ public class PersonServiceTests extends ServiceTest {
         @Test
         @DisplayName("Not existing id, throws EntityNotFoundException")
         void NotExistingId_Throws() {
-            given(personRepository.findById(anyLong())).willReturn(Optional.empty());
+            given(personRepository.existsById(anyLong())).willReturn(false);
 
             assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
                     personService.getRoles(9L)
             );
+            verifyNoInteractions(roleRepository);
         }
     }
 
@@ -358,7 +502,7 @@ public class PersonServiceTests extends ServiceTest {
             final Long personId = 1L;
             Film film = createFilm(2L);
             when(person.getFilmsDirected()).thenReturn(Set.of(film));
-            given(personRepository.findById(personId)).willReturn(Optional.of(person));
+            given(personRepository.findWithFilmsDirectedById(personId)).willReturn(Optional.of(person));
 
             var actualFilms = personService.getFilmsDirected(personId);
 
@@ -368,7 +512,7 @@ public class PersonServiceTests extends ServiceTest {
         @Test
         @DisplayName("Not existing id, throws EntityNotFoundException")
         void NotExistingId_Throws() {
-            given(personRepository.findById(anyLong())).willReturn(Optional.empty());
+            given(personRepository.findWithFilmsDirectedById(anyLong())).willReturn(Optional.empty());
 
             assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
                     personService.getFilmsDirected(9L)
@@ -376,6 +520,61 @@ public class PersonServiceTests extends ServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getRoles for multiple people")
+    class getRolesBatch {
+
+        @Test
+        @DisplayName("Existing ids, groups roles by person id")
+        void ExistingIds_GroupsByPerson() {
+            final Role firstRole = createRole(3L, 1L, "Penguin");
+            final Role secondRole = createRole(3L, 2L, "Riddler");
+            final Role thirdRole = createRole(4L, 2L, "Scarecrow");
+            given(roleRepository.findAllByPersonIdIn(List.of(1L, 2L))).willReturn(List.of(firstRole, secondRole, thirdRole));
+
+            var actualRoles = personService.getRoles(List.of(1L, 2L));
+
+            assertThatCollection(actualRoles.get(1L)).containsExactly(firstRole);
+            assertThatCollection(actualRoles.get(2L)).containsExactly(secondRole, thirdRole);
+        }
+
+        @Test
+        @DisplayName("No ids, doesn't query")
+        void NoIds_DoesNotQuery() {
+            var actualRoles = personService.getRoles(List.of());
+
+            assertThat(actualRoles.isEmpty()).isTrue();
+            verifyNoInteractions(roleRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getFilmsDirected for multiple people")
+    class getFilmsDirectedBatch {
+
+        @Test
+        @DisplayName("Existing ids, maps films by person id")
+        void ExistingIds_MapsByPerson() {
+            final Person person = createPerson(1L);
+            final Film film = createFilm(2L);
+            film.addDirector(person);
+            given(personRepository.findAllWithFilmsDirectedByIdIn(List.of(1L))).willReturn(List.of(person));
+
+            var actualFilms = personService.getFilmsDirected(List.of(1L));
+
+            assertThatCollection(actualFilms.get(1L)).containsExactly(film);
+        }
+
+        @Test
+        @DisplayName("No ids, doesn't query")
+        void NoIds_DoesNotQuery() {
+            var actualFilms = personService.getFilmsDirected(List.of());
+
+            assertThat(actualFilms.isEmpty()).isTrue();
+            verifyNoInteractions(personRepository);
+        }
+    }
+
     /* Utility */
 
     private static Stream<Arguments> validPersonInfoProvider() {
@@ -11,6 +11,8 @@ import java.time.LocalDate;
 import static com.demo.filmdb.util.Creators.*;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.CollectionAssert.assertThatCollection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 @DisplayName("Person")
 public class PersonTests {
@@ -79,6 +81,22 @@ public class PersonTests {
             assertThatCollection(film.getDirectors()).doesNotContain(person);
             assertThatCollection(person.getFilmsDirected()).doesNotContain(film);
         }
+
+        @Test
+        @DisplayName("Removes every film when there are several")
+        void severalFilms_RemovesAll() {
+            Film film = createFilm(1L);
+            Film otherFilm = createFilm(3L);
+            Person person = createPerson(2L);
+            film.addDirector(person);
+            otherFilm.addDirector(person);
+
+            person.removeFilmsDirected();
+
+            assertThatCollection(film.getDirectors()).doesNotContain(person);
+            assertThatCollection(otherFilm.getDirectors()).doesNotContain(person);
+            assertThatCollection(person.getFilmsDirected()).isEmpty();
+        }
     }
 
     @Nested
@@ -121,4 +139,24 @@ public class PersonTests {
             );
         }
     }
+
+    @Nested
+    class hashCode {
+
+        @Test
+        @DisplayName("People with the same id have equal hash codes")
+        void sameId_equalHashCodes() {
+            assertEquals(createPerson(1L).hashCode(), createPerson(1L).hashCode());
+        }
+
+        @Test
+        @DisplayName("Different people have different hash codes")
+        void differentPeople_differentHashCodes() {
+            Person person1 = new Person("Roy Scheider", LocalDate.of(1932, 11, 10));
+            Person person2 = new Person("Robert Shaw", LocalDate.of(1927, 8, 9));
+
+            assertNotEquals(person1.hashCode(), person2.hashCode());
+            assertNotEquals(createPerson(1L).hashCode(), createPerson(2L).hashCode());
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.demo.filmdb.role;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that replacing a cast costs a constant number of statements. Cast sizes are kept below the JDBC batch size,
+ * so every kind of change is written with a single batch.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@DisplayName("RoleService.updateCast statements")
+public class CastUpdateStatementsTests {
+
+    @Autowired
+    private RoleService roleService;
+    @Autowired
+    private FilmRepository filmRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Statement count doesn't depend on cast size")
+    void CastSize_ConstantStatementCount() {
+        long smallCastStatements = countStatements(10);
+        long largeCastStatements = countStatements(40);
+
+        assertThat(largeCastStatements).isEqualTo(smallCastStatements);
+    }
+
+    /**
+     * Replaces a cast of the given size with one that keeps half of the roles with new characters, drops the other half
+     * and adds as many new roles
+     */
+    private long countStatements(int castSize) {
+        Film film = filmRepository.save(new Film("Film", LocalDate.of(2000, 1, 1), null));
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < castSize * 3 / 2; i++) {
+            people.add(personRepository.save(new Person("Actor " + i, null)));
+        }
+        for (Person person : people.subList(0, castSize)) {
+            roleRepository.save(new Role(film, person, "Old character"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<CastMember> newCast = people.subList(castSize / 2, people.size()).stream()
+                .map(person -> castMember(person.getId(), "New character"))
+                .toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Role> updatedCast = roleService.updateCast(film.getId(), newCast);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(updatedCast).hasSize(castSize);
+        assertThat(roleRepository.findAllByFilmIdIn(List.of(film.getId())))
+                .hasSize(castSize)
+                .allMatch(role -> role.getCharacter().equals("New character"));
+        return statements;
+    }
+
+    private static CastMember castMember(Long personId, String character) {
+        return new CastMember() {
+            @Override
+            public Long getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public String getCharacter() {
+                return character;
+            }
+        };
+    }
+}
@@ -1,7 +1,6 @@
 package com.demo.filmdb.role;
 
 import com.demo.filmdb.ServiceTest;
-import com.demo.filmdb.film.Film;
 import com.demo.filmdb.util.EntityAlreadyExistsException;
 import com.demo.filmdb.util.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -72,11 +71,22 @@ class RoleServiceTests extends ServiceTest {
         void ValidIds_DeletesCorrectly() {
             final Long filmId = 1L;
             final Long personId = 2L;
-            final Role.Id expectedId = new Role.Id(filmId, personId);
+            given(roleRepository.deleteRoleById(filmId, personId)).willReturn(1);
 
-            roleService.deleteRole(filmId, personId);
+            int actual = roleService.deleteRole(filmId, personId);
 
-            verify(roleRepository).deleteById(expectedId);
+            assertThat(actual).isEqualTo(1);
+            verify(roleRepository, never()).existsById(any());
+        }
+
+        @Test
+        @DisplayName("Not existing role, returns 0")
+        void NotExistingRole_ReturnsZero() {
+            given(roleRepository.deleteRoleById(anyLong(), anyLong())).willReturn(0);
+
+            int actual = roleService.deleteRole(1L, 2L);
+
+            assertThat(actual).isZero();
         }
     }
 
@@ -146,9 +156,9 @@ class RoleServiceTests extends ServiceTest {
             Long expectedFilmId = 2L;
             Long expectedPersonId = 3L;
             String expectedCharacter = "Updated character";
-            Role originalRole = createRole(expectedFilmId, expectedPersonId, "Original character");
-            given(roleRepository.findById_FilmIdAndId_PersonId(expectedFilmId, expectedPersonId)).willReturn(Optional.of(originalRole));
-            when(roleRepository.save(any())).then(AdditionalAnswers.returnsFirstArg());
+            Role updatedRole = createRole(expectedFilmId, expectedPersonId, expectedCharacter);
+            given(roleRepository.updateCharacter(expectedFilmId, expectedPersonId, expectedCharacter)).willReturn(1);
+            given(roleRepository.findById_FilmIdAndId_PersonId(expectedFilmId, expectedPersonId)).willReturn(Optional.of(updatedRole));
 
             Role actual = roleService.updateRole(expectedFilmId, expectedPersonId, expectedCharacter);
 
@@ -160,11 +170,12 @@ class RoleServiceTests extends ServiceTest {
         @Test
         @DisplayName("Not existing role, throws EntityNotFoundException")
         void NotExistingRole_Throws() {
-            given(roleRepository.findById_FilmIdAndId_PersonId(anyLong(), anyLong())).willReturn(Optional.empty());
+            given(roleRepository.updateCharacter(anyLong(), anyLong(), any())).willReturn(0);
 
             assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
                     roleService.updateRole(1L, 1L, "Lawrence")
             );
+            verify(roleRepository, never()).findById_FilmIdAndId_PersonId(anyLong(), anyLong());
         }
     }
 
@@ -211,17 +222,19 @@ class RoleServiceTests extends ServiceTest {
             final String character = "Batman";
             // film without cast
             given(filmService.getFilm(filmId)).willReturn(Optional.of(createFilm(filmId)));
-            given(personService.getPerson(personId)).willReturn(Optional.of(createPerson(personId)));
-            when(roleRepository.save(any())).then(AdditionalAnswers.returnsFirstArg());
+            given(personService.getPeople(Set.of(personId))).willReturn(List.of(createPerson(personId)));
 
             List<Role> actual = roleService.updateCast(filmId, List.of(createCastMember(personId, character)));
 
             // assert that saved
-            ArgumentCaptor<Role> savedRole = ArgumentCaptor.forClass(Role.class);
-            verify(roleRepository).save(savedRole.capture());
-            assertThat(savedRole.getValue().getFilm().getId()).isEqualTo(filmId);
-            assertThat(savedRole.getValue().getPerson().getId()).isEqualTo(personId);
-            assertThat(savedRole.getValue().getCharacter()).isEqualTo(character);
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Role>> savedRoles = ArgumentCaptor.forClass(List.class);
+            verify(roleRepository).saveAll(savedRoles.capture());
+            assertThatCollection(savedRoles.getValue()).singleElement().satisfies(role -> {
+                assertThat(role.getFilm().getId()).isEqualTo(filmId);
+                assertThat(role.getPerson().getId()).isEqualTo(personId);
+                assertThat(role.getCharacter()).isEqualTo(character);
+            });
             // assert that returned
             assertThatCollection(actual).anyMatch(role -> role.getPerson().getId().equals(personId)
                     && role.getFilm().getId().equals(filmId)
@@ -236,20 +249,15 @@ class RoleServiceTests extends ServiceTest {
             final Long personId = 8L;
             final String character = "Batman";
             final Role oldRole = createRole(filmId, personId, "Joker");
-            Film film = mock(Film.class);
-            when(film.getCast()).thenReturn(Set.of(oldRole));
-            given(filmService.getFilm(filmId)).willReturn(Optional.of(film));
-            given(roleRepository.findById_FilmIdAndId_PersonId(filmId, personId)).willReturn(Optional.of(oldRole));
-            when(roleRepository.save(any())).then(AdditionalAnswers.returnsFirstArg());
+            given(filmService.getFilm(filmId)).willReturn(Optional.of(oldRole.getFilm()));
+            given(roleRepository.findAllByFilmIdIn(List.of(filmId))).willReturn(List.of(oldRole));
 
             List<Role> actual = roleService.updateCast(filmId, List.of(createCastMember(personId, character)));
 
-            // assert that saved
-            ArgumentCaptor<Role> savedRole = ArgumentCaptor.forClass(Role.class);
-            verify(roleRepository).save(savedRole.capture());
-            assertThat(savedRole.getValue().getFilm().getId()).isEqualTo(filmId);
-            assertThat(savedRole.getValue().getPerson().getId()).isEqualTo(personId);
-            assertThat(savedRole.getValue().getCharacter()).isEqualTo(character);
+            // assert that updated in place and not deleted
+            assertThat(oldRole.getCharacter()).isEqualTo(character);
+            verify(roleRepository, never()).deleteByFilmIdAndPersonIdIn(anyLong(), any());
+            verify(personService).getPeople(Collections.emptySet());
             // assert that returned
             assertThatCollection(actual).anyMatch(role -> role.getPerson().getId().equals(personId)
                     && role.getFilm().getId().equals(filmId)
@@ -263,17 +271,13 @@ class RoleServiceTests extends ServiceTest {
             final Long filmId = 15L;
             final Long personId = 8L;
             final Role oldRole = createRole(filmId, personId, "Catwoman");
-            Film film = mock(Film.class);
-            when(film.getCast()).thenReturn(Set.of(oldRole));
-            given(filmService.getFilm(filmId)).willReturn(Optional.of(film));
+            given(filmService.getFilm(filmId)).willReturn(Optional.of(oldRole.getFilm()));
+            given(roleRepository.findAllByFilmIdIn(List.of(filmId))).willReturn(List.of(oldRole));
 
             List<Role> actual = roleService.updateCast(filmId, Collections.emptyList());
 
             // assert that deleted
-            ArgumentCaptor<Role> deletedRole = ArgumentCaptor.forClass(Role.class);
-            verify(roleRepository).delete(deletedRole.capture());
-            assertThat(deletedRole.getValue().getFilm().getId()).isEqualTo(filmId);
-            assertThat(deletedRole.getValue().getPerson().getId()).isEqualTo(personId);
+            verify(roleRepository).deleteByFilmIdAndPersonIdIn(filmId, List.of(personId));
             // assert that not returned
             assertThatCollection(actual).noneMatch(role -> role.getPerson().getId().equals(personId)
                     && role.getFilm().getId().equals(filmId)
@@ -286,17 +290,13 @@ class RoleServiceTests extends ServiceTest {
             final Long filmId = 15L;
             final Long personId = 8L;
             final Role oldRole = createRole(filmId, personId, "Bane");
-            Film film = mock(Film.class);
-            when(film.getCast()).thenReturn(Set.of(oldRole));
-            given(filmService.getFilm(filmId)).willReturn(Optional.of(film));
+            given(filmService.getFilm(filmId)).willReturn(Optional.of(oldRole.getFilm()));
+            given(roleRepository.findAllByFilmIdIn(List.of(filmId))).willReturn(List.of(oldRole));
 
             List<Role> actual = roleService.updateCast(filmId, null);
 
             // assert that deleted
-            ArgumentCaptor<Role> deletedRole = ArgumentCaptor.forClass(Role.class);
-            verify(roleRepository).delete(deletedRole.capture());
-            assertThat(deletedRole.getValue().getFilm().getId()).isEqualTo(filmId);
-            assertThat(deletedRole.getValue().getPerson().getId()).isEqualTo(personId);
+            verify(roleRepository).deleteByFilmIdAndPersonIdIn(filmId, List.of(personId));
             // assert that empty collection is returned
             assertThatCollection(actual).isEmpty();
         }
@@ -315,11 +315,12 @@ class RoleServiceTests extends ServiceTest {
         @DisplayName("Not existing person id, throws EntityNotFoundException")
         void NotExistingPersonId_Throws() {
             given(filmService.getFilm(anyLong())).willReturn(Optional.of(createFilm(1L)));
-            given(personService.getPerson(anyLong())).willReturn(Optional.empty());
+            // person service mock doesn't find anyone
 
             assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
                     roleService.updateCast(1L, createCast(1L))
             );
+            verify(roleRepository, never()).deleteByFilmIdAndPersonIdIn(anyLong(), any());
         }
     }
 
@@ -331,10 +332,36 @@ class RoleServiceTests extends ServiceTest {
         @DisplayName("Deletes correctly")
         public void ExistingId_Deletes() {
             final Long expectedFilmId = 1L;
+            given(roleRepository.deleteAllByFilmId(expectedFilmId)).willReturn(3);
+
+            int actual = roleService.deleteCast(expectedFilmId);
 
-            roleService.deleteCast(expectedFilmId);
+            assertThat(actual).isEqualTo(3);
+            verify(filmService, never()).filmExists(any());
+        }
+
+        @Test
+        @DisplayName("Existing film without cast, returns 0")
+        public void NoCast_ReturnsZero() {
+            final Long filmId = 1L;
+            given(roleRepository.deleteAllByFilmId(filmId)).willReturn(0);
+            given(filmService.filmExists(filmId)).willReturn(true);
+
+            int actual = roleService.deleteCast(filmId);
+
+            assertThat(actual).isZero();
+        }
+
+        @Test
+        @DisplayName("Not existing film, throws EntityNotFoundException")
+        public void NotExistingFilm_Throws() {
+            final Long filmId = 1L;
+            given(roleRepository.deleteAllByFilmId(filmId)).willReturn(0);
+            given(filmService.filmExists(filmId)).willReturn(false);
 
-            verify(roleRepository).deleteById_FilmId(expectedFilmId);
+            assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() ->
+                    roleService.deleteCast(filmId)
+            );
         }
     }
 
@@ -0,0 +1,77 @@
+package com.demo.filmdb.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InvertedIndex")
+class InvertedIndexTests {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, "Thor: Ragnarok");
+        index.put(2L, "Avengers: Infinity War");
+        index.put(3L, "Jojo Rabbit");
+    }
+
+    @Test
+    @DisplayName("Whole word, case insensitive, finds")
+    void WholeWord_Finds() {
+        assertThat(index.search("THOR", 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Word prefix, finds all matching")
+    void Prefix_FindsAll() {
+        assertThat(index.search("ra", 10)).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Several words, more matching words rank higher")
+    void SeveralWords_RanksByRelevance() {
+        index.put(4L, "Thor: Love and Thunder");
+
+        List<Long> actual = index.search("thor ragnarok", 10);
+
+        assertThat(actual).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Limit, returns the most relevant")
+    void Limit_ReturnsMostRelevant() {
+        index.put(4L, "Thor: Love and Thunder");
+
+        assertThat(index.search("thor ragnarok", 1)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Updated document, finds by new text only")
+    void Updated_FindsByNewText() {
+        index.put(1L, "Thor: The Dark World");
+
+        assertThat(index.search("ragnarok", 10)).isEmpty();
+        assertThat(index.search("dark", 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Removed document, not found")
+    void Removed_NotFound() {
+        index.remove(3L);
+
+        assertThat(index.search("jojo", 10)).isEmpty();
+        assertThat(index.search("ra", 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Query without words, finds nothing")
+    void NoWords_FindsNothing() {
+        assertThat(index.search(" :- ", 10)).isEmpty();
+    }
+}
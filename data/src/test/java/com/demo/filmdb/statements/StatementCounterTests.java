@@ -0,0 +1,65 @@
+package com.demo.filmdb.statements;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Statement counter")
+public class StatementCounterTests {
+
+    private final StatementCounter counter = new StatementCounter();
+
+    @Test
+    @DisplayName("No open recording, statement not recorded")
+    void NoRecording_NotRecorded() {
+        counter.inspect("select 1");
+
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            assertThat(recording.count()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Nested recordings, statement recorded by both")
+    void NestedRecordings_RecordedByBoth() {
+        try (StatementCounter.Recording outer = StatementCounter.start()) {
+            counter.inspect("select 1");
+            try (StatementCounter.Recording inner = StatementCounter.start()) {
+                counter.inspect("select 2");
+
+                assertThat(inner.statements()).containsExactly("select 2");
+            }
+            counter.inspect("select 3");
+
+            assertThat(outer.statements()).containsExactly("select 1", "select 2", "select 3");
+        }
+    }
+
+    @Test
+    @DisplayName("Limit exceeded, stack trace of first statement over the limit")
+    void LimitExceeded_StackTrace() {
+        try (StatementCounter.Recording recording = StatementCounter.start(1)) {
+            counter.inspect("select 1");
+
+            assertThat(recording.limitExceededAt()).isNull();
+
+            counter.inspect("select 2");
+            Throwable limitExceededAt = recording.limitExceededAt();
+            counter.inspect("select 3");
+
+            assertThat(recording.limitExceededAt()).isSameAs(limitExceededAt)
+                    .hasMessage("Statement 2 exceeded the limit of 1");
+        }
+    }
+
+    @Test
+    @DisplayName("Outer recording closed first, exception")
+    void OuterClosedFirst_Exception() {
+        try (StatementCounter.Recording outer = StatementCounter.start();
+             StatementCounter.Recording ignored = StatementCounter.start()) {
+            assertThatThrownBy(outer::close).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.demo.filmdb.film.Film;
 import com.demo.filmdb.person.Person;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -17,6 +18,7 @@ import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.demo.filmdb.util.SortUtil.filterSortableFields;
+import static com.demo.filmdb.util.SortUtil.withIdTieBreaker;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Named.named;
 
@@ -36,6 +38,22 @@ public class SortUtilTests {
         assertThat(actualProperties).are(sortable);
     }
 
+    @Test
+    @DisplayName("withIdTieBreaker appends id")
+    void withIdTieBreaker_NoId_AppendsId() {
+        Sort actualSort = withIdTieBreaker(Sort.by(Sort.Direction.DESC, "title"));
+
+        assertThat(actualSort).isEqualTo(Sort.by(Sort.Order.desc("title"), Sort.Order.asc("id")));
+    }
+
+    @Test
+    @DisplayName("withIdTieBreaker keeps existing id order")
+    void withIdTieBreaker_HasId_Unchanged() {
+        Sort givenSort = Sort.by(Sort.Order.desc("id"), Sort.Order.asc("title"));
+
+        assertThat(withIdTieBreaker(givenSort)).isEqualTo(givenSort);
+    }
+
     private static Stream<Arguments> sortDataProvider() {
         return Stream.of(
                 Arguments.arguments(named("Film", Film.class),
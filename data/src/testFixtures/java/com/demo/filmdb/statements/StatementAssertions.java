@@ -0,0 +1,79 @@
+package com.demo.filmdb.statements;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 selects by limiting the SQL statements a service call or a request may execute. The failure
+ * message lists the executed statements, so a reintroduced lazy load shows up as the repeated select.
+ */
+public final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    /**
+     * Runs the action and asserts it executed at most {@code max} statements
+     *
+     * @param max    maximum number of statements
+     * @param action action to run on the current thread
+     * @return result of the action
+     */
+    public static <T> T assertStatements(int max, Callable<T> action) {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            T result = call(action::call);
+            assertAtMost(max, recording);
+            return result;
+        }
+    }
+
+    /**
+     * Runs the action and asserts it executed at most {@code max} statements
+     *
+     * @param max    maximum number of statements
+     * @param action action to run on the current thread
+     */
+    public static void assertStatements(int max, ThrowingCallable action) {
+        assertAtMost(max, recordStatements(action));
+    }
+
+    /**
+     * Runs the action and records the statements it executed
+     *
+     * @param action action to run on the current thread
+     * @return recorded statements
+     */
+    public static StatementCounter.Recording recordStatements(ThrowingCallable action) {
+        try (StatementCounter.Recording recording = StatementCounter.start()) {
+            call(() -> {
+                action.call();
+                return null;
+            });
+            return recording;
+        }
+    }
+
+    private static void assertAtMost(int max, StatementCounter.Recording recording) {
+        assertThat(recording.count())
+                .as(() -> "Statements executed:\n" + String.join("\n", recording.statements()))
+                .isLessThanOrEqualTo(max);
+    }
+
+    private static <T> T call(ThrowingSupplier<T> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionError("Action threw " + e, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Throwable;
+    }
+}
@@ -0,0 +1,103 @@
+package com.demo.filmdb.graphql;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.film.FilmRepository;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.person.PersonRepository;
+import com.demo.filmdb.role.Role;
+import com.demo.filmdb.role.RoleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.test.tester.WebGraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static com.demo.filmdb.statements.StatementAssertions.recordStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that nested film and person associations are resolved with batched queries
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("GraphQL batch loading")
+public class BatchLoadingIntegrationTests {
+
+    private static final int FILMS_COUNT = 100;
+    private static final int CAST_SIZE = 3;
+    private static final String FILMS_WITH_CREW = """
+            query films($pageSize: Int!) {
+                films(pageSize: $pageSize) {
+                    title
+                    directors {
+                        name
+                        filmsDirected { title }
+                    }
+                    cast {
+                        character
+                        person {
+                            name
+                            roles { character }
+                        }
+                    }
+                }
+            }""";
+
+    private WebGraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private FilmRepository filmRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    @SuppressWarnings("unused")
+    public void setWebGraphHandler(WebGraphQlHandler handler) {
+        graphQlTester = WebGraphQlTester.create(handler);
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < FILMS_COUNT; i++) {
+            Film film = filmRepository.save(new Film("Film " + i, LocalDate.of(2000, 1, 1), null));
+            film.addDirector(personRepository.save(new Person("Director " + i, null)));
+            for (int j = 0; j < CAST_SIZE; j++) {
+                Person actor = personRepository.save(new Person("Actor " + i + "-" + j, null));
+                roleRepository.save(new Role(film, actor, "Character " + j));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Films with nested directors and cast, statement count doesn't depend on page size")
+    void NestedQuery_ConstantStatementCount() {
+        int smallPageStatements = countStatements(10);
+        int largePageStatements = countStatements(FILMS_COUNT);
+
+        assertThat(smallPageStatements).isPositive();
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    private int countStatements(int pageSize) {
+        entityManager.clear();
+
+        return recordStatements(() -> graphQlTester.document(FILMS_WITH_CREW)
+                .variable("pageSize", pageSize)
+                .execute()
+                .path("films[*].title")
+                .entityList(String.class)
+                .hasSize(pageSize)).count();
+    }
+}
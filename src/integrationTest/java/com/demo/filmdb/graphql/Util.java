@@ -15,6 +15,7 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 public class Util {
     // documents
     static public final String FILMS = "films";
+    static public final String FILMS_CONNECTION = "filmsConnection";
     static public final String GET_FILM = "film";
     static public final String DELETE_FILM = "deleteFilm";
     static public final String CREATE_FILM = "createFilm";
@@ -28,6 +29,7 @@ public class Util {
     static public final String DELETE_ROLE = "deleteRole";
     static public final String UPDATE_CAST = "updateCast";
     static public final String PEOPLE = "people";
+    static public final String PEOPLE_CONNECTION = "peopleConnection";
     static public final String CREATE_PERSON = "createPerson";
     static public final String GET_PERSON = "person";
     static public final String UPDATE_PERSON = "updatePerson";
@@ -48,6 +50,8 @@ public class Util {
     static public final String PAGE_SIZE = "pageSize";
     static public final String SORT_BY = "sortBy";
     static public final String SORT_DIRECTION = "sortDirection";
+    static public final String FIRST = "first";
+    static public final String AFTER = "after";
     // named arguments
     static public final Named<Object> NULL = named("[Null]", null);
     static public final Named<String> EMPTY_STRING = named("[Empty]", "");
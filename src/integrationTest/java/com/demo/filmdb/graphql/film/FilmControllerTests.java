@@ -4,6 +4,7 @@ import com.demo.filmdb.film.Film;
 import com.demo.filmdb.film.FilmService;
 import com.demo.filmdb.graphql.FilmController;
 import com.demo.filmdb.graphql.TestConfigurer;
+import com.demo.filmdb.graphql.config.ConnectionRequests;
 import com.demo.filmdb.graphql.enums.SortableFilmField;
 import com.demo.filmdb.graphql.payloads.DeleteFilmPayload;
 import com.demo.filmdb.util.EntityNotFoundException;
@@ -16,11 +17,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -31,12 +35,15 @@ import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_PLACEHOLDER;
 import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_WITH_NAMES_PLACEHOLDER;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.springframework.graphql.execution.ErrorType.BAD_REQUEST;
 import static org.springframework.graphql.execution.ErrorType.NOT_FOUND;
 
-@GraphQlTest({FilmController.class, TestConfigurer.class})
+@GraphQlTest({FilmController.class, ConnectionRequests.class, TestConfigurer.class})
 @DisplayName("GraphQL FilmController")
 public class FilmControllerTests {
 
@@ -117,6 +124,117 @@ public class FilmControllerTests {
         }
     }
 
+    @Nested
+    @DisplayName(FILMS_CONNECTION)
+    class FilmsConnection {
+
+        @Test
+        @DisplayName("Valid input, correct FilmService call")
+        void ValidInput_CorrectServiceCall() {
+            int first = 5;
+            var sortBy = SortableFilmField.TITLE;
+            var sortDirection = Sort.Direction.DESC;
+            var title = "peace";
+            var releaseBefore = LocalDate.of(1950, 11, 11);
+            given(filmService.getFilms(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+            graphQlTester.documentName(FILMS_CONNECTION)
+                    .variable(FIRST, first)
+                    .variable(SORT_BY, sortBy)
+                    .variable(SORT_DIRECTION, sortDirection)
+                    .variable(TITLE, title)
+                    .variable("releaseBefore", releaseBefore)
+                    .executeAndVerify();
+
+            verify(filmService).getFilms(
+                    ScrollPosition.keyset(),
+                    first,
+                    Sort.by(sortDirection, sortBy.getFieldName()),
+                    title,
+                    null,
+                    releaseBefore
+            );
+        }
+
+        @Test
+        @DisplayName("totalCount selected, counts with the connection filter")
+        void TotalCountSelected_Counts() {
+            var title = "peace";
+            var releaseBefore = LocalDate.of(1950, 11, 11);
+            given(filmService.getFilms(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+            given(filmService.countFilms(title, null, releaseBefore)).willReturn(42L);
+
+            graphQlTester.document("""
+                            query ($title: NonBlankString, $releaseBefore: Date) {
+                                filmsConnection(title: $title, releaseBefore: $releaseBefore) { totalCount }
+                            }""")
+                    .variable(TITLE, title)
+                    .variable("releaseBefore", releaseBefore)
+                    .execute()
+                    .path(FILMS_CONNECTION + ".totalCount")
+                    .entity(Long.class)
+                    .isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("totalCount not selected, doesn't count")
+        void TotalCountNotSelected_NotCounted() {
+            given(filmService.getFilms(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+            graphQlTester.documentName(FILMS_CONNECTION)
+                    .variable(FIRST, 5)
+                    .executeAndVerify();
+
+            verify(filmService, never()).countFilms(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("First above the max page size, limited to the max page size")
+        void FirstAboveMax_Limited() {
+            given(filmService.getFilms(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+            graphQlTester.documentName(FILMS_CONNECTION)
+                    .variable(FIRST, 5000)
+                    .executeAndVerify();
+
+            verify(filmService).getFilms(ScrollPosition.keyset(), 2000, Sort.unsorted(), null, null, null);
+        }
+
+        @ParameterizedTest(name = ARGUMENTS_PLACEHOLDER)
+        @ValueSource(ints = {0, -1})
+        @DisplayName("First not positive, bad request")
+        void FirstNotPositive_BadRequest(int first) {
+            graphQlTester.documentName(FILMS_CONNECTION)
+                    .variable(FIRST, first)
+                    .execute()
+                    .errors()
+                    .expect(responseError -> responseError.getErrorType() == BAD_REQUEST)
+                    .verify();
+
+            verify(filmService, never()).getFilms(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Offset cursor, bad request")
+        void OffsetCursor_BadRequest() {
+            // offset cursor of the 5th element
+            String cursor = "T181";
+
+            graphQlTester.documentName(FILMS_CONNECTION)
+                    .variable(AFTER, cursor)
+                    .execute()
+                    .errors()
+                    .expect(responseError -> responseError.getErrorType() == BAD_REQUEST)
+                    .verify();
+
+            verify(filmService, never()).getFilms(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any());
+        }
+    }
+
     @Nested
     @DisplayName(GET_FILM)
     class GetFilm {
@@ -2,6 +2,7 @@ package com.demo.filmdb.graphql.person;
 
 import com.demo.filmdb.graphql.PersonController;
 import com.demo.filmdb.graphql.TestConfigurer;
+import com.demo.filmdb.graphql.config.ConnectionRequests;
 import com.demo.filmdb.graphql.enums.SortablePersonField;
 import com.demo.filmdb.graphql.payloads.DeletePersonPayload;
 import com.demo.filmdb.person.Person;
@@ -16,11 +17,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.test.tester.GraphQlTester;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -31,12 +35,15 @@ import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_PLACEHOLDER;
 import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_WITH_NAMES_PLACEHOLDER;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.springframework.graphql.execution.ErrorType.BAD_REQUEST;
 import static org.springframework.graphql.execution.ErrorType.NOT_FOUND;
 
-@GraphQlTest({PersonController.class, TestConfigurer.class})
+@GraphQlTest({PersonController.class, ConnectionRequests.class, TestConfigurer.class})
 @DisplayName("GraphQL PersonController")
 public class PersonControllerTests {
 
@@ -117,6 +124,117 @@ public class PersonControllerTests {
         }
     }
 
+    @Nested
+    @DisplayName(PEOPLE_CONNECTION)
+    class PeopleConnection {
+
+        @Test
+        @DisplayName("Valid input, correct PersonService call")
+        void ValidInput_CorrectServiceCall() {
+            int first = 5;
+            var sortBy = SortablePersonField.NAME;
+            var sortDirection = Sort.Direction.DESC;
+            var name = "Jessica";
+            var bornAfter = LocalDate.of(1950, 11, 11);
+            given(personService.getPeople(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+            graphQlTester.documentName(PEOPLE_CONNECTION)
+                    .variable(FIRST, first)
+                    .variable(SORT_BY, sortBy)
+                    .variable(SORT_DIRECTION, sortDirection)
+                    .variable(NAME, name)
+                    .variable("bornAfter", bornAfter)
+                    .executeAndVerify();
+
+            verify(personService).getPeople(
+                    ScrollPosition.keyset(),
+                    first,
+                    Sort.by(sortDirection, sortBy.getFieldName()),
+                    name,
+                    bornAfter,
+                    null
+            );
+        }
+
+        @Test
+        @DisplayName("totalCount selected, counts with the connection filter")
+        void TotalCountSelected_Counts() {
+            var name = "Jessica";
+            var bornAfter = LocalDate.of(1950, 11, 11);
+            given(personService.getPeople(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+            given(personService.countPeople(name, bornAfter, null)).willReturn(42L);
+
+            graphQlTester.document("""
+                            query ($name: NonBlankString, $bornAfter: Date) {
+                                peopleConnection(name: $name, bornAfter: $bornAfter) { totalCount }
+                            }""")
+                    .variable(NAME, name)
+                    .variable("bornAfter", bornAfter)
+                    .execute()
+                    .path(PEOPLE_CONNECTION + ".totalCount")
+                    .entity(Long.class)
+                    .isEqualTo(42L);
+        }
+
+        @Test
+        @DisplayName("totalCount not selected, doesn't count")
+        void TotalCountNotSelected_NotCounted() {
+            given(personService.getPeople(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+            graphQlTester.documentName(PEOPLE_CONNECTION)
+                    .variable(FIRST, 5)
+                    .executeAndVerify();
+
+            verify(personService, never()).countPeople(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("First above the max page size, limited to the max page size")
+        void FirstAboveMax_Limited() {
+            given(personService.getPeople(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any()))
+                    .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+            graphQlTester.documentName(PEOPLE_CONNECTION)
+                    .variable(FIRST, 5000)
+                    .executeAndVerify();
+
+            verify(personService).getPeople(ScrollPosition.keyset(), 2000, Sort.unsorted(), null, null, null);
+        }
+
+        @ParameterizedTest(name = ARGUMENTS_PLACEHOLDER)
+        @ValueSource(ints = {0, -1})
+        @DisplayName("First not positive, bad request")
+        void FirstNotPositive_BadRequest(int first) {
+            graphQlTester.documentName(PEOPLE_CONNECTION)
+                    .variable(FIRST, first)
+                    .execute()
+                    .errors()
+                    .expect(responseError -> responseError.getErrorType() == BAD_REQUEST)
+                    .verify();
+
+            verify(personService, never()).getPeople(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Offset cursor, bad request")
+        void OffsetCursor_BadRequest() {
+            // offset cursor of the 5th element
+            String cursor = "T181";
+
+            graphQlTester.documentName(PEOPLE_CONNECTION)
+                    .variable(AFTER, cursor)
+                    .execute()
+                    .errors()
+                    .expect(responseError -> responseError.getErrorType() == BAD_REQUEST)
+                    .verify();
+
+            verify(personService, never()).getPeople(any(ScrollPosition.class), anyInt(), any(Sort.class), any(), any(), any());
+        }
+    }
+
     @Nested
     @DisplayName(CREATE_PERSON)
     class CreatePerson {
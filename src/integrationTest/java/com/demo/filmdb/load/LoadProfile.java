@@ -0,0 +1,57 @@
+package com.demo.filmdb.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Shape of the traffic of a load test
+ *
+ * @param films       number of films of the generated catalog
+ * @param concurrency number of requests in flight at most
+ * @param rate        requests per second started regardless of the responses (open model), or 0 to send the next
+ *                    request as soon as a response arrives (closed model)
+ * @param warmup      time before recording starts
+ * @param duration    recorded time
+ * @param mix         relative weights of the scenarios, scenarios without a weight aren't sent
+ */
+public record LoadProfile(
+        int films,
+        int concurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Scenario, Integer> mix
+) {
+
+    private static final String PREFIX = "filmdb.load.";
+
+    /**
+     * Reads the profile from {@code filmdb.load.*} system properties, e.g.
+     * {@code -Dfilmdb.load.rate=500 -Dfilmdb.load.mix=search=50,cast=30,graphql-films=20}
+     *
+     * @return the profile, with short smoke test defaults for missing properties
+     */
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger(PREFIX + "films", 10_000),
+                Integer.getInteger(PREFIX + "concurrency", 16),
+                Double.parseDouble(System.getProperty(PREFIX + "rate", "0")),
+                Duration.parse(System.getProperty(PREFIX + "warmup", "PT5S")),
+                Duration.parse(System.getProperty(PREFIX + "duration", "PT20S")),
+                parseMix(System.getProperty(PREFIX + "mix",
+                        "search=30,cast=25,graphql-films=20,graphql-cast=15,write=10")));
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Mix entry must be scenario=weight: " + entry);
+            }
+            weights.put(Scenario.of(nameAndWeight[0]), Integer.parseInt(nameAndWeight[1]));
+        }
+        return weights;
+    }
+}
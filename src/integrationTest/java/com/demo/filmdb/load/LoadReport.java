@@ -0,0 +1,61 @@
+package com.demo.filmdb.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of a load test
+ *
+ * @param profile   traffic shape
+ * @param scenarios summary of every scenario sent
+ * @param total     summary of all requests
+ */
+public record LoadReport(LoadProfile profile, Map<String, Summary> scenarios, Summary total) {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Writes the report as {@code load-test.json} and a table as {@code load-test.txt}
+     *
+     * @param directory directory to write to, created if missing
+     * @throws IOException if writing failed
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        objectMapper.writeValue(directory.resolve("load-test.json").toFile(), this);
+        Files.writeString(directory.resolve("load-test.txt"), table());
+    }
+
+    public String table() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        scenarios.forEach((name, summary) -> table.append(summary.row(name)));
+        return table.append(total.row("total")).toString();
+    }
+
+    /**
+     * @param requests   recorded requests
+     * @param errors     requests that failed or got a response other than 2xx
+     * @param throughput requests per second
+     * @param p50        median latency in milliseconds
+     * @param p99        99th percentile latency in milliseconds
+     * @param p999       99.9th percentile latency in milliseconds
+     * @param max        largest latency in milliseconds
+     */
+    public record Summary(long requests, long errors, double throughput, double p50, double p99, double p999, double max) {
+
+        String row(String name) {
+            return String.format(Locale.ROOT, "%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, requests, errors, throughput, p50, p99, p999, max);
+        }
+    }
+}
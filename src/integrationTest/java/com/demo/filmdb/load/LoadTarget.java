@@ -0,0 +1,34 @@
+package com.demo.filmdb.load;
+
+import com.demo.filmdb.generator.GeneratedCatalog;
+import com.demo.filmdb.generator.SyntheticCatalog;
+
+import java.net.URI;
+import java.util.SplittableRandom;
+
+/**
+ * Running application under load and the catalog it serves
+ *
+ * @param baseUri    URI of the application root
+ * @param adminToken JWT of an administrator
+ * @param catalog    generated catalog
+ * @param generated  ids of the generated catalog
+ */
+public record LoadTarget(URI baseUri, String adminToken, SyntheticCatalog catalog, GeneratedCatalog generated) {
+
+    public URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    /**
+     * @param random source of randomness
+     * @return a uniformly picked film of the generated catalog
+     */
+    public Film film(SplittableRandom random) {
+        int index = random.nextInt(generated.films());
+        return new Film(generated.filmId(index), catalog.film(index));
+    }
+
+    public record Film(long id, SyntheticCatalog.FilmRow row) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.demo.filmdb.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the traffic of a {@link LoadProfile} over HTTP and records the latency of every response.
+ * <p>
+ * In the closed model each of {@link LoadProfile#concurrency()} workers sends its next request as soon as the previous
+ * response arrives. In the open model requests are started at fixed intervals whatever the responses, and latency is
+ * measured from the time a request was due, so a slow response also counts against the requests waiting behind it
+ * instead of hiding them (coordinated omission).
+ */
+public class LoadTestRunner {
+
+    private final LoadTarget target;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public LoadTestRunner(LoadTarget target) {
+        this.target = target;
+    }
+
+    /**
+     * @param profile traffic shape
+     * @param seed    seed of the picked scenarios and films
+     * @return latencies and throughput of the recorded time
+     * @throws InterruptedException if interrupted while waiting for requests
+     */
+    public LoadReport run(LoadProfile profile, long seed) throws InterruptedException {
+        Mix mix = new Mix(profile.mix());
+        Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+        profile.mix().keySet().forEach(scenario -> recorders.put(scenario, new LatencyRecorder()));
+        LatencyRecorder total = new LatencyRecorder();
+        Recording recording = new Recording(System.nanoTime(), profile, recorders, total);
+
+        ExecutorService executor = Executors.newFixedThreadPool(profile.concurrency());
+        try {
+            if (profile.rate() > 0) {
+                runOpen(profile, seed, mix, recording, executor);
+            } else {
+                runClosed(profile, seed, mix, recording, executor);
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        }
+
+        long elapsed = profile.duration().toNanos();
+        Map<String, LoadReport.Summary> summaries = new LinkedHashMap<>();
+        recorders.forEach((scenario, recorder) -> summaries.put(scenario.getName(), recorder.summary(elapsed)));
+        return new LoadReport(profile, summaries, total.summary(elapsed));
+    }
+
+    private void runClosed(LoadProfile profile, long seed, Mix mix, Recording recording, ExecutorService executor) {
+        for (int worker = 0; worker < profile.concurrency(); worker++) {
+            SplittableRandom random = new SplittableRandom(seed + worker);
+            executor.execute(() -> {
+                long sent;
+                while ((sent = System.nanoTime()) < recording.end()) {
+                    Scenario scenario = mix.pick(random);
+                    boolean succeeded = send(scenario, random);
+                    recording.record(scenario, sent, System.nanoTime() - sent, succeeded);
+                }
+            });
+        }
+    }
+
+    private void runOpen(LoadProfile profile, long seed, Mix mix, Recording recording, ExecutorService executor) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double interval = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+        for (long i = 0; ; i++) {
+            long due = recording.start() + (long) (i * interval);
+            if (due >= recording.end()) {
+                return;
+            }
+            LockSupport.parkNanos(due - System.nanoTime());
+            Scenario scenario = mix.pick(random);
+            SplittableRandom requestRandom = random.split();
+            executor.execute(() -> {
+                boolean succeeded = send(scenario, requestRandom);
+                recording.record(scenario, due, System.nanoTime() - due, succeeded);
+            });
+        }
+    }
+
+    private boolean send(Scenario scenario, SplittableRandom random) {
+        try {
+            HttpResponse<String> response = client.send(scenario.request(target, random), BodyHandlers.ofString());
+            return scenario.succeeded(response);
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Records requests started after the warmup
+     */
+    private record Recording(long start, long recordFrom, long end, Map<Scenario, LatencyRecorder> recorders,
+                             LatencyRecorder total) {
+
+        Recording(long start, LoadProfile profile, Map<Scenario, LatencyRecorder> recorders, LatencyRecorder total) {
+            this(start,
+                    start + profile.warmup().toNanos(),
+                    start + profile.warmup().toNanos() + profile.duration().toNanos(),
+                    recorders,
+                    total);
+        }
+
+        void record(Scenario scenario, long started, long latency, boolean succeeded) {
+            if (started >= recordFrom) {
+                recorders.get(scenario).record(latency, !succeeded);
+                total.record(latency, !succeeded);
+            }
+        }
+    }
+
+    /**
+     * Picks scenarios in proportion to their weights
+     */
+    private static class Mix {
+
+        private final Scenario[] scenarios;
+        private final int[] cumulativeWeights;
+
+        Mix(Map<Scenario, Integer> weights) {
+            scenarios = weights.keySet().toArray(Scenario[]::new);
+            cumulativeWeights = new int[scenarios.length];
+            int sum = 0;
+            for (int i = 0; i < scenarios.length; i++) {
+                sum += weights.get(scenarios[i]);
+                cumulativeWeights[i] = sum;
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("Scenario mix must have a positive weight");
+            }
+        }
+
+        Scenario pick(SplittableRandom random) {
+            int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; ; i++) {
+                if (draw < cumulativeWeights[i]) {
+                    return scenarios[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.demo.filmdb.load;
+
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import com.demo.filmdb.generator.GeneratedCatalog;
+import com.demo.filmdb.generator.SyntheticCatalog;
+import com.demo.filmdb.security.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of the running application on the in-memory database with a generated catalog. The {@code load-test}
+ * profile replaces {@code dev}, so SQL logging doesn't dominate the measurements. Excluded from {@code integrationTest}, run with
+ * {@code ./gradlew loadTest}. The traffic is configured with {@code filmdb.load.*} system properties, see
+ * {@link LoadProfile#fromSystemProperties()}, and the report is written to {@code build/reports/load}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.profiles.active=load-test", "logging.level.root=WARN"})
+@DisplayName("Load test")
+public class LoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTests.class);
+    private static final long SEED = Long.getLong("filmdb.load.seed", 42);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CatalogGenerator catalogGenerator;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("Mixed REST and GraphQL traffic, expect no errors")
+    void MixedTraffic_NoErrors() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        CatalogGeneratorProperties catalogProperties = CatalogGeneratorProperties.of(profile.films(), SEED);
+        GeneratedCatalog generated = catalogGenerator.generate(catalogProperties);
+        String adminToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername("admin"));
+        LoadTarget target = new LoadTarget(URI.create("http://localhost:" + port), adminToken,
+                new SyntheticCatalog(catalogProperties), generated);
+
+        LoadReport report = new LoadTestRunner(target).run(profile, SEED);
+
+        report.write(Path.of(System.getProperty("filmdb.load.report", "build/reports/load")));
+        log.info("Load test of {} films\n{}", profile.films(), report.table());
+        assertThat(report.total().requests()).isPositive();
+        assertThat(report.total().errors()).isZero();
+    }
+}
@@ -0,0 +1,150 @@
+package com.demo.filmdb.load;
+
+import com.demo.filmdb.generator.SyntheticCatalog;
+import org.springframework.http.HttpStatus;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static com.demo.filmdb.rest.util.Path.API_PREFIX;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Kinds of requests sent by a load test. Films are picked uniformly from the generated catalog.
+ */
+public enum Scenario {
+
+    /**
+     * REST title search for a word of a film title
+     */
+    SEARCH("search") {
+        @Override
+        HttpRequest request(LoadTarget target, SplittableRandom random) {
+            String title = target.film(random).row().title();
+            String word = title.substring(title.lastIndexOf(' ') + 1);
+            return get(target, API_PREFIX + "/films/search?size=20&title="
+                    + URLEncoder.encode(word, StandardCharsets.UTF_8));
+        }
+    },
+
+    /**
+     * REST cast of a film
+     */
+    CAST("cast") {
+        @Override
+        HttpRequest request(LoadTarget target, SplittableRandom random) {
+            return get(target, API_PREFIX + "/films/" + target.film(random).id() + "/cast");
+        }
+    },
+
+    /**
+     * GraphQL page of films without associations
+     */
+    GRAPHQL_FILMS("graphql-films") {
+        @Override
+        HttpRequest request(LoadTarget target, SplittableRandom random) {
+            return graphQl(target, "{ films(page: " + random.nextInt(100) + ", pageSize: 20, sortBy: TITLE)"
+                    + " { id title releaseDate } }");
+        }
+
+        @Override
+        boolean succeeded(HttpResponse<String> response) {
+            return super.succeeded(response) && graphQlSucceeded(response);
+        }
+    },
+
+    /**
+     * GraphQL page of films with their cast and the people playing in it
+     */
+    GRAPHQL_CAST("graphql-cast") {
+        @Override
+        HttpRequest request(LoadTarget target, SplittableRandom random) {
+            return graphQl(target, "{ films(page: " + random.nextInt(100) + ", pageSize: 20)"
+                    + " { id title cast { character person { id name } } } }");
+        }
+
+        @Override
+        boolean succeeded(HttpResponse<String> response) {
+            return super.succeeded(response) && graphQlSucceeded(response);
+        }
+    },
+
+    /**
+     * REST update of a film by an administrator. Concurrent updates of the same film are answered with 409, which is
+     * an expected outcome rather than an error.
+     */
+    WRITE("write") {
+        @Override
+        HttpRequest request(LoadTarget target, SplittableRandom random) {
+            LoadTarget.Film film = target.film(random);
+            SyntheticCatalog.FilmRow row = film.row();
+            String body = "{\"title\": \"" + row.title() + "\", \"releaseDate\": \"" + row.releaseDate()
+                    + "\", \"synopsis\": \"Updated " + random.nextInt() + "\"}";
+            return HttpRequest.newBuilder(target.uri(API_PREFIX + "/films/" + film.id()))
+                    .header(AUTHORIZATION, "Bearer " + target.adminToken())
+                    .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                    .PUT(BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        @Override
+        boolean succeeded(HttpResponse<String> response) {
+            return super.succeeded(response) || response.statusCode() == HttpStatus.CONFLICT.value();
+        }
+    };
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract HttpRequest request(LoadTarget target, SplittableRandom random);
+
+    boolean succeeded(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    /**
+     * @param name name used in profiles and reports
+     * @return scenario of the name
+     * @throws IllegalArgumentException if there is no such scenario
+     */
+    public static Scenario of(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.name.equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + name);
+    }
+
+    /**
+     * GraphQL responds with 200 to failed queries, errors are in the body
+     */
+    private static boolean graphQlSucceeded(HttpResponse<String> response) {
+        return !response.body().contains("\"errors\"");
+    }
+
+    private static HttpRequest get(LoadTarget target, String path) {
+        return HttpRequest.newBuilder(target.uri(path)).GET().build();
+    }
+
+    private static HttpRequest graphQl(LoadTarget target, String query) {
+        String body = "{\"query\": \"" + query.replace("\"", "\\\"") + "\"}";
+        return HttpRequest.newBuilder(target.uri("/graphql"))
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(BodyPublishers.ofString(body))
+                .build();
+    }
+}
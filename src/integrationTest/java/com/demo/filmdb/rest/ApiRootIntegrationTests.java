@@ -12,6 +12,7 @@ import static com.demo.filmdb.rest.Util.configureMockMvc;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -30,6 +31,16 @@ public class ApiRootIntegrationTests {
     public void GetApiRoot_Response200() throws Exception {
         mockMvc.perform(get(API_PREFIX)).andExpectAll(
                 status().isOk(),
-                content().contentType(MediaType.APPLICATION_JSON));
+                content().contentType(MediaType.APPLICATION_JSON),
+                jsonPath("$.films_url").value("http://localhost" + API_PREFIX + "/films"),
+                jsonPath("$.people_url").value("http://localhost" + API_PREFIX + "/people"));
+    }
+
+    @Test
+    @DisplayName("GET API root under a context path, expect links with the context path")
+    public void GetApiRoot_ContextPath_LinksWithContextPath() throws Exception {
+        mockMvc.perform(get("/filmdb" + API_PREFIX).contextPath("/filmdb")).andExpectAll(
+                status().isOk(),
+                jsonPath("$.films_url").value("http://localhost/filmdb" + API_PREFIX + "/films"));
     }
 }
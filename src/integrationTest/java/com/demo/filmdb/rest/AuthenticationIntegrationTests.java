@@ -3,6 +3,7 @@ package com.demo.filmdb.rest;
 import com.demo.filmdb.rest.auth.dtos.LoginRequestDto;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +13,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.context.WebApplicationContext;
 
+import static com.demo.filmdb.rest.Util.NOT_EXISTING_ID;
 import static com.demo.filmdb.rest.Util.configureMockMvc;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
 import static com.demo.filmdb.rest.util.Path.LOGIN;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -66,4 +70,42 @@ public class AuthenticationIntegrationTests {
         mockMvc.perform(post(loginUri).content("invalid request"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Admin token, expect admin authority from the token")
+    public void AdminToken_Authorized() throws Exception {
+        String jwt = login("admin");
+
+        mockMvc.perform(delete(API_PREFIX + "/films/" + NOT_EXISTING_ID).header(AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("User token, expect 403 for admin operations")
+    public void UserToken_Response403() throws Exception {
+        String jwt = login("user");
+
+        mockMvc.perform(delete(API_PREFIX + "/films/" + NOT_EXISTING_ID).header(AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Tampered token, expect 403")
+    public void TamperedToken_Response403() throws Exception {
+        String jwt = login("admin");
+        int signatureStart = jwt.lastIndexOf('.') + 1;
+        char replacement = jwt.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = jwt.substring(0, signatureStart) + replacement + jwt.substring(signatureStart + 1);
+
+        mockMvc.perform(delete(API_PREFIX + "/films/" + NOT_EXISTING_ID).header(AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().isForbidden());
+    }
+
+    private String login(String username) throws Exception {
+        String requestBody = objectMapper.writeValueAsString(new LoginRequestDto(username, "password"));
+        String response = mockMvc.perform(post(loginUri).content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.jwt");
+    }
 }
@@ -19,6 +19,7 @@ import static com.demo.filmdb.rest.Util.NOT_EXISTING_ID;
 import static com.demo.filmdb.rest.Util.configureMockMvc;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
 import static com.demo.filmdb.security.SecurityConfig.ROLE_ADMIN;
+import static com.demo.filmdb.statements.StatementAssertions.assertStatements;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.in;
 import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_PLACEHOLDER;
@@ -53,11 +54,11 @@ public class CastIntegrationTests {
         public void ExistingId_Response200() throws Exception {
             final String expectedUri = API_PREFIX + "/films/2/cast";
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(2, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$._embedded.cast.length()").value(2),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -79,11 +80,11 @@ public class CastIntegrationTests {
         public void ExistingId_Response200() throws Exception {
             final String expectedUri = API_PREFIX + "/people/2/roles";
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(2, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$._embedded.roles.length()").value(2),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -198,8 +199,8 @@ public class CastIntegrationTests {
         public void ExistingId_Response204() throws Exception {
             String uri = API_PREFIX + "/films/1/cast";
 
-            mockMvc.perform(delete(uri))
-                    .andExpect(status().isNoContent());
+            assertStatements(1, () -> mockMvc.perform(delete(uri))
+                    .andExpect(status().isNoContent()));
         }
 
         @Test
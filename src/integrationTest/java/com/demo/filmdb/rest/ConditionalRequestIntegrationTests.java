@@ -0,0 +1,175 @@
+package com.demo.filmdb.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.demo.filmdb.rest.Util.VALID_FILM_INPUT;
+import static com.demo.filmdb.rest.Util.configureMockMvc;
+import static com.demo.filmdb.rest.util.Path.API_PREFIX;
+import static com.demo.filmdb.security.SecurityConfig.ROLE_ADMIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.http.HttpHeaders.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Conditional requests")
+public class ConditionalRequestIntegrationTests {
+
+    private static final String FILM_URI = API_PREFIX + "/films/1";
+    private static final String PERSON_URI = API_PREFIX + "/people/1";
+    private static final String STALE_TAG = "\"-1\"";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp(WebApplicationContext wac) {
+        mockMvc = configureMockMvc(wac, springSecurity());
+    }
+
+    @Nested
+    @DisplayName("GET")
+    class Get {
+
+        @ParameterizedTest(name = "{0}")
+        @ValueSource(strings = {FILM_URI, PERSON_URI})
+        @DisplayName("Current tag in If-None-Match, expect 304 after a version lookup only")
+        public void CurrentTag_Response304(String uri) throws Exception {
+            String eTag = currentTag(uri);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(get(uri).header(IF_NONE_MATCH, eTag)).andExpectAll(
+                    status().isNotModified(),
+                    header().string(ETAG, eTag),
+                    content().string(""));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @ValueSource(strings = {FILM_URI, PERSON_URI})
+        @DisplayName("Stale tag in If-None-Match, expect 200 with the current tag")
+        public void StaleTag_Response200(String uri) throws Exception {
+            String eTag = currentTag(uri);
+
+            mockMvc.perform(get(uri).header(IF_NONE_MATCH, STALE_TAG)).andExpectAll(
+                    status().isOk(),
+                    header().string(ETAG, eTag),
+                    jsonPath("$.id").value(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT")
+    class Put {
+
+        @Test
+        @Transactional
+        @WithMockUser(roles = {ROLE_ADMIN})
+        @DisplayName("Current tag in If-Match, expect 200 with a new tag")
+        public void CurrentTag_Response200() throws Exception {
+            String eTag = currentTag(FILM_URI);
+            String requestBody = objectMapper.writeValueAsString(VALID_FILM_INPUT);
+
+            mockMvc.perform(put(FILM_URI).header(IF_MATCH, eTag).content(requestBody)).andExpectAll(
+                    status().isOk(),
+                    header().string(ETAG, not(eTag)),
+                    jsonPath("$.title").value(VALID_FILM_INPUT.title()));
+        }
+
+        @Test
+        @Transactional
+        @WithMockUser(roles = {ROLE_ADMIN})
+        @DisplayName("Stale tag in If-Match, expect 412 and film unchanged")
+        public void Film_StaleTag_Response412() throws Exception {
+            String eTag = currentTag(FILM_URI);
+            String requestBody = objectMapper.writeValueAsString(VALID_FILM_INPUT);
+
+            mockMvc.perform(put(FILM_URI).header(IF_MATCH, STALE_TAG).content(requestBody))
+                    .andExpect(status().isPreconditionFailed());
+
+            mockMvc.perform(get(FILM_URI)).andExpectAll(
+                    header().string(ETAG, eTag),
+                    jsonPath("$.title").value("Thor: Ragnarok"));
+        }
+
+        @Test
+        @Transactional
+        @WithMockUser(roles = {ROLE_ADMIN})
+        @DisplayName("Stale tag in If-Match, expect 412 and person unchanged")
+        public void Person_StaleTag_Response412() throws Exception {
+            String eTag = currentTag(PERSON_URI);
+
+            mockMvc.perform(put(PERSON_URI).header(IF_MATCH, STALE_TAG).content("{\"name\": \"Bogdan\"}"))
+                    .andExpect(status().isPreconditionFailed());
+
+            mockMvc.perform(get(PERSON_URI)).andExpectAll(
+                    header().string(ETAG, eTag),
+                    jsonPath("$.name").value("Scarlett Johansson"));
+        }
+    }
+
+    @Nested
+    @DisplayName("DELETE")
+    class Delete {
+
+        @ParameterizedTest(name = "{0}")
+        @ValueSource(strings = {FILM_URI, PERSON_URI})
+        @Transactional
+        @WithMockUser(roles = {ROLE_ADMIN})
+        @DisplayName("Stale tag in If-Match, expect 412 and not deleted")
+        public void StaleTag_Response412(String uri) throws Exception {
+            mockMvc.perform(delete(uri).header(IF_MATCH, STALE_TAG))
+                    .andExpect(status().isPreconditionFailed());
+
+            mockMvc.perform(get(uri))
+                    .andExpect(status().isOk());
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @ValueSource(strings = {FILM_URI, PERSON_URI})
+        @Transactional
+        @WithMockUser(roles = {ROLE_ADMIN})
+        @DisplayName("Current tag in If-Match, expect 204")
+        public void CurrentTag_Response204(String uri) throws Exception {
+            String eTag = currentTag(uri);
+
+            mockMvc.perform(delete(uri).header(IF_MATCH, eTag))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get(uri))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    private String currentTag(String uri) throws Exception {
+        return mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ETAG))
+                .andReturn().getResponse().getHeader(ETAG);
+    }
+}
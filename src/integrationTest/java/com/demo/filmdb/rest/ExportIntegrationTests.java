@@ -0,0 +1,110 @@
+package com.demo.filmdb.rest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.demo.filmdb.rest.Util.configureMockMvc;
+import static com.demo.filmdb.rest.util.Path.API_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@DisplayName("Export")
+public class ExportIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp(WebApplicationContext wac) {
+        mockMvc = configureMockMvc(wac);
+    }
+
+    @Nested
+    @DisplayName("GET")
+    class Get {
+
+        @Test
+        @DisplayName("Films, expect one line per film")
+        public void Films_LinePerFilm() throws Exception {
+            MvcResult result = mockMvc.perform(get(API_PREFIX + "/export/films").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpectAll(
+                            status().isOk(),
+                            content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON),
+                            header().doesNotExist(CONTENT_ENCODING))
+                    .andReturn();
+
+            List<String> lines = lines(result.getResponse().getContentAsByteArray());
+            assertThat(lines).hasSize(3);
+            assertThat(lines.get(0))
+                    .contains("\"id\":1")
+                    .contains("\"title\":\"Thor: Ragnarok\"")
+                    .contains("\"release date\":\"2017-10-10\"");
+        }
+
+        @Test
+        @DisplayName("People, expect one line per person")
+        public void People_LinePerPerson() throws Exception {
+            MvcResult result = mockMvc.perform(get(API_PREFIX + "/export/people").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<String> lines = lines(result.getResponse().getContentAsByteArray());
+            assertThat(lines).hasSize(5);
+            assertThat(lines).allMatch(line -> line.contains("\"name\":"));
+        }
+
+        @Test
+        @DisplayName("Roles, expect one line per role with ids")
+        public void Roles_LinePerRole() throws Exception {
+            MvcResult result = mockMvc.perform(get(API_PREFIX + "/export/roles").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<String> lines = lines(result.getResponse().getContentAsByteArray());
+            assertThat(lines).hasSize(5);
+            assertThat(lines).allMatch(line ->
+                    line.contains("\"filmId\":") && line.contains("\"personId\":") && line.contains("\"character\":"));
+        }
+
+        @Test
+        @DisplayName("Gzip accepted, expect compressed response")
+        public void GzipAccepted_Compressed() throws Exception {
+            MvcResult result = mockMvc.perform(get(API_PREFIX + "/export/films")
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .header(ACCEPT_ENCODING, "gzip, deflate"))
+                    .andExpectAll(
+                            status().isOk(),
+                            header().string(CONTENT_ENCODING, "gzip"))
+                    .andReturn();
+
+            byte[] body = gunzip(result.getResponse().getContentAsByteArray());
+            assertThat(lines(body)).hasSize(3);
+        }
+    }
+
+    private static List<String> lines(byte[] body) {
+        return new String(body, StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
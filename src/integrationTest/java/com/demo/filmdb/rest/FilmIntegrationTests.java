@@ -3,6 +3,7 @@ package com.demo.filmdb.rest;
 import com.demo.filmdb.rest.film.dtos.FilmDtoInput;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -11,15 +12,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.stream.Stream;
 
 import static com.demo.filmdb.rest.Util.*;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
 import static com.demo.filmdb.security.SecurityConfig.ROLE_ADMIN;
+import static com.demo.filmdb.statements.StatementAssertions.assertStatements;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -54,13 +58,13 @@ public class FilmIntegrationTests {
         public void Films_Response200() throws Exception {
             final String expectedUri = API_PREFIX + "/films";
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(2, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$._embedded.films.length()").value(3),
                     jsonPath("$..films[0].title").value("Thor: Ragnarok"),
                     jsonPath("$..['films'][2]['release date']").value("2019-09-08"),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -69,14 +73,14 @@ public class FilmIntegrationTests {
             final Long expectedFilmId = 1L;
             final String expectedUri = API_PREFIX + "/films/" + expectedFilmId;
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(1, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$.id").value(expectedFilmId),
                     jsonPath("$.title").value("Thor: Ragnarok"),
                     jsonPath("$.['release date']").value("2017-10-10"),
                     jsonPath("$.synopsis").value(containsString("Asgard")),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -87,6 +91,53 @@ public class FilmIntegrationTests {
             mockMvc.perform(get(uri))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Scroll all films, expect 200 and windows linked with next")
+        public void Scroll_Response200() throws Exception {
+            final String expectedUri = API_PREFIX + "/films";
+
+            MvcResult firstWindow = mockMvc.perform(get(expectedUri).param("cursor", "").param("size", "2")).andExpectAll(
+                    status().isOk(),
+                    content().contentType(MediaType.APPLICATION_JSON),
+                    jsonPath("$._embedded.films.length()").value(2),
+                    jsonPath("$._links.next.href").value(containsString("cursor="))).andReturn();
+            String nextHref = JsonPath.read(firstWindow.getResponse().getContentAsString(), "$._links.next.href");
+
+            mockMvc.perform(get(URI.create(nextHref))).andExpectAll(
+                    status().isOk(),
+                    jsonPath("$._embedded.films.length()").value(1),
+                    jsonPath("$._links.next").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Scroll with invalid cursor, expect 400")
+        public void Scroll_InvalidCursor_Response400() throws Exception {
+            final String uri = API_PREFIX + "/films";
+
+            mockMvc.perform(get(uri).param("cursor", "not a cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Scroll with offset cursor, expect 400")
+        public void Scroll_OffsetCursor_Response400() throws Exception {
+            final String uri = API_PREFIX + "/films";
+            // "O_5" encoded, an offset position
+            final String offsetCursor = "T181";
+
+            mockMvc.perform(get(uri).param("cursor", offsetCursor))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Scroll with size below one, expect 400")
+        public void Scroll_InvalidSize_Response400() throws Exception {
+            final String uri = API_PREFIX + "/films";
+
+            mockMvc.perform(get(uri).param("cursor", "").param("size", "0"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -217,8 +268,8 @@ public class FilmIntegrationTests {
         public void ExistingId_Response204() throws Exception {
             String uri = API_PREFIX + "/films/1";
 
-            mockMvc.perform(delete(uri))
-                    .andExpect(status().isNoContent());
+            assertStatements(2, () -> mockMvc.perform(delete(uri))
+                    .andExpect(status().isNoContent()));
         }
 
         @Test
@@ -43,7 +43,7 @@ public class FilmSearchIntegrationTests {
         mockMvc = configureMockMvc(wac);
     }
 
-    @ParameterizedTest(name = "containing \"{0}\", expect to find {1} films")
+    @ParameterizedTest(name = "matching \"{0}\", expect to find {1} films")
     @MethodSource("com.demo.filmdb.rest.FilmSearchIntegrationTests#titleFilterAndCountProvider")
     @DisplayName("Filter by title")
     public void GetFilmsSearchURI_Title_Response200(String titleFilter, int expectedCount) throws Exception {
@@ -114,7 +114,7 @@ public class FilmSearchIntegrationTests {
         final String expectedUri = API_PREFIX + "/films/search";
 
         mockMvc.perform(get(expectedUri)
-                        .param("title", "IT")
+                        .param("title", "INF")
                         .param("release_after", "2016-12-30")
                         .param("release_before", "2018-12-30"))
                 .andExpectAll(
@@ -127,7 +127,7 @@ public class FilmSearchIntegrationTests {
 
     private static Stream<Arguments> titleFilterAndCountProvider() {
         return Stream.of(
-                Arguments.arguments("aR", 2),
+                Arguments.arguments("tHoR", 1),
                 Arguments.arguments("ra", 2),
                 Arguments.arguments("Mango", 0)
         );
@@ -0,0 +1,128 @@
+package com.demo.filmdb.rest;
+
+import com.demo.filmdb.FilmdbApplication;
+import com.demo.filmdb.rest.auth.dtos.LoginRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Date;
+
+import static com.demo.filmdb.rest.Util.NOT_EXISTING_ID;
+import static com.demo.filmdb.rest.Util.configureMockMvc;
+import static com.demo.filmdb.rest.util.Path.API_PREFIX;
+import static com.demo.filmdb.rest.util.Path.LOGIN;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs two application instances in the middle of a key rotation: both know both keys, but sign new tokens with
+ * different ones
+ */
+@DisplayName("JWT keys")
+public class JwtKeysIntegrationTests {
+
+    private static final String OLD_KEY = "srD29CuqsAKCIYbLI4VOWCuQMIbGGPcsKvHtM9ijjxE=";
+    private static final String NEW_KEY = "fUYKuwjGPm926ItFPIlJVZzi6upewxKaHf8Hc+UM2oI=";
+    private static final String ADMIN_ONLY_URI = API_PREFIX + "/films/" + NOT_EXISTING_ID;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ConfigurableApplicationContext firstContext;
+    private static ConfigurableApplicationContext secondContext;
+    private static MockMvc firstNode;
+    private static MockMvc secondNode;
+
+    @BeforeAll
+    static void beforeAll() {
+        firstContext = startNode("first", "old");
+        secondContext = startNode("second", "new");
+        firstNode = configureMockMvc((WebApplicationContext) firstContext, springSecurity());
+        secondNode = configureMockMvc((WebApplicationContext) secondContext, springSecurity());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        firstContext.close();
+        secondContext.close();
+    }
+
+    @Test
+    @DisplayName("Token issued by the first node, accepted by the second")
+    void FirstNodeToken_AcceptedBySecond() throws Exception {
+        String jwt = login(firstNode);
+
+        secondNode.perform(delete(ADMIN_ONLY_URI).header(AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Token issued by the second node, accepted by the first")
+    void SecondNodeToken_AcceptedByFirst() throws Exception {
+        String jwt = login(secondNode);
+
+        firstNode.perform(delete(ADMIN_ONLY_URI).header(AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Token signed with an unknown key, expect 403")
+    void UnknownKey_Response403() throws Exception {
+        String jwt = Jwts.builder()
+                .header().keyId("old").and()
+                .subject("admin")
+                .claim("roles", new String[]{"ROLE_ADMIN"})
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+        firstNode.perform(delete(ADMIN_ONLY_URI).header(AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Token signed with a configured key without roles, expect 403")
+    void NoRolesClaim_Response403() throws Exception {
+        String jwt = Jwts.builder()
+                .header().keyId("new").and()
+                .subject("user")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(NEW_KEY)))
+                .compact();
+
+        firstNode.perform(delete(ADMIN_ONLY_URI).header(AUTHORIZATION, "Bearer " + jwt))
+                .andExpect(status().isForbidden());
+    }
+
+    private static ConfigurableApplicationContext startNode(String name, String signingKeyId) {
+        return new SpringApplicationBuilder(FilmdbApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + name + "-node",
+                        "filmdb.jwt.keys.old=" + OLD_KEY,
+                        "filmdb.jwt.keys.new=" + NEW_KEY,
+                        "filmdb.jwt.signing-key-id=" + signingKeyId)
+                .run();
+    }
+
+    private static String login(MockMvc node) throws Exception {
+        String requestBody = objectMapper.writeValueAsString(new LoginRequestDto("admin", "password"));
+        String response = node.perform(post(API_PREFIX + LOGIN).content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.jwt");
+    }
+}
@@ -3,6 +3,7 @@ package com.demo.filmdb.rest;
 import com.demo.filmdb.rest.person.dtos.PersonDtoInput;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -11,9 +12,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.stream.Stream;
 
@@ -21,6 +24,7 @@ import static com.demo.filmdb.rest.Util.NOT_EXISTING_ID;
 import static com.demo.filmdb.rest.Util.configureMockMvc;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
 import static com.demo.filmdb.security.SecurityConfig.ROLE_ADMIN;
+import static com.demo.filmdb.statements.StatementAssertions.assertStatements;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -54,11 +58,11 @@ public class PersonIntegrationTests {
         public void GetPeopleURI_MockMVC_Response200() throws Exception {
             final String expectedUri = API_PREFIX + "/people";
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(2, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$._embedded.people.length()").value(5),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -67,13 +71,13 @@ public class PersonIntegrationTests {
             final long expectedPersonId = 1L;
             final String expectedUri = API_PREFIX + "/people/" + expectedPersonId;
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(1, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$.id").value(expectedPersonId),
                     jsonPath("$.name").value("Scarlett Johansson"),
                     jsonPath("$.['date of birth']").value("1984-11-22"),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -84,6 +88,53 @@ public class PersonIntegrationTests {
             mockMvc.perform(get(uri))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("Scroll all people, expect 200 and windows linked with next")
+        public void Scroll_Response200() throws Exception {
+            final String expectedUri = API_PREFIX + "/people";
+
+            MvcResult firstWindow = mockMvc.perform(get(expectedUri).param("cursor", "").param("size", "3")).andExpectAll(
+                    status().isOk(),
+                    content().contentType(MediaType.APPLICATION_JSON),
+                    jsonPath("$._embedded.people.length()").value(3),
+                    jsonPath("$._links.next.href").value(containsString("cursor="))).andReturn();
+            String nextHref = JsonPath.read(firstWindow.getResponse().getContentAsString(), "$._links.next.href");
+
+            mockMvc.perform(get(URI.create(nextHref))).andExpectAll(
+                    status().isOk(),
+                    jsonPath("$._embedded.people.length()").value(2),
+                    jsonPath("$._links.next").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Scroll with invalid cursor, expect 400")
+        public void Scroll_InvalidCursor_Response400() throws Exception {
+            final String uri = API_PREFIX + "/people";
+
+            mockMvc.perform(get(uri).param("cursor", "not a cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Scroll with offset cursor, expect 400")
+        public void Scroll_OffsetCursor_Response400() throws Exception {
+            final String uri = API_PREFIX + "/people";
+            // "O_5" encoded, an offset position
+            final String offsetCursor = "T181";
+
+            mockMvc.perform(get(uri).param("cursor", offsetCursor))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Scroll with size below one, expect 400")
+        public void Scroll_InvalidSize_Response400() throws Exception {
+            final String uri = API_PREFIX + "/people";
+
+            mockMvc.perform(get(uri).param("cursor", "").param("size", "0"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -208,8 +259,8 @@ public class PersonIntegrationTests {
         public void DeletePeopleURI_ExistingId_Response204() throws Exception {
             String uri = API_PREFIX + "/people/1";
 
-            mockMvc.perform(delete(uri))
-                    .andExpect(status().isNoContent());
+            assertStatements(1, () -> mockMvc.perform(delete(uri))
+                    .andExpect(status().isNoContent()));
         }
 
         @Test
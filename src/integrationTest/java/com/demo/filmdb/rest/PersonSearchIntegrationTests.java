@@ -42,7 +42,7 @@ public class PersonSearchIntegrationTests {
         mockMvc = configureMockMvc(wac);
     }
 
-    @ParameterizedTest(name = "containing \"{0}\", expect to find {1} people")
+    @ParameterizedTest(name = "matching \"{0}\", expect to find {1} people")
     @MethodSource("com.demo.filmdb.rest.PersonSearchIntegrationTests#nameFilterAndCountProvider")
     @DisplayName("Filter by name")
     public void GetPeopleSearchURI_Name_Response200(String nameFilter, int expectedCount) throws Exception {
@@ -126,8 +126,8 @@ public class PersonSearchIntegrationTests {
 
     private static Stream<Arguments> nameFilterAndCountProvider() {
         return Stream.of(
-                Arguments.arguments("aR", 2),
-                Arguments.arguments("sso", 3),
+                Arguments.arguments("jO", 2),
+                Arguments.arguments("russo", 2),
                 Arguments.arguments("Sia", 0)
         );
     }
@@ -21,6 +21,7 @@ import static com.demo.filmdb.rest.Util.NOT_EXISTING_ID;
 import static com.demo.filmdb.rest.Util.configureMockMvc;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
 import static com.demo.filmdb.security.SecurityConfig.ROLE_ADMIN;
+import static com.demo.filmdb.statements.StatementAssertions.assertStatements;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Named.named;
 import static org.junit.jupiter.params.ParameterizedTest.ARGUMENTS_PLACEHOLDER;
@@ -137,13 +138,13 @@ public class RoleIntegrationTests {
         public void ExistingIds_Response200() throws Exception {
             final String expectedUri = API_PREFIX + "/films/3/cast/1";
 
-            mockMvc.perform(get(expectedUri)).andExpectAll(
+            assertStatements(1, () -> mockMvc.perform(get(expectedUri)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$.film").value("Jojo Rabbit"),
                     jsonPath("$.actor").value("Scarlett Johansson"),
                     jsonPath("$.character").value("Rosie"),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @Test
@@ -178,11 +179,11 @@ public class RoleIntegrationTests {
             RoleDtoInput expectedRole = new RoleDtoInput("Borat");
             String requestBody = objectMapper.writeValueAsString(expectedRole);
 
-            mockMvc.perform(patch(expectedUri).content(requestBody)).andExpectAll(
+            assertStatements(2, () -> mockMvc.perform(patch(expectedUri).content(requestBody)).andExpectAll(
                     status().isOk(),
                     content().contentType(MediaType.APPLICATION_JSON),
                     jsonPath("$.character").value(expectedRole.character()),
-                    jsonPath("$._links.self.href").value(containsString(expectedUri)));
+                    jsonPath("$._links.self.href").value(containsString(expectedUri))));
         }
 
         @ParameterizedTest(name = ARGUMENTS_PLACEHOLDER)
@@ -243,8 +244,8 @@ public class RoleIntegrationTests {
         public void ExistingIds_Response204() throws Exception {
             String uri = API_PREFIX + "/films/3/cast/3";
 
-            mockMvc.perform(delete(uri))
-                    .andExpect(status().isNoContent());
+            assertStatements(1, () -> mockMvc.perform(delete(uri))
+                    .andExpect(status().isNoContent()));
         }
 
         @Test
@@ -0,0 +1,59 @@
+package com.demo.filmdb.statements;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.demo.filmdb.rest.util.Path.API_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@SpringBootTest(properties = "filmdb.statements.warn-threshold=1")
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("Statement limit warning")
+public class StatementLimitIntegrationTests {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterRegistrationBean<StatementLimitFilter> statementLimitFilter;
+
+    @BeforeEach
+    void setUp(WebApplicationContext wac) {
+        mockMvc = webAppContextSetup(wac)
+                .addFilters(statementLimitFilter.getFilter())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Request over the threshold, expect warning with stack trace")
+    void OverThreshold_Warning(CapturedOutput output) throws Exception {
+        // a page smaller than the result needs a count query besides the select
+        mockMvc.perform(get(API_PREFIX + "/films").param("size", "1"))
+                .andExpect(status().isOk());
+
+        assertThat(output.getOut())
+                .contains("GET " + API_PREFIX + "/films executed 2 statements, more than 1")
+                .contains("Statement 2 exceeded the limit of 1")
+                .contains("at " + StatementLimitFilter.class.getName());
+    }
+
+    @Test
+    @DisplayName("Request without statements, expect no warning")
+    void NoStatements_NoWarning(CapturedOutput output) throws Exception {
+        mockMvc.perform(get(API_PREFIX + "/not-mapped"))
+                .andExpect(status().isNotFound());
+
+        assertThat(output.getOut()).doesNotContain(StatementLimitFilter.class.getName());
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.filmdb.graphql;
+
+import com.demo.filmdb.FilmdbApplication;
+import com.demo.filmdb.generator.CatalogGenerator;
+import com.demo.filmdb.generator.CatalogGeneratorProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures executing {@code films} queries of {@code pageSize} films through the {@link ExecutionGraphQlService}, so
+ * parsing, validation, scalar coercion, data fetchers and batch loaders are included but HTTP is not. The
+ * {@code nested} variant selects the directors and the cast with their people, like the film list of a client would.
+ * The page consists of the films of a generated catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQLQueryBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+    private String flatQuery;
+    private String nestedQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(FilmdbApplication.class)
+                .properties(
+                        "spring.profiles.active=benchmark",
+                        "logging.level.root=WARN",
+                        "server.port=0")
+                .run();
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+        context.getBean(CatalogGenerator.class).generate(CatalogGeneratorProperties.of(pageSize, SEED));
+        String films = "films(pageSize: " + pageSize
+                + ", sortBy: ID, sortDirection: DESC, releaseAfter: \"1900-01-01\")";
+        flatQuery = "{ " + films + " { id title releaseDate } }";
+        nestedQuery = "{ " + films + " { id title releaseDate"
+                + " directors { id name } cast { character person { id name } } } }";
+        execute(flatQuery);
+        execute(nestedQuery);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ExecutionGraphQlResponse flat() {
+        return execute(flatQuery);
+    }
+
+    @Benchmark
+    public ExecutionGraphQlResponse nested() {
+        return execute(nestedQuery);
+    }
+
+    private ExecutionGraphQlResponse execute(String document) {
+        ExecutionGraphQlResponse response = graphQlService
+                .execute(new DefaultExecutionGraphQlRequest(document, null, null, null, "benchmark", null))
+                .block();
+        if (response == null || !response.getErrors().isEmpty()) {
+            throw new IllegalStateException("Query failed: " + (response == null ? null : response.getErrors()));
+        }
+        return response;
+    }
+}
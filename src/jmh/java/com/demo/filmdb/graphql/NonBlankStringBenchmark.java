@@ -0,0 +1,56 @@
+package com.demo.filmdb.graphql;
+
+import com.demo.filmdb.graphql.config.NonBlankString;
+import graphql.GraphQLContext;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures coercing {@link NonBlankString} values of variables, query literals and results. The {@code blank} variant
+ * measures rejecting a blank literal, which creates an exception with its stack trace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NonBlankStringBenchmark {
+
+    private final Coercing<?, ?> coercing = NonBlankString.INSTANCE.getCoercing();
+    private final GraphQLContext context = GraphQLContext.getDefault();
+    private final Locale locale = Locale.getDefault();
+    private final String value = "Thor: Ragnarok";
+    private final StringValue literal = StringValue.of(value);
+    private final StringValue blankLiteral = StringValue.of("   ");
+
+    @Benchmark
+    public Object parseValue() {
+        return coercing.parseValue(value, context, locale);
+    }
+
+    @Benchmark
+    public Object parseLiteral() {
+        return coercing.parseLiteral(literal, CoercedVariables.emptyVariables(), context, locale);
+    }
+
+    @Benchmark
+    public Object serialize() {
+        return coercing.serialize(value, context, locale);
+    }
+
+    @Benchmark
+    public Object parseLiteralBlank() {
+        try {
+            return coercing.parseLiteral(blankLiteral, CoercedVariables.emptyVariables(), context, locale);
+        } catch (CoercingParseLiteralException e) {
+            return e;
+        }
+    }
+}
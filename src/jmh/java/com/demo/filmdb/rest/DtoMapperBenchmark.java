@@ -0,0 +1,63 @@
+package com.demo.filmdb.rest;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.rest.film.FilmDtoMapper;
+import com.demo.filmdb.rest.film.dtos.FilmDto;
+import com.demo.filmdb.rest.person.PersonDtoMapper;
+import com.demo.filmdb.rest.person.dtos.PersonDto;
+import com.demo.filmdb.rest.role.RoleMapper;
+import com.demo.filmdb.rest.role.dtos.ActorRoleDto;
+import com.demo.filmdb.rest.role.dtos.FilmRoleDto;
+import com.demo.filmdb.rest.role.dtos.RoleDto;
+import com.demo.filmdb.role.Role;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generated REST DTO mappers for a single entity, without links
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private final FilmDtoMapper filmMapper = Mappers.getMapper(FilmDtoMapper.class);
+    private final PersonDtoMapper personMapper = Mappers.getMapper(PersonDtoMapper.class);
+    private final RoleMapper roleMapper = Mappers.getMapper(RoleMapper.class);
+
+    private final Film film = new Film(1L, "Film", LocalDate.of(2000, 1, 1), "Synopsis");
+    private final Person person = new Person(1L, "Person", LocalDate.of(1970, 1, 1));
+    private final Role role = new Role(film, person, "Character");
+
+    @Benchmark
+    public FilmDto filmToFilmDto() {
+        return filmMapper.filmToFilmDto(film);
+    }
+
+    @Benchmark
+    public PersonDto personToPersonDto() {
+        return personMapper.personToPersonDto(person);
+    }
+
+    @Benchmark
+    public RoleDto roleToRoleDto() {
+        return roleMapper.roleToRoleDto(role);
+    }
+
+    @Benchmark
+    public ActorRoleDto roleToActorRoleDto() {
+        return roleMapper.roleToActorRoleDto(role);
+    }
+
+    @Benchmark
+    public FilmRoleDto roleToFilmRoleDto() {
+        return roleMapper.roleToFilmRoleDto(role);
+    }
+}
@@ -0,0 +1,132 @@
+package com.demo.filmdb.rest;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.rest.film.FilmDtoMapper;
+import com.demo.filmdb.rest.film.FilmModelAssembler;
+import com.demo.filmdb.rest.film.dtos.FilmDto;
+import com.demo.filmdb.rest.person.PersonDtoMapper;
+import com.demo.filmdb.rest.person.PersonModelAssembler;
+import com.demo.filmdb.rest.person.dtos.PersonDto;
+import com.demo.filmdb.rest.role.FilmRoleModelAssembler;
+import com.demo.filmdb.rest.role.RoleMapper;
+import com.demo.filmdb.rest.role.dtos.FilmRoleDto;
+import com.demo.filmdb.rest.util.LinkFactory;
+import com.demo.filmdb.role.Role;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the two steps of rendering a page of {@code pageSize} films, people or cast members: assembling the
+ * {@link CollectionModel} with its links and writing it as HAL JSON. The serializing benchmarks reuse models assembled
+ * on setup, so the two costs can be told apart. Every invocation is a new request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HalPageBenchmark {
+
+    private static final Long FILM_ID = 1L;
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private FilmModelAssembler filmAssembler;
+    private PersonModelAssembler personAssembler;
+    private FilmRoleModelAssembler castAssembler;
+    private ObjectMapper halMapper;
+    private MockHttpServletRequest request;
+    private List<Film> films;
+    private List<Person> people;
+    private List<Role> cast;
+    private CollectionModel<FilmDto> filmsModel;
+    private CollectionModel<PersonDto> peopleModel;
+    private CollectionModel<FilmRoleDto> castModel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LinkFactory links = new LinkFactory();
+        filmAssembler = new FilmModelAssembler(Mappers.getMapper(FilmDtoMapper.class), links);
+        personAssembler = new PersonModelAssembler(Mappers.getMapper(PersonDtoMapper.class), links);
+        castAssembler = new FilmRoleModelAssembler(Mappers.getMapper(RoleMapper.class), links);
+        halMapper = new ObjectMapper()
+                .registerModule(new Jackson2HalModule())
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new AnnotationLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        request = new MockHttpServletRequest("GET", "/api/films");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Film castFilm = new Film(FILM_ID, "Film", LocalDate.of(2000, 1, 1), "Synopsis");
+        films = new ArrayList<>(pageSize);
+        people = new ArrayList<>(pageSize);
+        cast = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            films.add(new Film(i + 1, "Film " + i, LocalDate.of(2000, 1, 1), "Synopsis " + i));
+            Person person = new Person(i + 1, "Person " + i, LocalDate.of(1970, 1, 1));
+            people.add(person);
+            cast.add(new Role(castFilm, person, "Character " + i));
+        }
+        filmsModel = filmAssembler.toCollectionModel(films);
+        peopleModel = personAssembler.toCollectionModel(people);
+        castModel = castAssembler.toCollectionModel(cast, FILM_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public CollectionModel<FilmDto> assembleFilms() {
+        request.clearAttributes();
+        return filmAssembler.toCollectionModel(films);
+    }
+
+    @Benchmark
+    public CollectionModel<PersonDto> assemblePeople() {
+        request.clearAttributes();
+        return personAssembler.toCollectionModel(people);
+    }
+
+    @Benchmark
+    public CollectionModel<FilmRoleDto> assembleCast() {
+        request.clearAttributes();
+        return castAssembler.toCollectionModel(cast, FILM_ID);
+    }
+
+    @Benchmark
+    public byte[] serializeFilms() throws JsonProcessingException {
+        return halMapper.writeValueAsBytes(filmsModel);
+    }
+
+    @Benchmark
+    public byte[] serializePeople() throws JsonProcessingException {
+        return halMapper.writeValueAsBytes(peopleModel);
+    }
+
+    @Benchmark
+    public byte[] serializeCast() throws JsonProcessingException {
+        return halMapper.writeValueAsBytes(castModel);
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.filmdb.rest.film;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.rest.film.dtos.FilmDto;
+import com.demo.filmdb.rest.util.LinkFactory;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.core.DummyInvocationUtils.methodOn;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Measures converting a page of films with {@link FilmModelAssembler#toModel}. Every invocation is a new request, so
+ * the base URI is computed once per page. The {@code linkToMethodOn} variant builds the same links with
+ * {@code linkTo(methodOn(...))} like the assembler did before the link templates were resolved on startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilmModelAssemblerBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private FilmDtoMapper filmMapper;
+    private FilmModelAssembler assembler;
+    private MockHttpServletRequest request;
+    private List<Film> films;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filmMapper = Mappers.getMapper(FilmDtoMapper.class);
+        assembler = new FilmModelAssembler(filmMapper, new LinkFactory());
+        request = new MockHttpServletRequest("GET", "/api/films");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        films = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            films.add(new Film(i + 1, "Film " + i, LocalDate.of(2000, 1, 1), "Synopsis " + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<FilmDto> linkFactory() {
+        request.clearAttributes();
+        List<FilmDto> page = new ArrayList<>(pageSize);
+        for (Film film : films) {
+            page.add(assembler.toModel(film));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<FilmDto> linkToMethodOn() {
+        request.clearAttributes();
+        List<FilmDto> page = new ArrayList<>(pageSize);
+        for (Film film : films) {
+            FilmDto filmDto = filmMapper.filmToFilmDto(film);
+            filmDto.add(
+                    linkTo(methodOn(FilmController.class).getFilm(film.getId(), null)).withSelfRel(),
+                    linkTo(methodOn(FilmController.class).getDirectors(film.getId())).withRel("directors"),
+                    linkTo(methodOn(FilmController.class).getCast(film.getId())).withRel("cast"),
+                    linkTo(methodOn(FilmController.class).getAllFilms(Pageable.unpaged())).withRel("films")
+            );
+            page.add(filmDto);
+        }
+        return page;
+    }
+}
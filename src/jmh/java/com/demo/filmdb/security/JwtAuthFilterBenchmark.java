@@ -0,0 +1,69 @@
+package com.demo.filmdb.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Measures authenticating requests with {@link JwtAuthFilter} over 10k distinct live tokens used round-robin. A cache
+ * size of 0 verifies the signature of every request, the default size serves every token from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final int TOKENS_COUNT = 10_000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"0", "" + VerifiedTokenCache.DEFAULT_MAX_SIZE})
+    private long cacheSize;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest[] requests;
+    private MockHttpServletResponse response;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(new JwtKeys(new JwtProperties(null, Map.of(), null)));
+        filter = new JwtAuthFilter(new VerifiedTokenCache(jwtUtil, cacheSize));
+        requests = new MockHttpServletRequest[TOKENS_COUNT];
+        for (int i = 0; i < TOKENS_COUNT; i++) {
+            String token = jwtUtil.generateToken(User.withUsername("user" + i)
+                    .password("password")
+                    .roles("USER")
+                    .build());
+            requests[i] = new MockHttpServletRequest("GET", "/api/films");
+            requests[i].addHeader(AUTHORIZATION, "Bearer " + token);
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = requests[next];
+        next = (next + 1) % TOKENS_COUNT;
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
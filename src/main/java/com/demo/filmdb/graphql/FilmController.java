@@ -2,6 +2,7 @@ package com.demo.filmdb.graphql;
 
 import com.demo.filmdb.film.Film;
 import com.demo.filmdb.film.FilmService;
+import com.demo.filmdb.graphql.config.ConnectionRequests;
 import com.demo.filmdb.graphql.enums.SortableFilmField;
 import com.demo.filmdb.graphql.inputs.CreateFilmInput;
 import com.demo.filmdb.graphql.inputs.DeleteFilmInput;
@@ -9,24 +10,40 @@ import com.demo.filmdb.graphql.inputs.UpdateFilmInput;
 import com.demo.filmdb.graphql.payloads.CreateFilmPayload;
 import com.demo.filmdb.graphql.payloads.DeleteFilmPayload;
 import com.demo.filmdb.graphql.payloads.UpdateFilmPayload;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.role.Role;
+import graphql.execution.ExecutionStepInfo;
+import graphql.schema.DataFetchingEnvironment;
 import jakarta.annotation.Nullable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller("graphqlFilmController")
 public class FilmController {
 
     private final FilmService filmService;
+    private final ConnectionRequests connectionRequests;
 
     public FilmController(
-            FilmService filmService
+            FilmService filmService,
+            ConnectionRequests connectionRequests
     ) {
         this.filmService = filmService;
+        this.connectionRequests = connectionRequests;
     }
 
     @QueryMapping
@@ -43,11 +60,57 @@ public class FilmController {
         return filmService.getFilms(page, pageSize, sortByField, sortDirection, title, releaseAfter, releaseBefore);
     }
 
+    @QueryMapping
+    public Window<Film> filmsConnection(
+            ScrollSubrange subrange,
+            @Argument @Nullable SortableFilmField sortBy,
+            @Argument @Nullable Sort.Direction sortDirection,
+            @Argument @Nullable String title,
+            @Argument @Nullable LocalDate releaseAfter,
+            @Argument @Nullable LocalDate releaseBefore
+    ) {
+        ScrollPosition position = connectionRequests.position(subrange);
+        int limit = connectionRequests.size(subrange);
+        Sort sort = sortBy == null ? Sort.unsorted() : Sort.by(sortDirection == null ? Sort.Direction.ASC : sortDirection, sortBy.getFieldName());
+        return filmService.getFilms(position, limit, sort, title, releaseAfter, releaseBefore);
+    }
+
+    /**
+     * Counts the films matching the filter of the connection. Only runs when the field is selected.
+     */
+    @SchemaMapping(typeName = "FilmConnection")
+    public long totalCount(DataFetchingEnvironment environment) {
+        ExecutionStepInfo connection = environment.getExecutionStepInfo().getParent();
+        return filmService.countFilms(
+                connection.getArgument("title"),
+                connection.getArgument("releaseAfter"),
+                connection.getArgument("releaseBefore")
+        );
+    }
+
     @QueryMapping
     public @Nullable Film film(@Argument Long id) {
         return filmService.getFilm(id).orElse(null);
     }
 
+    @BatchMapping
+    public Map<Film, List<Person>> directors(List<Film> films) {
+        Map<Long, List<Person>> directors = filmService.getDirectors(films.stream().map(Film::getId).toList());
+        return films.stream().collect(Collectors.toMap(
+                Function.identity(),
+                film -> directors.getOrDefault(film.getId(), List.of())
+        ));
+    }
+
+    @BatchMapping
+    public Map<Film, List<Role>> cast(List<Film> films) {
+        Map<Long, List<Role>> cast = filmService.getCast(films.stream().map(Film::getId).toList());
+        return films.stream().collect(Collectors.toMap(
+                Function.identity(),
+                film -> cast.getOrDefault(film.getId(), List.of())
+        ));
+    }
+
     @MutationMapping
     public CreateFilmPayload createFilm(@Argument CreateFilmInput input) {
         final Film createdFilm = filmService.createFilm(input.filmInput());
@@ -1,5 +1,7 @@
 package com.demo.filmdb.graphql;
 
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.graphql.config.ConnectionRequests;
 import com.demo.filmdb.graphql.enums.SortablePersonField;
 import com.demo.filmdb.graphql.inputs.CreatePersonInput;
 import com.demo.filmdb.graphql.inputs.DeletePersonInput;
@@ -9,22 +11,36 @@ import com.demo.filmdb.graphql.payloads.DeletePersonPayload;
 import com.demo.filmdb.graphql.payloads.UpdatePersonPayload;
 import com.demo.filmdb.person.Person;
 import com.demo.filmdb.person.PersonService;
+import com.demo.filmdb.role.Role;
+import graphql.execution.ExecutionStepInfo;
+import graphql.schema.DataFetchingEnvironment;
 import jakarta.annotation.Nullable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller("graphqlPersonController")
 public class PersonController {
 
     private final PersonService personService;
+    private final ConnectionRequests connectionRequests;
 
-    public PersonController(PersonService personService) {
+    public PersonController(PersonService personService, ConnectionRequests connectionRequests) {
         this.personService = personService;
+        this.connectionRequests = connectionRequests;
     }
 
     @QueryMapping
@@ -41,6 +57,34 @@ public class PersonController {
         return personService.getPeople(page, pageSize, sortByField, sortDirection, name, bornAfter, bornBefore);
     }
 
+    @QueryMapping
+    public Window<Person> peopleConnection(
+            ScrollSubrange subrange,
+            @Argument @Nullable SortablePersonField sortBy,
+            @Argument @Nullable Sort.Direction sortDirection,
+            @Argument @Nullable String name,
+            @Argument @Nullable LocalDate bornAfter,
+            @Argument @Nullable LocalDate bornBefore
+    ) {
+        ScrollPosition position = connectionRequests.position(subrange);
+        int limit = connectionRequests.size(subrange);
+        Sort sort = sortBy == null ? Sort.unsorted() : Sort.by(sortDirection == null ? Sort.Direction.ASC : sortDirection, sortBy.getFieldName());
+        return personService.getPeople(position, limit, sort, name, bornAfter, bornBefore);
+    }
+
+    /**
+     * Counts the people matching the filter of the connection. Only runs when the field is selected.
+     */
+    @SchemaMapping(typeName = "PersonConnection")
+    public long totalCount(DataFetchingEnvironment environment) {
+        ExecutionStepInfo connection = environment.getExecutionStepInfo().getParent();
+        return personService.countPeople(
+                connection.getArgument("name"),
+                connection.getArgument("bornAfter"),
+                connection.getArgument("bornBefore")
+        );
+    }
+
     @MutationMapping
     public CreatePersonPayload createPerson(@Argument CreatePersonInput input) {
         final Person createdPerson = personService.createPerson(input.personInput());
@@ -52,6 +96,24 @@ public class PersonController {
         return personService.getPerson(id).orElse(null);
     }
 
+    @BatchMapping
+    public Map<Person, List<Film>> filmsDirected(List<Person> people) {
+        Map<Long, List<Film>> filmsDirected = personService.getFilmsDirected(people.stream().map(Person::getId).toList());
+        return people.stream().collect(Collectors.toMap(
+                Function.identity(),
+                person -> filmsDirected.getOrDefault(person.getId(), List.of())
+        ));
+    }
+
+    @BatchMapping
+    public Map<Person, List<Role>> roles(List<Person> people) {
+        Map<Long, List<Role>> roles = personService.getRoles(people.stream().map(Person::getId).toList());
+        return people.stream().collect(Collectors.toMap(
+                Function.identity(),
+                person -> roles.getOrDefault(person.getId(), List.of())
+        ));
+    }
+
     @MutationMapping
     public UpdatePersonPayload updatePerson(@Argument UpdatePersonInput input) {
         final Person updatedPerson = personService.updatePerson(input.id(), input.personInput());
@@ -0,0 +1,53 @@
+package com.demo.filmdb.graphql.config;
+
+import com.demo.filmdb.graphql.exceptions.InvalidArgumentException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.graphql.data.query.ScrollSubrange;
+import org.springframework.stereotype.Component;
+
+/**
+ * Arguments of connection queries. Like REST scrolling, only keyset cursors are accepted, since an offset cursor reads
+ * every skipped row again, and connection sizes are limited by {@code spring.data.web.pageable.max-page-size}.
+ */
+@Component
+public class ConnectionRequests {
+
+    private static final int DEFAULT_SIZE = 20;
+
+    private final int maxSize;
+
+    public ConnectionRequests(ObjectProvider<SpringDataWebProperties> webProperties) {
+        this.maxSize = webProperties.getIfAvailable(SpringDataWebProperties::new).getPageable().getMaxPageSize();
+    }
+
+    /**
+     * @param subrange requested part of the connection
+     * @return keyset position of the cursor, the start or the end of the connection without a cursor
+     * @throws InvalidArgumentException if the cursor is not a keyset cursor
+     */
+    public ScrollPosition position(ScrollSubrange subrange) {
+        ScrollPosition position = subrange.position().orElse(subrange.forward()
+                ? ScrollPosition.keyset()
+                : ScrollPosition.keyset().backward());
+        if (!(position instanceof KeysetScrollPosition)) {
+            throw new InvalidArgumentException("Only keyset cursors are supported");
+        }
+        return position;
+    }
+
+    /**
+     * @param subrange requested part of the connection
+     * @return requested size, at most the max page size
+     * @throws InvalidArgumentException if the requested size is less than one
+     */
+    public int size(ScrollSubrange subrange) {
+        int size = subrange.count().orElse(DEFAULT_SIZE);
+        if (size < 1) {
+            throw new InvalidArgumentException("Connection size must be positive");
+        }
+        return Math.min(size, maxSize);
+    }
+}
@@ -1,5 +1,6 @@
 package com.demo.filmdb.graphql.config;
 
+import com.demo.filmdb.graphql.exceptions.InvalidArgumentException;
 import com.demo.filmdb.graphql.exceptions.InvalidCredentialsException;
 import com.demo.filmdb.util.EntityAlreadyExistsException;
 import com.demo.filmdb.util.EntityNotFoundException;
@@ -25,6 +26,8 @@ public class CustomExceptionResolver extends DataFetcherExceptionResolverAdapter
             errorType = ErrorType.NOT_FOUND;
         } else if (ex instanceof EntityAlreadyExistsException) {
             errorType = CONFLICT;
+        } else if (ex instanceof InvalidArgumentException) {
+            errorType = ErrorType.BAD_REQUEST;
         } else {
             return null;
         }
@@ -4,8 +4,16 @@ import graphql.scalars.ExtendedScalars;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.graphql.data.pagination.CursorEncoder;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.graphql.data.pagination.EncodingCursorStrategy;
+import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 @Configuration
 @PropertySource("classpath:graphql/graphql.properties")
 public class GraphQLConfig {
@@ -16,4 +24,28 @@ public class GraphQLConfig {
                 .scalar(ExtendedScalars.GraphQLLong)
                 .scalar(NonBlankString.INSTANCE);
     }
+
+    /**
+     * Cursor strategy shared by GraphQL connections and REST scrolling. Uses URL-safe Base64 so cursors can be passed
+     * in query strings as they are.
+     */
+    @Bean
+    public EncodingCursorStrategy<ScrollPosition> cursorStrategy() {
+        return CursorStrategy.withEncoder(new ScrollPositionCursorStrategy(), new UrlSafeBase64CursorEncoder());
+    }
+
+    private static class UrlSafeBase64CursorEncoder implements CursorEncoder {
+
+        @Override
+        public String encode(String cursor) {
+            byte[] bytes = cursor.getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+
+        @Override
+        public String decode(String cursor) {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
 }
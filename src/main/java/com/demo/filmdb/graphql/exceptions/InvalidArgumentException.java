@@ -0,0 +1,7 @@
+package com.demo.filmdb.graphql.exceptions;
+
+public class InvalidArgumentException extends RuntimeException {
+    public InvalidArgumentException(String message) {
+        super(message);
+    }
+}
@@ -25,7 +25,8 @@ import org.springframework.hateoas.Links;
                 @Tag(name = SpringDocConfig.TAG_FILMS),
                 @Tag(name = SpringDocConfig.TAG_PEOPLE),
                 @Tag(name = SpringDocConfig.TAG_DIRECTORS),
-                @Tag(name = SpringDocConfig.TAG_ROLES)},
+                @Tag(name = SpringDocConfig.TAG_ROLES),
+                @Tag(name = SpringDocConfig.TAG_EXPORT)},
         security = {@SecurityRequirement(name = "JWT Bearer authentication")}
 )
 @Configuration
@@ -37,12 +38,16 @@ public class SpringDocConfig {
     public static final String TAG_PEOPLE = "People";
     public static final String TAG_DIRECTORS = "Directors";
     public static final String TAG_ROLES = "Roles";
+    public static final String TAG_EXPORT = "Export";
 
     public static final String SUCCESS = "Successful operation";
     public static final String UNAUTHORIZED_TO = "Must have administrative rights to ";
     public static final String FILM_NOT_FOUND = "Film not found";
     public static final String ROLE_NOT_FOUND = "Role not found";
     public static final String PERSON_NOT_FOUND = "Person not found";
+    public static final String NOT_MODIFIED = "Version matches If-None-Match";
+    public static final String PRECONDITION_FAILED = "Version doesn't match If-Match";
+    public static final String CONCURRENT_UPDATE = "Updated concurrently";
 
     /**
      * Hides Links object from the SpringDoc generated schemas.
@@ -0,0 +1,118 @@
+package com.demo.filmdb.rest.export;
+
+import com.demo.filmdb.export.EntityWriter;
+import com.demo.filmdb.export.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirements;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import static com.demo.filmdb.rest.config.SpringDocConfig.*;
+import static com.demo.filmdb.rest.util.Path.API_PREFIX;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Streams the whole catalog as newline delimited JSON, one entity per line. Responses are written while entities are
+ * read from the database, and are gzip compressed if the client accepts it.
+ */
+@RestController
+@RequestMapping(path = API_PREFIX + "/export", produces = APPLICATION_NDJSON_VALUE)
+@SecurityRequirements
+public class ExportController {
+
+    private static final String GZIP = "gzip";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ExportService exportService;
+    private final ExportDtoMapper exportDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+
+    public ExportController(ExportService exportService, ExportDtoMapper exportDtoMapper, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.exportDtoMapper = exportDtoMapper;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Operation(summary = "Export all films", tags = TAG_EXPORT)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = SUCCESS),
+    })
+    @GetMapping("/films")
+    public void exportFilms(
+            @RequestHeader(value = ACCEPT_ENCODING, required = false) @Nullable String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        try (JsonGenerator generator = openGenerator(acceptEncoding, response)) {
+            exportService.exportFilms(lineWriter(generator, exportDtoMapper::filmToFilmExportDto));
+        }
+    }
+
+    @Operation(summary = "Export all people", tags = TAG_EXPORT)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = SUCCESS),
+    })
+    @GetMapping("/people")
+    public void exportPeople(
+            @RequestHeader(value = ACCEPT_ENCODING, required = false) @Nullable String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        try (JsonGenerator generator = openGenerator(acceptEncoding, response)) {
+            exportService.exportPeople(lineWriter(generator, exportDtoMapper::personToPersonExportDto));
+        }
+    }
+
+    @Operation(summary = "Export all roles", tags = TAG_EXPORT)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = SUCCESS),
+    })
+    @GetMapping("/roles")
+    public void exportRoles(
+            @RequestHeader(value = ACCEPT_ENCODING, required = false) @Nullable String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        try (JsonGenerator generator = openGenerator(acceptEncoding, response)) {
+            exportService.exportRoles(lineWriter(generator, exportDtoMapper::roleToRoleExportDto));
+        }
+    }
+
+    private JsonGenerator openGenerator(@Nullable String acceptEncoding, HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        if (acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+            response.setHeader(CONTENT_ENCODING, GZIP);
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return objectMapper.getFactory().createGenerator(out);
+    }
+
+    /**
+     * Writes every entity mapped to its DTO on a separate line
+     */
+    private <T> EntityWriter<T> lineWriter(JsonGenerator generator, Function<T, ?> toDto) {
+        return entity -> {
+            objectWriter.writeValue(generator, toDto.apply(entity));
+            generator.writeRaw('\n');
+        };
+    }
+}
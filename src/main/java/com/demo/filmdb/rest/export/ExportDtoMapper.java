@@ -0,0 +1,26 @@
+package com.demo.filmdb.rest.export;
+
+import com.demo.filmdb.film.Film;
+import com.demo.filmdb.person.Person;
+import com.demo.filmdb.rest.export.dtos.FilmExportDto;
+import com.demo.filmdb.rest.export.dtos.PersonExportDto;
+import com.demo.filmdb.rest.export.dtos.RoleExportDto;
+import com.demo.filmdb.role.Role;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, componentModel = "spring")
+public interface ExportDtoMapper {
+
+    FilmExportDto filmToFilmExportDto(Film film);
+
+    PersonExportDto personToPersonExportDto(Person person);
+
+    /**
+     * Uses the role id, so the lazy film and person are not loaded
+     */
+    @Mapping(source = "id.filmId", target = "filmId")
+    @Mapping(source = "id.personId", target = "personId")
+    RoleExportDto roleToRoleExportDto(Role role);
+}
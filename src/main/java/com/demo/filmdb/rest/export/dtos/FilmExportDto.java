@@ -0,0 +1,20 @@
+package com.demo.filmdb.rest.export.dtos;
+
+import com.demo.filmdb.film.Film;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * An export line for the {@link Film} entity
+ */
+@JsonPropertyOrder({"id", "title", "synopsis", "releaseDate"})
+public record FilmExportDto(
+        Long id,
+        String title,
+        @JsonProperty("release date") LocalDate releaseDate,
+        @Nullable String synopsis
+) {
+}
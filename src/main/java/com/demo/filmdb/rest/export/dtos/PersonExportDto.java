@@ -0,0 +1,17 @@
+package com.demo.filmdb.rest.export.dtos;
+
+import com.demo.filmdb.person.Person;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * An export line for the {@link Person} entity
+ */
+public record PersonExportDto(
+        Long id,
+        String name,
+        @JsonProperty("date of birth") @Nullable LocalDate dateOfBirth
+) {
+}
@@ -0,0 +1,9 @@
+package com.demo.filmdb.rest.export.dtos;
+
+import com.demo.filmdb.role.Role;
+
+/**
+ * An export line for the {@link Role} entity. References the film and the person by id.
+ */
+public record RoleExportDto(Long filmId, Long personId, String character) {
+}
@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.rest.export.dtos;
+
+import org.springframework.lang.NonNullApi;
@@ -0,0 +1,4 @@
+@NonNullApi
+package com.demo.filmdb.rest.export;
+
+import org.springframework.lang.NonNullApi;
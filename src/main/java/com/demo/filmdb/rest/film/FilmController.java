@@ -14,6 +14,8 @@ import com.demo.filmdb.rest.role.dtos.FilmRoleDto;
 import com.demo.filmdb.rest.role.dtos.FilmRoleDtoInput;
 import com.demo.filmdb.rest.role.dtos.RoleDto;
 import com.demo.filmdb.rest.role.dtos.RoleDtoInput;
+import com.demo.filmdb.rest.util.EntityTags;
+import com.demo.filmdb.rest.util.ScrollRequests;
 import com.demo.filmdb.role.Role;
 import com.demo.filmdb.role.RoleService;
 import com.demo.filmdb.util.EntityAlreadyExistsException;
@@ -23,21 +25,29 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import static com.demo.filmdb.rest.config.SpringDocConfig.*;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
@@ -57,6 +67,7 @@ public class FilmController {
     private final FilmRoleModelAssembler filmRoleModelAssembler;
     private final RoleModelAssembler roleModelAssembler;
     private final PagedResourcesAssembler<Film> pagedResourcesAssembler;
+    private final ScrollRequests scrollRequests;
 
     public FilmController(FilmService filmService,
                           RoleService roleService,
@@ -65,7 +76,8 @@ public class FilmController {
                           PersonModelAssembler personModelAssembler,
                           FilmRoleModelAssembler filmRoleModelAssembler,
                           RoleModelAssembler roleModelAssembler,
-                          PagedResourcesAssembler<Film> pagedResourcesAssembler) {
+                          PagedResourcesAssembler<Film> pagedResourcesAssembler,
+                          ScrollRequests scrollRequests) {
         this.filmService = filmService;
         this.roleService = roleService;
         this.directorService = directorService;
@@ -74,6 +86,7 @@ public class FilmController {
         this.filmRoleModelAssembler = filmRoleModelAssembler;
         this.roleModelAssembler = roleModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.scrollRequests = scrollRequests;
     }
 
     @Operation(summary = "Find films", tags = TAG_FILMS)
@@ -108,6 +121,27 @@ public class FilmController {
         return pagedResourcesAssembler.toModel(filmsPage, filmModelAssembler);
     }
 
+    @Operation(summary = "Scroll through all films", tags = TAG_FILMS,
+            description = "Cursor based alternative to paging. Start with an empty cursor and follow the `next` link.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = SUCCESS),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content),
+    })
+    @SecurityRequirements
+    @GetMapping(params = "cursor")
+    public CollectionModel<FilmDto> scrollFilms(
+            @RequestParam(value = "cursor")
+            String cursor,
+            @RequestParam(value = "size", defaultValue = "20")
+            int size,
+            Sort sort
+    ) {
+        ScrollPosition position = scrollRequests.position(cursor);
+        int windowSize = scrollRequests.size(size);
+        Window<Film> window = filmService.getFilms(position, windowSize, sort, null, null, null);
+        return filmModelAssembler.windowCollectionModel(window, scrollRequests.nextCursor(window), windowSize, sort);
+    }
+
     @Operation(summary = "Create a film", tags = TAG_FILMS)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Film created"),
@@ -124,15 +158,24 @@ public class FilmController {
     @Operation(summary = "Get a film", tags = TAG_FILMS)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Film found"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED, content = @Content),
             @ApiResponse(responseCode = "404", description = FILM_NOT_FOUND, content = @Content),
     })
     @SecurityRequirements
     @GetMapping("/{filmId}")
-    public FilmDto getFilm(@PathVariable Long filmId) {
+    public ResponseEntity<FilmDto> getFilm(@PathVariable Long filmId, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = filmService.getFilmVersion(filmId);
+            if (version.isPresent() && webRequest.checkNotModified(EntityTags.of(version.get()))) {
+                return null;
+            }
+        }
         Film film = filmService.getFilm(filmId).orElseThrow(() ->
                 new ResponseStatusException(HttpStatus.NOT_FOUND, filmNotFoundMessage(filmId))
         );
-        return filmModelAssembler.toModel(film);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(film.getVersion()))
+                .body(filmModelAssembler.toModel(film));
     }
 
     @Operation(summary = "Update a film", tags = TAG_FILMS)
@@ -141,14 +184,29 @@ public class FilmController {
             @ApiResponse(responseCode = "400", content = @Content),
             @ApiResponse(responseCode = "403", description = UNAUTHORIZED_TO + "update a film", content = @Content),
             @ApiResponse(responseCode = "404", description = FILM_NOT_FOUND, content = @Content),
+            @ApiResponse(responseCode = "409", description = CONCURRENT_UPDATE, content = @Content),
+            @ApiResponse(responseCode = "412", description = PRECONDITION_FAILED, content = @Content),
     })
     @PutMapping("/{filmId}")
-    public FilmDto updateFilm(@PathVariable Long filmId, @Valid @RequestBody FilmDtoInput filmDtoInput) {
+    public ResponseEntity<FilmDto> updateFilm(@PathVariable Long filmId,
+                                              @Valid @RequestBody FilmDtoInput filmDtoInput,
+                                              WebRequest webRequest) {
+        Long expectedVersion = null;
+        if (EntityTags.isConditional(webRequest)) {
+            expectedVersion = getFilmVersion(filmId);
+            if (webRequest.checkNotModified(EntityTags.of(expectedVersion))) {
+                return null;
+            }
+        }
         try {
-            Film updatedFilm = filmService.updateFilm(filmId, filmDtoInput);
-            return filmModelAssembler.toModel(updatedFilm);
+            Film updatedFilm = filmService.updateFilm(filmId, filmDtoInput, expectedVersion);
+            return ResponseEntity.ok()
+                    .eTag(EntityTags.of(updatedFilm.getVersion()))
+                    .body(filmModelAssembler.toModel(updatedFilm));
         } catch (EntityNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(expectedVersion, e);
         }
     }
 
@@ -157,13 +215,27 @@ public class FilmController {
             @ApiResponse(responseCode = "204", description = "Film deleted", content = @Content),
             @ApiResponse(responseCode = "403", description = UNAUTHORIZED_TO + "delete a film", content = @Content),
             @ApiResponse(responseCode = "404", description = FILM_NOT_FOUND, content = @Content),
+            @ApiResponse(responseCode = "409", description = CONCURRENT_UPDATE, content = @Content),
+            @ApiResponse(responseCode = "412", description = PRECONDITION_FAILED, content = @Content),
     })
     @DeleteMapping("/{filmId}")
-    public ResponseEntity<?> deleteFilm(@PathVariable Long filmId) {
-        if (!filmService.filmExists(filmId)) {
+    public ResponseEntity<?> deleteFilm(@PathVariable Long filmId, WebRequest webRequest) {
+        Long expectedVersion = null;
+        if (EntityTags.isConditional(webRequest)) {
+            expectedVersion = getFilmVersion(filmId);
+            if (webRequest.checkNotModified(EntityTags.of(expectedVersion))) {
+                return null;
+            }
+        }
+        int deleted;
+        try {
+            deleted = filmService.deleteFilm(filmId, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(expectedVersion, e);
+        }
+        if (deleted == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, filmNotFoundMessage(filmId));
         }
-        filmService.deleteFilm(filmId);
         return ResponseEntity.noContent().build();
     }
 
@@ -262,11 +334,12 @@ public class FilmController {
     })
     @DeleteMapping("/{filmId}/cast")
     public ResponseEntity<?> deleteCast(@PathVariable Long filmId) {
-        if (!filmService.filmExists(filmId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, filmNotFoundMessage(filmId));
+        try {
+            roleService.deleteCast(filmId);
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
-        roleService.deleteCast(filmId);
-        return ResponseEntity.noContent().build();
     }
 
     /* Role */
@@ -333,10 +406,25 @@ public class FilmController {
     })
     @DeleteMapping("/{filmId}/cast/{personId}")
     public ResponseEntity<?> deleteRole(@PathVariable Long filmId, @PathVariable Long personId) {
-        if (!roleService.roleExists(filmId, personId)) {
+        if (roleService.deleteRole(filmId, personId) == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, roleNotFoundMessage(filmId, personId));
         }
-        roleService.deleteRole(filmId, personId);
         return ResponseEntity.noContent().build();
     }
+
+    private Long getFilmVersion(Long filmId) {
+        return filmService.getFilmVersion(filmId).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, filmNotFoundMessage(filmId))
+        );
+    }
+
+    /**
+     * A conditional request lost to a concurrent update, so its precondition no longer holds. Without a
+     * precondition the client gets a conflict.
+     */
+    private static ResponseStatusException versionConflict(@Nullable Long expectedVersion,
+                                                           OptimisticLockingFailureException e) {
+        HttpStatus status = expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return new ResponseStatusException(status, e.getMessage());
+    }
 }
@@ -2,10 +2,14 @@ package com.demo.filmdb.rest.film;
 
 import com.demo.filmdb.film.Film;
 import com.demo.filmdb.rest.film.dtos.FilmDto;
-import com.demo.filmdb.rest.person.PersonController;
-import org.springframework.data.domain.Pageable;
+import com.demo.filmdb.rest.util.LinkFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import static org.springframework.hateoas.server.core.DummyInvocationUtils.methodOn;
@@ -15,19 +19,21 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 public class FilmModelAssembler implements RepresentationModelAssembler<Film, FilmDto> {
 
     private final FilmDtoMapper filmMapper;
+    private final LinkFactory links;
 
-    public FilmModelAssembler(FilmDtoMapper filmMapper) {
+    public FilmModelAssembler(FilmDtoMapper filmMapper, LinkFactory links) {
         this.filmMapper = filmMapper;
+        this.links = links;
     }
 
     @Override
     public FilmDto toModel(Film film) {
         FilmDto filmDto = filmMapper.filmToFilmDto(film);
         filmDto.add(
-                linkTo(methodOn(FilmController.class).getFilm(film.getId())).withSelfRel(),
-                linkTo(methodOn(FilmController.class).getDirectors(film.getId())).withRel("directors"),
-                linkTo(methodOn(FilmController.class).getCast(film.getId())).withRel("cast"),
-                linkTo(methodOn(FilmController.class).getAllFilms(Pageable.unpaged())).withRel("films")
+                Link.of(links.film(film.getId())),
+                Link.of(links.directors(film.getId()), "directors"),
+                Link.of(links.cast(film.getId()), "cast"),
+                Link.of(links.films(), "films")
         );
         return filmDto;
     }
@@ -35,14 +41,32 @@ public class FilmModelAssembler implements RepresentationModelAssembler<Film, Fi
     @Override
     public CollectionModel<FilmDto> toCollectionModel(Iterable<? extends Film> entities) {
         CollectionModel<FilmDto> result = RepresentationModelAssembler.super.toCollectionModel(entities);
-        result.add(linkTo(methodOn(FilmController.class).getAllFilms(Pageable.unpaged())).withSelfRel());
+        result.add(Link.of(links.films()));
         return result;
     }
 
     public CollectionModel<FilmDto> directedFilmsCollectionModel(Iterable<? extends Film> films, Long directorId) {
         CollectionModel<FilmDto> result = RepresentationModelAssembler.super.toCollectionModel(films);
-        result.add(linkTo(methodOn(PersonController.class).getFilmsDirected(directorId)).withSelfRel());
-        result.add(linkTo(methodOn(PersonController.class).getPerson(directorId)).withRel("person"));
+        result.add(Link.of(links.filmsDirected(directorId)));
+        result.add(Link.of(links.person(directorId), "person"));
+        return result;
+    }
+
+    /**
+     * Creates {@link CollectionModel} of a {@link Window} of films. Adds a link to all films and, if there are
+     * more films to scroll through, a {@code next} link.
+     * @param window the films to convert.
+     * @param nextCursor cursor pointing after the last element of the window, {@literal null} if it's the last one.
+     * @param size window size to keep in the {@code next} link.
+     * @param sort sort to keep in the {@code next} link.
+     * @return resulting {@link CollectionModel}.
+     */
+    public CollectionModel<FilmDto> windowCollectionModel(Window<Film> window, @Nullable String nextCursor, int size, Sort sort) {
+        CollectionModel<FilmDto> result = RepresentationModelAssembler.super.toCollectionModel(window);
+        result.add(Link.of(links.films(), "films"));
+        if (nextCursor != null) {
+            result.add(linkTo(methodOn(FilmController.class).scrollFilms(nextCursor, size, sort)).withRel(IanaLinkRelations.NEXT));
+        }
         return result;
     }
 }
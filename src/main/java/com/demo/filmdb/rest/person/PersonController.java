@@ -9,6 +9,8 @@ import com.demo.filmdb.rest.person.dtos.PersonDto;
 import com.demo.filmdb.rest.person.dtos.PersonDtoInput;
 import com.demo.filmdb.rest.role.ActorRoleModelAssembler;
 import com.demo.filmdb.rest.role.dtos.ActorRoleDto;
+import com.demo.filmdb.rest.util.EntityTags;
+import com.demo.filmdb.rest.util.ScrollRequests;
 import com.demo.filmdb.role.Role;
 import com.demo.filmdb.util.EntityNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,20 +18,28 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Optional;
 
 import static com.demo.filmdb.rest.config.SpringDocConfig.*;
 import static com.demo.filmdb.rest.util.Path.API_PREFIX;
@@ -45,17 +55,20 @@ public class PersonController {
     private final FilmModelAssembler filmModelAssembler;
     private final ActorRoleModelAssembler roleModelAssembler;
     private final PagedResourcesAssembler<Person> pagedResourcesAssembler;
+    private final ScrollRequests scrollRequests;
 
     public PersonController(PersonService personService,
                             PersonModelAssembler personModelAssembler,
                             FilmModelAssembler filmModelAssembler,
                             ActorRoleModelAssembler roleModelAssembler,
-                            PagedResourcesAssembler<Person> pagedResourcesAssembler) {
+                            PagedResourcesAssembler<Person> pagedResourcesAssembler,
+                            ScrollRequests scrollRequests) {
         this.personService = personService;
         this.personModelAssembler = personModelAssembler;
         this.filmModelAssembler = filmModelAssembler;
         this.roleModelAssembler = roleModelAssembler;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.scrollRequests = scrollRequests;
     }
 
     @Operation(summary = "Find people", tags = TAG_PEOPLE)
@@ -90,6 +103,27 @@ public class PersonController {
         return pagedResourcesAssembler.toModel(peoplePage, personModelAssembler);
     }
 
+    @Operation(summary = "Scroll through all people", tags = TAG_PEOPLE,
+            description = "Cursor based alternative to paging. Start with an empty cursor and follow the `next` link.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = SUCCESS),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size", content = @Content),
+    })
+    @SecurityRequirements
+    @GetMapping(params = "cursor")
+    public CollectionModel<PersonDto> scrollPeople(
+            @RequestParam(value = "cursor")
+            String cursor,
+            @RequestParam(value = "size", defaultValue = "20")
+            int size,
+            Sort sort
+    ) {
+        ScrollPosition position = scrollRequests.position(cursor);
+        int windowSize = scrollRequests.size(size);
+        Window<Person> window = personService.getPeople(position, windowSize, sort, null, null, null);
+        return personModelAssembler.windowCollectionModel(window, scrollRequests.nextCursor(window), windowSize, sort);
+    }
+
     @Operation(summary = "Create a person", tags = TAG_PEOPLE)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Person created"),
@@ -106,15 +140,24 @@ public class PersonController {
     @Operation(summary = "Get a person", tags = TAG_PEOPLE)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Person found"),
+            @ApiResponse(responseCode = "304", description = NOT_MODIFIED, content = @Content),
             @ApiResponse(responseCode = "404", description = PERSON_NOT_FOUND, content = @Content),
     })
     @SecurityRequirements
     @GetMapping("/{personId}")
-    public PersonDto getPerson(@PathVariable Long personId) {
+    public ResponseEntity<PersonDto> getPerson(@PathVariable Long personId, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = personService.getPersonVersion(personId);
+            if (version.isPresent() && webRequest.checkNotModified(EntityTags.of(version.get()))) {
+                return null;
+            }
+        }
         Person person = personService.getPerson(personId).orElseThrow(() ->
                 new ResponseStatusException(HttpStatus.NOT_FOUND, personNotFoundMessage(personId))
         );
-        return personModelAssembler.toModel(person);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(person.getVersion()))
+                .body(personModelAssembler.toModel(person));
     }
 
     @Operation(summary = "Update a person", tags = TAG_PEOPLE)
@@ -123,14 +166,29 @@ public class PersonController {
             @ApiResponse(responseCode = "400", content = @Content),
             @ApiResponse(responseCode = "403", description = UNAUTHORIZED_TO + "update a person", content = @Content),
             @ApiResponse(responseCode = "404", description = PERSON_NOT_FOUND, content = @Content),
+            @ApiResponse(responseCode = "409", description = CONCURRENT_UPDATE, content = @Content),
+            @ApiResponse(responseCode = "412", description = PRECONDITION_FAILED, content = @Content),
     })
     @PutMapping("/{personId}")
-    public PersonDto updatePerson(@PathVariable Long personId, @Valid @RequestBody PersonDtoInput personDtoInput) {
+    public ResponseEntity<PersonDto> updatePerson(@PathVariable Long personId,
+                                                  @Valid @RequestBody PersonDtoInput personDtoInput,
+                                                  WebRequest webRequest) {
+        Long expectedVersion = null;
+        if (EntityTags.isConditional(webRequest)) {
+            expectedVersion = getPersonVersion(personId);
+            if (webRequest.checkNotModified(EntityTags.of(expectedVersion))) {
+                return null;
+            }
+        }
         try {
-            Person updatedPerson = personService.updatePerson(personId, personDtoInput);
-            return personModelAssembler.toModel(updatedPerson);
+            Person updatedPerson = personService.updatePerson(personId, personDtoInput, expectedVersion);
+            return ResponseEntity.ok()
+                    .eTag(EntityTags.of(updatedPerson.getVersion()))
+                    .body(personModelAssembler.toModel(updatedPerson));
         } catch (EntityNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(expectedVersion, e);
         }
     }
 
@@ -139,13 +197,27 @@ public class PersonController {
             @ApiResponse(responseCode = "204", description = "Person deleted", content = @Content),
             @ApiResponse(responseCode = "403", description = UNAUTHORIZED_TO + "delete a person", content = @Content),
             @ApiResponse(responseCode = "404", description = PERSON_NOT_FOUND, content = @Content),
+            @ApiResponse(responseCode = "409", description = CONCURRENT_UPDATE, content = @Content),
+            @ApiResponse(responseCode = "412", description = PRECONDITION_FAILED, content = @Content),
     })
     @DeleteMapping("/{personId}")
-    public ResponseEntity<?> deletePerson(@PathVariable Long personId) {
-        if (!personService.personExists(personId)) {
+    public ResponseEntity<?> deletePerson(@PathVariable Long personId, WebRequest webRequest) {
+        Long expectedVersion = null;
+        if (EntityTags.isConditional(webRequest)) {
+            expectedVersion = getPersonVersion(personId);
+            if (webRequest.checkNotModified(EntityTags.of(expectedVersion))) {
+                return null;
+            }
+        }
+        int deleted;
+        try {
+            deleted = personService.deletePerson(personId, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(expectedVersion, e);
+        }
+        if (deleted == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, personNotFoundMessage(personId));
         }
-        personService.deletePerson(personId);
         return ResponseEntity.noContent().build();
     }
 
@@ -180,4 +252,20 @@ public class PersonController {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
     }
+
+    private Long getPersonVersion(Long personId) {
+        return personService.getPersonVersion(personId).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, personNotFoundMessage(personId))
+        );
+    }
+
+    /**
+     * A conditional request lost to a concurrent update, so its precondition no longer holds. Without a
+     * precondition the client gets a conflict.
+     */
+    private static ResponseStatusException versionConflict(@Nullable Long expectedVersion,
+                                                           OptimisticLockingFailureException e) {
+        HttpStatus status = expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return new ResponseStatusException(status, e.getMessage());
+    }
 }
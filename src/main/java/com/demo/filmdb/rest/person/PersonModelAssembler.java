@@ -1,11 +1,15 @@
 package com.demo.filmdb.rest.person;
 
 import com.demo.filmdb.person.Person;
-import com.demo.filmdb.rest.film.FilmController;
 import com.demo.filmdb.rest.person.dtos.PersonDto;
-import org.springframework.data.domain.Pageable;
+import com.demo.filmdb.rest.util.LinkFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import static org.springframework.hateoas.server.core.DummyInvocationUtils.methodOn;
@@ -15,19 +19,21 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 public class PersonModelAssembler implements RepresentationModelAssembler<Person, PersonDto> {
 
     private final PersonDtoMapper personMapper;
+    private final LinkFactory links;
 
-    public PersonModelAssembler(PersonDtoMapper personMapper) {
+    public PersonModelAssembler(PersonDtoMapper personMapper, LinkFactory links) {
         this.personMapper = personMapper;
+        this.links = links;
     }
 
     @Override
     public PersonDto toModel(Person person) {
         PersonDto personDto = personMapper.personToPersonDto(person);
         personDto.add(
-                linkTo(methodOn(PersonController.class).getPerson(person.getId())).withSelfRel(),
-                linkTo(methodOn(PersonController.class).getFilmsDirected(person.getId())).withRel("films directed"),
-                linkTo(methodOn(PersonController.class).getRoles(person.getId())).withRel("roles"),
-                linkTo(methodOn(PersonController.class).getAllPeople(Pageable.unpaged())).withRel("people")
+                Link.of(links.person(person.getId())),
+                Link.of(links.filmsDirected(person.getId()), "films directed"),
+                Link.of(links.roles(person.getId()), "roles"),
+                Link.of(links.people(), "people")
         );
         return personDto;
     }
@@ -40,7 +46,7 @@ public class PersonModelAssembler implements RepresentationModelAssembler<Person
     @Override
     public CollectionModel<PersonDto> toCollectionModel(Iterable<? extends Person> people) {
         CollectionModel<PersonDto> result = RepresentationModelAssembler.super.toCollectionModel(people);
-        result.add(linkTo(methodOn(PersonController.class).getAllPeople(Pageable.unpaged())).withSelfRel());
+        result.add(Link.of(links.people()));
         return result;
     }
 
@@ -52,8 +58,26 @@ public class PersonModelAssembler implements RepresentationModelAssembler<Person
      */
     public CollectionModel<PersonDto> directorsCollectionModel(Iterable<? extends Person> directors, Long filmId) {
         CollectionModel<PersonDto> result = RepresentationModelAssembler.super.toCollectionModel(directors);
-        result.add(linkTo(methodOn(FilmController.class).getDirectors(filmId)).withSelfRel());
-        result.add(linkTo(methodOn(FilmController.class).getFilm(filmId)).withRel("film"));
+        result.add(Link.of(links.directors(filmId)));
+        result.add(Link.of(links.film(filmId), "film"));
+        return result;
+    }
+
+    /**
+     * Creates {@link CollectionModel} of a {@link Window} of people. Adds a link to all people and, if there are
+     * more people to scroll through, a {@code next} link.
+     * @param window the people to convert.
+     * @param nextCursor cursor pointing after the last element of the window, {@literal null} if it's the last one.
+     * @param size window size to keep in the {@code next} link.
+     * @param sort sort to keep in the {@code next} link.
+     * @return resulting {@link CollectionModel}.
+     */
+    public CollectionModel<PersonDto> windowCollectionModel(Window<Person> window, @Nullable String nextCursor, int size, Sort sort) {
+        CollectionModel<PersonDto> result = RepresentationModelAssembler.super.toCollectionModel(window);
+        result.add(Link.of(links.people(), "people"));
+        if (nextCursor != null) {
+            result.add(linkTo(methodOn(PersonController.class).scrollPeople(nextCursor, size, sort)).withRel(IanaLinkRelations.NEXT));
+        }
         return result;
     }
 }
@@ -1,39 +1,38 @@
 package com.demo.filmdb.rest.role;
 
-import com.demo.filmdb.rest.film.FilmController;
-import com.demo.filmdb.rest.person.PersonController;
 import com.demo.filmdb.rest.role.dtos.ActorRoleDto;
+import com.demo.filmdb.rest.util.LinkFactory;
 import com.demo.filmdb.role.Role;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.core.DummyInvocationUtils.methodOn;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 @Component
 public class ActorRoleModelAssembler implements RepresentationModelAssembler<Role, ActorRoleDto> {
 
     private final RoleMapper mapper;
+    private final LinkFactory links;
 
-    public ActorRoleModelAssembler(RoleMapper mapper) {
+    public ActorRoleModelAssembler(RoleMapper mapper, LinkFactory links) {
         this.mapper = mapper;
+        this.links = links;
     }
 
     @Override
     public ActorRoleDto toModel(Role role) {
         ActorRoleDto dtoModel = mapper.roleToActorRoleDto(role);
-        final Long filmId = role.getFilm().getId();
-        final Long personId = role.getPerson().getId();
-        dtoModel.add(linkTo(methodOn(FilmController.class).getRole(filmId, personId)).withSelfRel());
-        dtoModel.add(linkTo(methodOn(FilmController.class).getFilm(role.getFilm().getId())).withRel("film"));
+        final Long filmId = role.getId().getFilmId();
+        final Long personId = role.getId().getPersonId();
+        dtoModel.add(Link.of(links.role(filmId, personId)));
+        dtoModel.add(Link.of(links.film(filmId), "film"));
         return dtoModel;
     }
 
     public CollectionModel<ActorRoleDto> toCollectionModel(Iterable<? extends Role> entities, Long actorId) {
         CollectionModel<ActorRoleDto> result = RepresentationModelAssembler.super.toCollectionModel(entities);
-        result.add(linkTo(methodOn(PersonController.class).getRoles(actorId)).withSelfRel());
-        result.add(linkTo(methodOn(PersonController.class).getPerson(actorId)).withRel("actor"));
+        result.add(Link.of(links.roles(actorId)));
+        result.add(Link.of(links.person(actorId), "actor"));
         return result;
     }
 }
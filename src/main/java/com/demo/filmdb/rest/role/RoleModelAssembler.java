@@ -1,33 +1,32 @@
 package com.demo.filmdb.rest.role;
 
-import com.demo.filmdb.rest.film.FilmController;
-import com.demo.filmdb.rest.person.PersonController;
 import com.demo.filmdb.rest.role.dtos.RoleDto;
+import com.demo.filmdb.rest.util.LinkFactory;
 import com.demo.filmdb.role.Role;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.core.DummyInvocationUtils.methodOn;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 @Component
 public class RoleModelAssembler implements RepresentationModelAssembler<Role, RoleDto> {
 
     private final RoleMapper mapper;
+    private final LinkFactory links;
 
-    public RoleModelAssembler(RoleMapper mapper) {
+    public RoleModelAssembler(RoleMapper mapper, LinkFactory links) {
         this.mapper = mapper;
+        this.links = links;
     }
 
     @Override
     public RoleDto toModel(Role role) {
         RoleDto dtoModel = mapper.roleToRoleDto(role);
-        final Long filmId = role.getFilm().getId();
-        final Long personId = role.getPerson().getId();
-        dtoModel.add(linkTo(methodOn(FilmController.class).getRole(filmId, personId)).withSelfRel());
-        dtoModel.add(linkTo(methodOn(FilmController.class).getFilm(filmId)).withRel("film"));
-        dtoModel.add(linkTo(methodOn(FilmController.class).getCast(filmId)).withRel("full cast"));
-        dtoModel.add(linkTo(methodOn(PersonController.class).getPerson(personId)).withRel("actor"));
+        final Long filmId = role.getId().getFilmId();
+        final Long personId = role.getId().getPersonId();
+        dtoModel.add(Link.of(links.role(filmId, personId)));
+        dtoModel.add(Link.of(links.film(filmId), "film"));
+        dtoModel.add(Link.of(links.cast(filmId), "full cast"));
+        dtoModel.add(Link.of(links.person(personId), "actor"));
         return dtoModel;
     }
 }
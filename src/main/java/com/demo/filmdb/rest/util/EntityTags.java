@@ -0,0 +1,30 @@
+package com.demo.filmdb.rest.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Strong entity tags of versioned resources. A tag is the quoted entity version, so conditional requests can be
+ * evaluated with a version lookup instead of loading the entity.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param version entity version
+     * @return strong entity tag of the version
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param request current request
+     * @return whether the request has {@code If-Match} or {@code If-None-Match} preconditions
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_MATCH) != null || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+}
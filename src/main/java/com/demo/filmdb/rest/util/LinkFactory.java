@@ -0,0 +1,150 @@
+package com.demo.filmdb.rest.util;
+
+import com.demo.filmdb.rest.film.FilmController;
+import com.demo.filmdb.rest.person.PersonController;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates hrefs of the REST resources. URI templates of the controller methods are resolved from their request
+ * mappings once, so an href is the base URI of the current request followed by the expanded template. Unlike
+ * {@code linkTo(methodOn(...))} this doesn't create an invocation proxy and resolve the mapping for every link.
+ * <p>
+ * The base URI is computed once per request the same way {@code WebMvcLinkBuilder} does, so links still reflect the
+ * host, the context path and the {@code X-Forwarded-*} headers applied by the forwarded header filter.
+ */
+@Component
+public class LinkFactory {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkFactory.class.getName() + ".baseUri";
+
+    private final UriTemplate films = UriTemplate.of(FilmController.class, "getAllFilms");
+    private final UriTemplate film = UriTemplate.of(FilmController.class, "getFilm");
+    private final UriTemplate directors = UriTemplate.of(FilmController.class, "getDirectors");
+    private final UriTemplate cast = UriTemplate.of(FilmController.class, "getCast");
+    private final UriTemplate role = UriTemplate.of(FilmController.class, "getRole");
+    private final UriTemplate people = UriTemplate.of(PersonController.class, "getAllPeople");
+    private final UriTemplate person = UriTemplate.of(PersonController.class, "getPerson");
+    private final UriTemplate filmsDirected = UriTemplate.of(PersonController.class, "getFilmsDirected");
+    private final UriTemplate roles = UriTemplate.of(PersonController.class, "getRoles");
+
+    public String films() {
+        return films.expand(baseUri());
+    }
+
+    public String film(Long filmId) {
+        return film.expand(baseUri(), filmId);
+    }
+
+    public String directors(Long filmId) {
+        return directors.expand(baseUri(), filmId);
+    }
+
+    public String cast(Long filmId) {
+        return cast.expand(baseUri(), filmId);
+    }
+
+    public String role(Long filmId, Long personId) {
+        return role.expand(baseUri(), filmId, personId);
+    }
+
+    public String people() {
+        return people.expand(baseUri());
+    }
+
+    public String person(Long personId) {
+        return person.expand(baseUri(), personId);
+    }
+
+    public String filmsDirected(Long personId) {
+        return filmsDirected.expand(baseUri(), personId);
+    }
+
+    public String roles(Long personId) {
+        return roles.expand(baseUri(), personId);
+    }
+
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    /**
+     * Path template of a controller method, kept as the literal parts between its variables
+     */
+    private static final class UriTemplate {
+
+        private final String[] literals;
+
+        private UriTemplate(String[] literals) {
+            this.literals = literals;
+        }
+
+        /**
+         * Resolves the template from the class and method request mappings of a handler method
+         *
+         * @param controller controller class
+         * @param methodName name of a handler method, must not be overloaded
+         * @return resolved template
+         * @throws IllegalStateException if there isn't exactly one handler method with the name
+         */
+        static UriTemplate of(Class<?> controller, String methodName) {
+            Method method = Arrays.stream(controller.getMethods())
+                    .filter(candidate -> candidate.getName().equals(methodName))
+                    .filter(candidate -> AnnotatedElementUtils.hasAnnotation(candidate, RequestMapping.class))
+                    .reduce((first, second) -> {
+                        throw new IllegalStateException("Ambiguous handler method " + methodName);
+                    })
+                    .orElseThrow(() -> new IllegalStateException("No handler method " + methodName));
+            return parse(mappingPath(controller) + mappingPath(method));
+        }
+
+        private static String mappingPath(AnnotatedElement element) {
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
+            return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+        }
+
+        private static UriTemplate parse(String template) {
+            List<String> literals = new ArrayList<>();
+            int start = 0;
+            int variableStart;
+            while ((variableStart = template.indexOf('{', start)) >= 0) {
+                literals.add(template.substring(start, variableStart));
+                start = template.indexOf('}', variableStart) + 1;
+            }
+            literals.add(template.substring(start));
+            return new UriTemplate(literals.toArray(String[]::new));
+        }
+
+        /**
+         * @param baseUri base URI to prepend
+         * @param values values of the template variables in order. Their string form must not need encoding.
+         * @return expanded href
+         */
+        String expand(String baseUri, Object... values) {
+            if (values.length != literals.length - 1) {
+                throw new IllegalArgumentException("Expected " + (literals.length - 1) + " template values");
+            }
+            StringBuilder href = new StringBuilder(baseUri).append(literals[0]);
+            for (int i = 0; i < values.length; i++) {
+                href.append(values[i]).append(literals[i + 1]);
+            }
+            return href.toString();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.demo.filmdb.rest.util;
+
+import jakarta.annotation.Nullable;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Parameters of cursor based scrolling requests. Only keyset cursors are accepted, since an offset cursor reads every
+ * skipped row again. Window sizes are limited like page sizes, by {@code spring.data.web.pageable.max-page-size}.
+ */
+@Component
+public class ScrollRequests {
+
+    private final CursorStrategy<ScrollPosition> cursorStrategy;
+    private final int maxSize;
+
+    public ScrollRequests(CursorStrategy<ScrollPosition> cursorStrategy, SpringDataWebProperties webProperties) {
+        this.cursorStrategy = cursorStrategy;
+        this.maxSize = webProperties.getPageable().getMaxPageSize();
+    }
+
+    /**
+     * @param cursor cursor of the request, empty for the first window
+     * @return keyset position of the cursor
+     * @throws ResponseStatusException with 400 if the cursor is invalid or not a keyset cursor
+     */
+    public ScrollPosition position(String cursor) {
+        if (cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        ScrollPosition position;
+        try {
+            position = cursorStrategy.fromCursor(cursor);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        if (!(position instanceof KeysetScrollPosition)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only keyset cursors are supported");
+        }
+        return position;
+    }
+
+    /**
+     * @param size window size of the request
+     * @return the size, at most the max page size
+     * @throws ResponseStatusException with 400 if the size is less than one
+     */
+    public int size(int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be positive");
+        }
+        return Math.min(size, maxSize);
+    }
+
+    /**
+     * @param window scrolled window
+     * @return cursor of the window after it, null if it's the last one
+     */
+    @Nullable
+    public String nextCursor(Window<?> window) {
+        return window.hasNext() ? cursorStrategy.toCursor(window.positionAt(window.size() - 1)) : null;
+    }
+}
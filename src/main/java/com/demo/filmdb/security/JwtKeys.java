@@ -0,0 +1,101 @@
+package com.demo.filmdb.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Keys that sign and verify JWTs, loaded from {@link JwtProperties}. Instances configured with the same keys accept
+ * each other's tokens. Without configured keys a random key is generated, and tokens are only valid for this instance
+ * until it stops.
+ */
+@Component
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeys.class);
+
+    private final Map<String, SecretKey> keys;
+    private final String signingKeyId;
+
+    public JwtKeys(JwtProperties properties) {
+        Map<String, String> encodedKeys = new HashMap<>(properties.keys());
+        if (properties.keyFile() != null) {
+            encodedKeys.putAll(readKeyFile(properties));
+        }
+        if (encodedKeys.isEmpty()) {
+            log.warn("No JWT keys configured, tokens are signed with a random key and rejected by other instances");
+            this.signingKeyId = UUID.randomUUID().toString();
+            this.keys = Map.of(signingKeyId, Jwts.SIG.HS256.key().build());
+            return;
+        }
+        Map<String, SecretKey> decodedKeys = new HashMap<>();
+        encodedKeys.forEach((keyId, key) -> decodedKeys.put(keyId, decode(keyId, key)));
+        if (properties.signingKeyId() == null || !decodedKeys.containsKey(properties.signingKeyId())) {
+            throw new IllegalStateException("filmdb.jwt.signing-key-id must be one of the configured key ids "
+                    + decodedKeys.keySet());
+        }
+        this.keys = Map.copyOf(decodedKeys);
+        this.signingKeyId = properties.signingKeyId();
+    }
+
+    /**
+     * @return id of the key that signs new tokens
+     */
+    public String signingKeyId() {
+        return signingKeyId;
+    }
+
+    /**
+     * @return the key that signs new tokens
+     */
+    public SecretKey signingKey() {
+        return keys.get(signingKeyId);
+    }
+
+    /**
+     * Returns a key that verifies tokens with the given key id
+     *
+     * @param keyId {@code kid} header of a token
+     * @return the key or {@code null} if the key id is unknown
+     */
+    @Nullable
+    public SecretKey verificationKey(String keyId) {
+        return keys.get(keyId);
+    }
+
+    private static Map<String, String> readKeyFile(JwtProperties properties) {
+        Properties fileKeys = new Properties();
+        try (Reader reader = Files.newBufferedReader(properties.keyFile())) {
+            fileKeys.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JWT key file " + properties.keyFile(), e);
+        }
+        Map<String, String> result = new HashMap<>();
+        fileKeys.stringPropertyNames().forEach(keyId -> result.put(keyId, fileKeys.getProperty(keyId).trim()));
+        return result;
+    }
+
+    private static SecretKey decode(String keyId, String key) {
+        try {
+            return Keys.hmacShaKeyFor(Base64.getDecoder().decode(key));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("JWT key " + keyId + " is not valid base64", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.filmdb.security;
+
+import jakarta.annotation.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * JWT signing keys. Every key is a base64 encoded HMAC-SHA secret of at least 256 bits identified by a key id, which
+ * is written to the {@code kid} header of issued tokens. Tokens signed with any of the keys are accepted, so keys can
+ * be rotated by adding a new key to all instances, then switching {@code signingKeyId} to it, and removing the old key
+ * once the tokens it signed have expired.
+ *
+ * @param signingKeyId id of the key that signs new tokens. Required if any keys are configured.
+ * @param keys         key ids mapped to keys
+ * @param keyFile      properties file with more {@code kid=key} entries
+ */
+@ConfigurationProperties("filmdb.jwt")
+public record JwtProperties(
+        @Nullable String signingKeyId,
+        @DefaultValue Map<String, String> keys,
+        @Nullable Path keyFile
+) {
+}
@@ -1,44 +1,90 @@
 package com.demo.filmdb.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import jakarta.annotation.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
 
-    private final SecretKey key = Jwts.SIG.HS256.key().build();
+    static final String ROLES_CLAIM = "roles";
 
+    private final JwtKeys keys;
+    /**
+     * Immutable and thread-safe, so a single parser verifies all tokens
+     */
+    private final JwtParser parser;
+
+    public JwtUtil(JwtKeys keys) {
+        this.keys = keys;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        String keyId = header.getKeyId();
+                        return keyId != null ? keys.verificationKey(keyId) : null;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Issues a token for the user signed with the current signing key. User authorities are stored in the token, so
+     * requests can be authorized without looking the user up.
+     *
+     * @param user authenticated user
+     * @return signed compact token
+     */
     public String generateToken(UserDetails user) {
         return Jwts.builder()
+                .header().keyId(keys.signingKeyId()).and()
                 .subject(user.getUsername())
+                .claim(ROLES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 hours
-                .signWith(key)
+                .signWith(keys.signingKey())
                 .compact();
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * Parses the token once, verifying its signature with the key named by its {@code kid} header and its expiration
+     *
+     * @param token compact token
+     * @return the verified token or {@code null} if the token is invalid, expired or has no expiration
+     */
+    @Nullable
+    public VerifiedToken verify(String token) {
+        Claims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception ignored) {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
-
-        return false;
-    }
-
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        Date expiration = claims.getExpiration();
+        if (claims.getSubject() == null || expiration == null) {
+            return null;
+        }
+        return new VerifiedToken(claims.getSubject(), authorities(claims), expiration.toInstant());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    private static List<GrantedAuthority> authorities(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
     }
 }
@@ -28,14 +28,15 @@ public class SecurityConfig {
     public static final String ROLE_ADMIN = "ADMIN";
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
-                .addFilterBefore(jwtAuthFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests((authorize) -> authorize
                         .requestMatchers("/graphql").permitAll()
                         .requestMatchers(API_PREFIX + LOGIN).permitAll()
+                        .requestMatchers("/actuator/metrics/**").hasRole(ROLE_ADMIN)
                         .requestMatchers(HttpMethod.DELETE).hasRole(ROLE_ADMIN)
                         .requestMatchers(HttpMethod.PATCH).hasRole(ROLE_ADMIN)
                         .requestMatchers(HttpMethod.POST).hasRole(ROLE_ADMIN)
@@ -68,7 +69,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter();
+    public JwtAuthFilter jwtAuthFilter(VerifiedTokenCache verifiedTokenCache) {
+        return new JwtAuthFilter(verifiedTokenCache);
     }
 }
@@ -0,0 +1,16 @@
+package com.demo.filmdb.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiration were verified
+ *
+ * @param username    token subject
+ * @param authorities authorities granted to the subject when the token was issued
+ * @param expiresAt   token expiration
+ */
+public record VerifiedToken(String username, List<GrantedAuthority> authorities, Instant expiresAt) {
+}
@@ -0,0 +1,80 @@
+package com.demo.filmdb.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remembers verified tokens until they expire, so repeated requests with the same token skip signature verification.
+ * Tokens are keyed by their SHA-256 hash, so the cache doesn't hold usable credentials. Invalid tokens are not cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final long DEFAULT_MAX_SIZE = 100_000;
+
+    private final JwtUtil jwtUtil;
+    private final Cache<ByteBuffer, VerifiedToken> tokens;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil) {
+        this(jwtUtil, DEFAULT_MAX_SIZE);
+    }
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiration())
+                .build();
+    }
+
+    /**
+     * Returns the verified token from the cache, or verifies and caches it
+     *
+     * @param token compact token
+     * @return the verified token or {@code null} if the token is invalid
+     */
+    @Nullable
+    public VerifiedToken verify(String token) {
+        return tokens.get(hash(token), key -> jwtUtil.verify(token));
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static class UntilTokenExpiration implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            Duration untilExpiration = Duration.between(Instant.now(), token.expiresAt());
+            return untilExpiration.isNegative() ? 0 : untilExpiration.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
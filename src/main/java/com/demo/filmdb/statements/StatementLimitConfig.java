@@ -0,0 +1,27 @@
+package com.demo.filmdb.statements;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Opt-in warning about requests executing too many statements, enabled by setting
+ * {@code filmdb.statements.warn-threshold}
+ */
+@Configuration
+@ConditionalOnProperty("filmdb.statements.warn-threshold")
+@EnableConfigurationProperties(StatementLimitProperties.class)
+public class StatementLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<StatementLimitFilter> statementLimitFilter(StatementLimitProperties properties) {
+        FilterRegistrationBean<StatementLimitFilter> registration =
+                new FilterRegistrationBean<>(new StatementLimitFilter(properties.warnThreshold()));
+        // outermost, so statements of every other filter are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.filmdb.statements;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Logs a warning when a request executes more statements than the threshold. The warning carries the stack trace of
+ * the first statement over the threshold, which usually points at the lazy load repeated per row.
+ */
+public class StatementLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementLimitFilter.class);
+
+    private final int warnThreshold;
+
+    public StatementLimitFilter(int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try (StatementCounter.Recording recording = StatementCounter.start(warnThreshold)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                Throwable limitExceededAt = recording.limitExceededAt();
+                if (limitExceededAt != null) {
+                    log.warn("{} {} executed {} statements, more than {}", request.getMethod(),
+                            request.getRequestURI(), recording.count(), warnThreshold, limitExceededAt);
+                }
+            }
+        }
+    }
+}
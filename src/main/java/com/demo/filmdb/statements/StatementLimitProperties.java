@@ -0,0 +1,19 @@
+package com.demo.filmdb.statements;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Statement limit of a single HTTP request, including GraphQL requests
+ *
+ * @param warnThreshold number of statements above which a warning with the stack trace of the first statement over
+ *                      the threshold is logged
+ */
+@ConfigurationProperties("filmdb.statements")
+public record StatementLimitProperties(int warnThreshold) {
+
+    public StatementLimitProperties {
+        if (warnThreshold < 1) {
+            throw new IllegalArgumentException("Warn threshold must be positive");
+        }
+    }
+}